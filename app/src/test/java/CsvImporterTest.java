@@ -0,0 +1,118 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CsvImporterTest {
+
+    private static final String HEADER = "ID,Name,Programme,Level,GPA,Email,Phone,Date Added,Status\n";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void skipsTheHeaderAndReadsEveryField() throws IOException {
+        List<Student> students = read(HEADER
+                + "S001,Ama Mensah,Computer Science,Level 100,3.75,ama@school.example,0240000001,2024-09-02 08:30:00,Active\n");
+        assertEquals(1, students.size());
+        Student ama = students.get(0);
+        assertEquals("S001", ama.getStudentId());
+        assertEquals("Ama Mensah", ama.getFullName());
+        assertEquals("Computer Science", ama.getProgramme());
+        assertEquals("Level 100", ama.getLevel());
+        assertEquals(3.75, ama.getGpa());
+        assertEquals("ama@school.example", ama.getEmail());
+        assertEquals("0240000001", ama.getPhoneNumber());
+        assertEquals("2024-09-02 08:30:00", ama.getDateAdded());
+        assertEquals("Active", ama.getStatus());
+    }
+
+    @Test
+    void onlySkipsAHeaderOnTheFirstLine() throws IOException {
+        List<String> problems = new ArrayList<>();
+        List<Student> students = read("S001,Ama,CS,Level 100,3.0,a@x,024,2024-09-02\n"
+                + "ID,Name,Programme,Level,GPA,Email,Phone,Date Added\n", problems);
+        assertEquals(1, students.size());
+        // Further down, "ID" is just a student whose GPA is not a number
+        assertEquals(List.of("line 2: GPA \"GPA\" is not a number"), problems);
+    }
+
+    @Test
+    void rejectsRowsWithFewerThanEightFields() throws IOException {
+        List<String> problems = new ArrayList<>();
+        List<Student> students = read(HEADER
+                + "S001,Ama,CS,Level 100,3.0,a@x,024\n"
+                + "S002,Kofi,CS,Level 100,3.0,k@x,024,2024-09-02\n", problems);
+        assertEquals(1, students.size());
+        assertEquals("S002", students.get(0).getStudentId());
+        assertEquals(List.of("line 2: expected at least 8 fields but found 7"), problems);
+    }
+
+    @Test
+    void treatsAnyStatusButInactiveAsActive() throws IOException {
+        List<Student> students = read(HEADER
+                + "S001,Ama,CS,Level 100,3.0,a@x,024,2024-09-02,Inactive\n"
+                + "S002,Kofi,CS,Level 100,3.0,k@x,024,2024-09-02,Active\n"
+                + "S003,Esi,CS,Level 100,3.0,e@x,024,2024-09-02\n"
+                + "S004,Yaw,CS,Level 100,3.0,y@x,024,2024-09-02,inactive\n"
+                + "S005,Abena,CS,Level 100,3.0,b@x,024,2024-09-02,Graduated\n");
+        List<String> statuses = new ArrayList<>();
+        students.forEach(s -> statuses.add(s.getStatus()));
+        assertEquals(List.of("Inactive", "Active", "Active", "Active", "Active"), statuses);
+    }
+
+    @Test
+    void countsRowsReadAndMalformedRows() throws IOException {
+        Path file = write(HEADER + "S001,Ama,CS,Level 100,3.0,a@x,024,2024-09-02\n\nbad\n");
+        try (CsvImporter importer = new CsvImporter(file)) {
+            List<Student> batch = new ArrayList<>();
+            assertFalse(importer.readBatch(batch, 100));
+            assertEquals(1, batch.size());
+            // The blank line is not a record
+            assertEquals(3, importer.getRowsRead());
+            assertEquals(1, importer.getMalformed());
+        }
+    }
+
+    @Test
+    void stopsABatchAtItsLimit() throws IOException {
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = 0; i < 5; i++) csv.append("S").append(i).append(",N,CS,Level 100,3.0,e,024,2024-09-02\n");
+        try (CsvImporter importer = new CsvImporter(write(csv.toString()))) {
+            List<Student> batch = new ArrayList<>();
+            assertTrue(importer.readBatch(batch, 3));
+            assertEquals(3, batch.size());
+            batch.clear();
+            assertFalse(importer.readBatch(batch, 3));
+            assertEquals(2, batch.size());
+        }
+    }
+
+    private List<Student> read(String text) throws IOException {
+        return read(text, new ArrayList<>());
+    }
+
+    private List<Student> read(String text, List<String> problems) throws IOException {
+        List<Student> students = new ArrayList<>();
+        try (CsvImporter importer = new CsvImporter(write(text))) {
+            importer.readBatch(students, Integer.MAX_VALUE);
+            problems.addAll(importer.getProblems());
+        }
+        return students;
+    }
+
+    private Path write(String text) throws IOException {
+        Path file = dir.resolve("students.csv");
+        Files.write(file, text.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
@@ -0,0 +1,141 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CsvTokenizerTest {
+
+    // The tokenizer's byte buffer size
+    private static final int BUFFER_BYTES = 1 << 18;
+
+    @Test
+    void splitsQuotedFields() throws IOException {
+        assertEquals(List.of(List.of("a", "b, c", " d ", "", "e")),
+                tokenize("a,\"b, c\", \" d \" ,\"\",  e  \n"));
+    }
+
+    @Test
+    void unescapesDoubledQuotes() throws IOException {
+        CsvTokenizer csv = tokenizer("\"say \"\"hi\"\"\",\"\"\"\",x\n", Integer.MAX_VALUE);
+        assertTrue(csv.next());
+        assertEquals("say \"hi\"", csv.field(0));
+        assertEquals("\"", csv.field(1));
+        assertTrue(csv.fieldEquals(0, "say \"hi\""));
+        assertFalse(csv.fieldEquals(0, "say \"\"hi\"\""));
+        assertNull(csv.error());
+        assertFalse(csv.next());
+    }
+
+    @Test
+    void acceptsEveryLineEnding() throws IOException {
+        assertEquals(List.of(List.of("a", "b"), List.of("c", "d"), List.of("e"), List.of("f")),
+                tokenize("a,b\r\nc,d\re\nf"));
+    }
+
+    @Test
+    void keepsLineBreaksInsideQuotes() throws IOException {
+        CsvTokenizer csv = tokenizer("\"one\r\ntwo\",x\r\ny,z\r\n", Integer.MAX_VALUE);
+        assertTrue(csv.next());
+        assertEquals("one\r\ntwo", csv.field(0));
+        assertEquals(1, csv.lineNumber());
+        assertTrue(csv.next());
+        assertEquals("y", csv.field(0));
+        assertEquals(3, csv.lineNumber());
+    }
+
+    @Test
+    void givesTheSameRecordsWhateverTheReadSize() throws IOException {
+        String text = "\uFEFFID,Name\r\n\"S\"\"1\",\"Zoë\r\nAsante\"\r\nS2, Ama \r\n\"S3\",\"a,b\"\r";
+        List<List<String>> expected = List.of(
+                List.of("ID", "Name"), List.of("S\"1", "Zoë\r\nAsante"), List.of("S2", "Ama"), List.of("S3", "a,b"));
+        // Splits every record (CRLF, "" pairs, multi-byte chars) at every possible point
+        for (int chunk = 1; chunk <= text.length(); chunk++) {
+            assertEquals(expected, tokenize(text, chunk), "read size " + chunk);
+        }
+    }
+
+    @Test
+    void joinsAFieldSplitAcrossTheByteBuffer() throws IOException {
+        // The first record leaves a quoted field with a two-byte char and a "" pair straddling
+        // the end of the first buffer-full of bytes
+        String first = "x".repeat(BUFFER_BYTES - 4);
+        String text = first + "\n\"é\"\"q\",\r\nlast\r\n";
+        assertEquals(List.of(List.of(first), List.of("é\"q", ""), List.of("last")), tokenize(text));
+        assertEquals(List.of(List.of(first), List.of("é\"q", ""), List.of("last")), tokenize(text, 4096));
+    }
+
+    @Test
+    void reportsAnUnterminatedQuote() throws IOException {
+        CsvTokenizer csv = tokenizer("a,b\n\"open,c\n", Integer.MAX_VALUE);
+        assertTrue(csv.next());
+        assertNull(csv.error());
+        assertTrue(csv.next());
+        assertEquals("unterminated quoted field 1", csv.error());
+        assertEquals(2, csv.lineNumber());
+        assertFalse(csv.next());
+    }
+
+    @Test
+    void parsesNumbersLikeDoubleParseDouble() throws IOException {
+        String[] values = {"3.75", "0.1", "2.05", "-0.5", "+4", "4.", ".5", "1e3", "0.30000000000000004", "123456789012.345"};
+        CsvTokenizer csv = tokenizer(String.join(",", values) + "\n", Integer.MAX_VALUE);
+        assertTrue(csv.next());
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(Double.parseDouble(values[i]), csv.parseDouble(i), values[i]);
+        }
+    }
+
+    private static List<List<String>> tokenize(String text) throws IOException {
+        return tokenize(text, Integer.MAX_VALUE);
+    }
+
+    private static List<List<String>> tokenize(String text, int readSize) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        try (CsvTokenizer csv = tokenizer(text, readSize)) {
+            while (csv.next()) {
+                List<String> fields = new ArrayList<>();
+                for (int i = 0; i < csv.fieldCount(); i++) fields.add(csv.field(i));
+                records.add(fields);
+            }
+        }
+        return records;
+    }
+
+    private static CsvTokenizer tokenizer(String text, int readSize) {
+        return new CsvTokenizer(new ChunkedChannel(text.getBytes(StandardCharsets.UTF_8), readSize));
+    }
+
+    // Hands out at most readSize bytes per read, as a slow network or pipe might
+    private static final class ChunkedChannel implements ReadableByteChannel {
+        private final ByteBuffer bytes;
+        private final int readSize;
+
+        ChunkedChannel(byte[] bytes, int readSize) {
+            this.bytes = ByteBuffer.wrap(bytes);
+            this.readSize = readSize;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) {
+            if (!bytes.hasRemaining()) return -1;
+            int n = Math.min(Math.min(readSize, dst.remaining()), bytes.remaining());
+            ByteBuffer slice = bytes.slice();
+            slice.limit(n);
+            dst.put(slice);
+            bytes.position(bytes.position() + n);
+            return n;
+        }
+
+        @Override public boolean isOpen() { return true; }
+        @Override public void close() {}
+    }
+}
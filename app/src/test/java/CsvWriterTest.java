@@ -0,0 +1,99 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CsvWriterTest {
+
+    @Test
+    void quotesOnlyFieldsThatNeedIt() throws IOException {
+        assertEquals("plain", field("plain"));
+        assertEquals("  spaced  ", field("  spaced  "));
+        assertEquals("\"a,b\"", field("a,b"));
+        assertEquals("\"say \"\"hi\"\"\"", field("say \"hi\""));
+        assertEquals("\"two\nlines\"", field("two\nlines"));
+        assertEquals("\"cr\r\"", field("cr\r"));
+        assertEquals("", field(null));
+        assertEquals("", field(""));
+    }
+
+    @Test
+    void encodesUtf8LikeStringGetBytes() throws IOException {
+        for (String value : List.of("Zoë Ãdjéi", "日本語", "emoji 😀 ok", "lone \uD800 high", "lone \uDC00 low", "end \uD83D")) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (CsvWriter writer = new CsvWriter(Channels.newChannel(bytes))) {
+                writer.writeField(value);
+            }
+            assertEquals(Arrays.toString(value.getBytes(StandardCharsets.UTF_8)), Arrays.toString(bytes.toByteArray()), value);
+        }
+    }
+
+    @Test
+    void formatsGpaLikeDoubleToString() throws IOException {
+        double[] gpas = {0.0, -0.0, 0.001, 0.005, 0.01, 0.1, 1.0, 2.05, 3.5, 3.75, 3.99, 4.0, 10.0, 99.99,
+                1234567.89, 9999999.99, 1e7, 3.14159, 1.0 / 3, 0.30000000000000004, -1.5, 1e-4, Double.NaN};
+        assertGpasFormatted(gpas);
+
+        // Every GPA with at most two decimals
+        double[] hundredths = new double[1001];
+        for (int i = 0; i < hundredths.length; i++) hundredths[i] = i / 100.0;
+        assertGpasFormatted(hundredths);
+    }
+
+    @Test
+    void writesRowsWithCrlf() throws IOException {
+        StudentSnapshot snapshot = snapshot(3.5);
+        snapshot.rawDates.put(0, "02/09/2024");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (CsvWriter writer = new CsvWriter(Channels.newChannel(bytes))) {
+            writer.writeHeader();
+            writer.writeRow(snapshot, 0);
+        }
+        assertEquals(CsvWriter.HEADER + "\r\n"
+                        + "S0,\"Asante, Kofi\",Computer Science,Level 100,3.5,s0@school.example,024,02/09/2024,Active\r\n",
+                bytes.toString(StandardCharsets.UTF_8));
+    }
+
+    private static void assertGpasFormatted(double[] gpas) throws IOException {
+        StudentSnapshot snapshot = snapshot(gpas);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (CsvWriter writer = new CsvWriter(Channels.newChannel(bytes))) {
+            for (int i = 0; i < gpas.length; i++) writer.writeRow(snapshot, i);
+        }
+        String[] lines = bytes.toString(StandardCharsets.UTF_8).split("\r\n");
+        for (int i = 0; i < gpas.length; i++) {
+            // The name is quoted and holds a comma, so the GPA is the sixth comma-separated piece
+            assertEquals(Double.toString(gpas[i]), lines[i].split(",")[5], "GPA " + gpas[i]);
+        }
+    }
+
+    private static String field(String value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (CsvWriter writer = new CsvWriter(Channels.newChannel(bytes))) {
+            writer.writeField(value);
+        }
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+
+    private static StudentSnapshot snapshot(double... gpas) {
+        int n = gpas.length;
+        String[] ids = new String[n], names = new String[n], emails = new String[n], phones = new String[n];
+        long[] dates = new long[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = "S" + i;
+            names[i] = "Asante, Kofi";
+            emails[i] = "s" + i + "@school.example";
+            phones[i] = "024";
+            dates[i] = StudentTable.parseDateAdded("2024-09-02 08:30:00");
+        }
+        return new StudentSnapshot(1, n, ids, names, emails, phones, gpas, new int[n], new int[n], new int[n],
+                dates, new HashMap<>(), List.of("Computer Science"), List.of("Level 100"), List.of("Active"));
+    }
+}
@@ -0,0 +1,104 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// The fused summary checked against the per-bucket stream filters the Reports tab used before it
+class ReportEngineTest {
+
+    private static final double[] BOUNDARIES = {0.0, 0.5, 1.0, 1.99, 2.0, 2.5, 3.0, 3.49, 3.5, 4.0};
+
+    @Test
+    void bucketsBoundaryGpasLikeTheOldFilters() {
+        StudentStore store = new StudentStore();
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < BOUNDARIES.length; i++) {
+            students.add(student("S" + i, "Computer Science", BOUNDARIES[i]));
+        }
+        store.addAll(students);
+
+        ReportEngine.Summary summary = ReportEngine.summarize(ReportEngine.Columns.of(store.getTable()));
+        assertEquals(BOUNDARIES.length, summary.total);
+        assertArrayEquals(oldDistribution(students), summary.distribution);
+        assertArrayEquals(oldRanges(students), summary.ranges);
+        // Ranges include their top (3.5 is in 3.0 - 3.5, 0.5 in 0.0 - 0.5); 0.0 is in none of them
+        assertArrayEquals(new long[] {1, 2, 1, 1, 2, 0, 1, 1}, summary.ranges);
+        assertArrayEquals(new long[] {2, 2, 1, 1, 4}, summary.distribution);
+    }
+
+    @Test
+    void splitsLargeRostersAcrossThreadsWithTheSameResult() {
+        StudentStore store = new StudentStore();
+        store.addAll(new SyntheticRoster(11).nextSnapshot(ReportEngine.PARALLEL_THRESHOLD + 50_000));
+        // Free rows in the middle of the table are skipped by every split
+        List<Student> removed = new ArrayList<>();
+        for (int i = 0; i < store.size(); i += 7) removed.add(store.getStudents().get(i));
+        store.removeAll(removed);
+
+        ReportEngine.Columns columns = ReportEngine.Columns.of(store.getTable());
+        ReportEngine.Summary sequential = ReportEngine.summarize(columns, false);
+        ReportEngine.Summary parallel = ReportEngine.summarize(columns, true);
+        assertSameSummary(sequential, parallel);
+        assertSameSummary(sequential, ReportEngine.summarize(columns));
+        assertSameSummary(sequential, ReportEngine.summarize(StudentSnapshot.of(store)));
+
+        List<Student> students = new ArrayList<>(store.getStudents());
+        assertEquals(students.size(), parallel.total);
+        assertArrayEquals(oldDistribution(students), parallel.distribution);
+        assertArrayEquals(oldRanges(students), parallel.ranges);
+        for (String programme : parallel.programmeNames) {
+            double[] gpas = students.stream().filter(s -> s.getProgramme().equals(programme))
+                    .mapToDouble(Student::getGpa).toArray();
+            int p = parallel.programmeNames.indexOf(programme);
+            assertEquals(gpas.length, parallel.programmeCount[p], programme);
+            if (gpas.length > 0) {
+                assertEquals(Arrays.stream(gpas).max().getAsDouble(), parallel.programmeGpaMax[p], programme);
+                assertEquals(Arrays.stream(gpas).min().getAsDouble(), parallel.programmeGpaMin[p], programme);
+            }
+        }
+    }
+
+    private static long[] oldDistribution(List<Student> students) {
+        return new long[] {
+                students.stream().filter(s -> s.getGpa() >= 3.5).count(),
+                students.stream().filter(s -> s.getGpa() >= 3.0 && s.getGpa() < 3.5).count(),
+                students.stream().filter(s -> s.getGpa() >= 2.5 && s.getGpa() < 3.0).count(),
+                students.stream().filter(s -> s.getGpa() >= 2.0 && s.getGpa() < 2.5).count(),
+                students.stream().filter(s -> s.getGpa() < 2.0).count()};
+    }
+
+    private static long[] oldRanges(List<Student> students) {
+        double[] ranges = {4.0, 3.5, 3.0, 2.5, 2.0, 1.5, 1.0, 0.5, 0.0};
+        long[] counts = new long[ranges.length - 1];
+        for (int i = 0; i < counts.length; i++) {
+            double high = ranges[i], low = ranges[i + 1];
+            counts[i] = students.stream().filter(s -> s.getGpa() <= high && s.getGpa() > low).count();
+        }
+        return counts;
+    }
+
+    private static void assertSameSummary(ReportEngine.Summary expected, ReportEngine.Summary actual) {
+        assertEquals(expected.total, actual.total);
+        assertEquals(expected.programmeNames, actual.programmeNames);
+        assertArrayEquals(expected.programmeCount, actual.programmeCount);
+        assertArrayEquals(expected.programmeGpaMin, actual.programmeGpaMin);
+        assertArrayEquals(expected.programmeGpaMax, actual.programmeGpaMax);
+        for (int p = 0; p < expected.programmeGpaSum.length; p++) {
+            // Sums added in a different order may differ in the last bits
+            assertEquals(expected.programmeGpaSum[p], actual.programmeGpaSum[p], 1e-6);
+        }
+        assertArrayEquals(expected.levelCount, actual.levelCount);
+        assertArrayEquals(expected.statusCount, actual.statusCount);
+        assertArrayEquals(expected.distribution, actual.distribution);
+        assertArrayEquals(expected.ranges, actual.ranges);
+    }
+
+    private static Student student(String id, String programme, double gpa) {
+        return new Student(id, "Name " + id, programme, "Level 100", gpa, id.toLowerCase() + "@school.example",
+                "0240000000", "2024-09-02 08:30:00", "Active");
+    }
+}
@@ -0,0 +1,99 @@
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Report rows checked against what the Reports tab showed before the reports moved to ReportEngine
+class ReportServiceTest {
+
+    @Test
+    void putsBoundaryGpasInTheSameRangesAsBefore() {
+        StudentStore store = storeWithGpas(0.0, 0.5, 3.5, 4.0);
+        List<ReportRow> rows = new ReportService(store).generate(ReportService.GPA_RANGE, List.of());
+
+        assertEquals(8, rows.size());
+        assertRow(rows.get(0), "3.5 - 4.0", 1);
+        assertRow(rows.get(1), "3.0 - 3.5", 1);
+        assertRow(rows.get(7), "0.0 - 0.5", 1);
+        for (int i = 2; i < 7; i++) {
+            assertRow(rows.get(i), rows.get(i).getCategory(), 0);
+        }
+        // A GPA of 0.0 falls in no range but still counts towards the percentages
+        assertEquals(25.0, rows.get(0).getPercentage());
+    }
+
+    @Test
+    void putsBoundaryGpasInTheSameBandsAsBefore() {
+        StudentStore store = storeWithGpas(0.0, 0.5, 3.49, 3.5, 4.0);
+        List<ReportRow> rows = new ReportService(store).generate(ReportService.GPA_DISTRIBUTION, List.of());
+
+        assertRow(rows.get(0), "Excellent (3.5 - 4.0)", 2);
+        assertRow(rows.get(1), "Good (3.0 - 3.49)", 1);
+        assertRow(rows.get(2), "Average (2.5 - 2.99)", 0);
+        assertRow(rows.get(3), "Fair (2.0 - 2.49)", 0);
+        assertRow(rows.get(4), "Poor (Below 2.0)", 2);
+        assertRow(rows.get(5), "TOTAL", 5);
+        assertEquals(40.0, rows.get(0).getPercentage());
+    }
+
+    @Test
+    void countsStudentsPerDayWithinTheRange() {
+        StudentStore store = new StudentStore();
+        List<String> dates = List.of("2024-09-01 23:59:59", "2024-09-02 08:30:00", "2024-09-02 17:00:00",
+                "2024-09-02", "2024-09-30 00:00:00", "2024-10-01 00:00:00", "02/09/2024", "");
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < dates.size(); i++) {
+            students.add(student("S" + i, 3.0, dates.get(i)));
+        }
+        store.addAll(students);
+
+        List<Object> filters = List.of(LocalDate.of(2024, 9, 2), LocalDate.of(2024, 9, 30));
+        List<ReportRow> rows = new ReportService(store).generate(ReportService.DATE_RANGE, filters);
+        // Both ends are inclusive; days outside it and dates that aren't yyyy-MM-dd are left out
+        assertEquals(3, rows.size());
+        assertRow(rows.get(0), "2024-09-02", 3);
+        assertRow(rows.get(1), "2024-09-30", 1);
+        assertRow(rows.get(2), "TOTAL (2024-09-02 to 2024-09-30)", 4);
+        assertEquals(75.0, rows.get(0).getPercentage());
+
+        // A published roster gives the same report
+        List<ReportRow> fromRecords = new ReportService(new ReportService.RecordsSource(StudentSnapshot.of(store)))
+                .generate(ReportService.DATE_RANGE, filters);
+        assertEquals(rows.size(), fromRecords.size());
+        for (int i = 0; i < rows.size(); i++) {
+            assertRow(fromRecords.get(i), rows.get(i).getCategory(), rows.get(i).getCount());
+        }
+    }
+
+    @Test
+    void reportsNothingForAnEmptyRange() {
+        StudentStore store = storeWithGpas(3.0);
+        List<ReportRow> rows = new ReportService(store).generate(ReportService.DATE_RANGE,
+                List.of(LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 31)));
+        assertTrue(rows.isEmpty());
+    }
+
+    private static StudentStore storeWithGpas(double... gpas) {
+        StudentStore store = new StudentStore();
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < gpas.length; i++) {
+            students.add(student("S" + i, gpas[i], "2024-09-02 08:30:00"));
+        }
+        store.addAll(students);
+        return store;
+    }
+
+    private static void assertRow(ReportRow row, String category, long count) {
+        assertEquals(category, row.getCategory());
+        assertEquals(count, row.getCount(), category);
+    }
+
+    private static Student student(String id, double gpa, String dateAdded) {
+        return new Student(id, "Name " + id, "Computer Science", "Level 100", gpa,
+                id.toLowerCase() + "@school.example", "0240000000", dateAdded, "Active");
+    }
+}
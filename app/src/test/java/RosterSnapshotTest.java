@@ -0,0 +1,28 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class RosterSnapshotTest {
+
+    @Test
+    void keepsRecentlyUsedSearchesWhenTheCacheIsFull() {
+        RosterSnapshot roster = new RosterSnapshot(new SyntheticRoster(9).nextSnapshot(2_000));
+        int[] kept = roster.search(criteria("kept"));
+        int[] dropped = roster.search(criteria("dropped"));
+
+        for (int i = 0; i < 1_000; i++) {
+            roster.search(criteria("term " + i));
+            // Using a result keeps it from being evicted
+            assertSame(kept, roster.search(criteria("kept")));
+        }
+        int[] again = roster.search(criteria("dropped"));
+        assertNotSame(dropped, again);
+        assertArrayEquals(dropped, again);
+    }
+
+    private static StudentSearch.Criteria criteria(String term) {
+        return new StudentSearch.Criteria(term, null, null, null);
+    }
+}
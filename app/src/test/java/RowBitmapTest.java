@@ -0,0 +1,84 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// AND / OR checked against BitSet, for every pairing of sparse (array) and dense (bitmap) groups
+class RowBitmapTest {
+
+    private static final int GROUP = 1 << 16;
+    private static final int SPARSE = 100;
+    private static final int DENSE = 20_000; // well past the 4096 rows an array group holds
+
+    @Test
+    void combinesEveryKindOfGroup() {
+        Random random = new Random(42);
+        // Group 0: sparse & sparse, 1: sparse & dense, 2: dense & sparse, 3: dense & dense,
+        // 4: only in a, 5: only in b
+        int[] aSizes = {SPARSE, SPARSE, DENSE, DENSE, DENSE, 0};
+        int[] bSizes = {SPARSE, DENSE, SPARSE, DENSE, 0, SPARSE};
+        BitSet aRows = new BitSet(), bRows = new BitSet();
+        RowBitmap a = new RowBitmap(), b = new RowBitmap();
+        for (int group = 0; group < aSizes.length; group++) {
+            fill(a, aRows, group, aSizes[group], random);
+            fill(b, bRows, group, bSizes[group], random);
+        }
+
+        BitSet and = (BitSet) aRows.clone();
+        and.and(bRows);
+        BitSet or = (BitSet) aRows.clone();
+        or.or(bRows);
+
+        assertSame(and, RowBitmap.and(a, b));
+        assertSame(and, RowBitmap.and(b, a));
+        assertSame(or, RowBitmap.or(a, b));
+        assertSame(or, RowBitmap.or(b, a));
+        // The inputs are untouched
+        assertSame(aRows, a);
+        assertSame(bRows, b);
+    }
+
+    @Test
+    void intersectsDenseGroupsDownToSparseOnes() {
+        RowBitmap evens = new RowBitmap(), odds = new RowBitmap();
+        for (int row = 0; row < GROUP; row++) {
+            (row % 2 == 0 ? evens : odds).add(row);
+        }
+        odds.add(10);
+        RowBitmap and = RowBitmap.and(evens, odds);
+        assertArrayEquals(new int[] {10}, and.toArray());
+        assertEquals(GROUP, RowBitmap.or(evens, odds).cardinality());
+        assertTrue(RowBitmap.and(evens, new RowBitmap()).isEmpty());
+    }
+
+    @Test
+    void removesRowsFromEitherKindOfGroup() {
+        RowBitmap rows = new RowBitmap();
+        for (int row = 0; row < DENSE; row++) rows.add(row);
+        rows.add(GROUP + 5);
+        for (int row = 0; row < DENSE; row++) rows.remove(row);
+        assertFalse(rows.contains(0));
+        assertArrayEquals(new int[] {GROUP + 5}, rows.toArray());
+        rows.remove(GROUP + 5);
+        assertTrue(rows.isEmpty());
+    }
+
+    private static void fill(RowBitmap bitmap, BitSet reference, int group, int count, Random random) {
+        for (int i = 0; i < count; i++) {
+            int row = group * GROUP + random.nextInt(GROUP);
+            bitmap.add(row);
+            reference.set(row);
+        }
+    }
+
+    private static void assertSame(BitSet expected, RowBitmap actual) {
+        assertEquals(expected.cardinality(), actual.cardinality());
+        assertArrayEquals(expected.stream().toArray(), actual.toArray());
+        expected.stream().limit(1000).forEach(row -> assertTrue(actual.contains(row)));
+    }
+}
@@ -0,0 +1,102 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SnapshotFileTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripsAStore() throws IOException {
+        StudentStore store = new StudentStore();
+        store.addAll(List.of(
+                new Student("S001", "Ama Mensah", "Computer Science", "Level 100", 3.75,
+                        "ama@school.example", "0240000001", "2024-09-02 08:30:00", "Active"),
+                // Non-ASCII text, an empty field and dates that only survive as raw text
+                new Student("S002", "Zoë Ãdjéi 😀", "Économie", "Level 200", 0.0,
+                        "", "+233 (0)24", "02/09/2024", "Graduated"),
+                new Student("S003", "Kofi \"KK\" Asante", "Computer Science", "Level 100", 2.05,
+                        "kofi@school.example", "0240000003", "2024-02-29", "Active")));
+        StudentSnapshot written = StudentSnapshot.of(store);
+
+        Path file = dir.resolve("students.snapshot");
+        SnapshotFile.write(file, written, 42);
+        SnapshotFile.Contents read = SnapshotFile.read(file);
+
+        assertEquals(42, read.sequence);
+        assertSameRecords(written, read.students);
+        assertEquals("02/09/2024", read.students.getDateAdded(1));
+        assertEquals("2024-02-29", read.students.getDateAdded(2));
+    }
+
+    @Test
+    void roundTripsARosterSpanningSeveralDecodeChunks() throws IOException {
+        StudentSnapshot written = new SyntheticRoster(7).nextSnapshot(40_000);
+        Path file = dir.resolve("students.snapshot");
+        SnapshotFile.write(file, written, 1);
+
+        SnapshotFile.Contents read = SnapshotFile.read(file);
+        assertSameRecords(written, read.students);
+        assertArrayEquals(written.dateAdded, read.students.dateAdded);
+        assertArrayEquals(written.gpa, read.students.gpa);
+    }
+
+    @Test
+    void leavesTheFileFreeToReplace() throws IOException {
+        Path file = dir.resolve("students.snapshot");
+        SnapshotFile.write(file, new SyntheticRoster(1).nextSnapshot(100), 1);
+        SnapshotFile.read(file);
+
+        // Compaction replaces the snapshot it restored from
+        Path next = dir.resolve("students.snapshot.tmp");
+        SnapshotFile.write(next, new SyntheticRoster(2).nextSnapshot(10), 2);
+        Files.move(next, file, StandardCopyOption.REPLACE_EXISTING);
+        assertEquals(10, SnapshotFile.read(file).students.size());
+    }
+
+    @Test
+    void rejectsACorruptFile() throws IOException {
+        Path file = dir.resolve("students.snapshot");
+        SnapshotFile.write(file, new SyntheticRoster(3).nextSnapshot(100), 1);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer b = ByteBuffer.allocate(1);
+            long at = channel.size() / 2;
+            channel.read(b, at);
+            b.put(0, (byte) ~b.get(0));
+            b.rewind();
+            channel.write(b, at);
+        }
+
+        IOException e = assertThrows(IOException.class, () -> SnapshotFile.read(file));
+        assertTrue(e.getMessage().contains("checksum"), e.getMessage());
+    }
+
+    private static void assertSameRecords(StudentRecords expected, StudentRecords actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.getStudentId(i), actual.getStudentId(i));
+            assertEquals(expected.getFullName(i), actual.getFullName(i));
+            assertEquals(expected.getProgramme(i), actual.getProgramme(i));
+            assertEquals(expected.getLevel(i), actual.getLevel(i));
+            assertEquals(expected.getGpa(i), actual.getGpa(i));
+            assertEquals(expected.getEmail(i), actual.getEmail(i));
+            assertEquals(expected.getPhoneNumber(i), actual.getPhoneNumber(i));
+            assertEquals(expected.getDateAdded(i), actual.getDateAdded(i));
+            assertEquals(expected.getStatus(i), actual.getStatus(i));
+        }
+    }
+}
@@ -0,0 +1,129 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+// Replay of a journal left behind by a crash: a record cut short or with a bad checksum ends the
+// valid journal, is truncated away, and later appends follow the last good record.
+class StudentJournalTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void replaysEverythingWrittenBeforeClose() throws IOException {
+        writeTwoRecords();
+
+        StudentStore store = new StudentStore();
+        StudentJournal journal = new StudentJournal(dir.toFile(), e -> fail(e));
+        assertTrue(journal.restore(store));
+        journal.close(false);
+
+        assertEquals(List.of("S001", "S002", "S003"), ids(store));
+        assertEquals("Ama Mensah", store.findById("S001").getFullName());
+    }
+
+    @Test
+    void dropsATornTail() throws IOException {
+        long firstRecordEnd = writeTwoRecords();
+        Path file = journalFile();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        assertEquals(List.of("S001", "S002"), ids(restoreAndClose()));
+        assertEquals(firstRecordEnd, Files.size(file));
+    }
+
+    @Test
+    void dropsARecordWithABadChecksum() throws IOException {
+        long firstRecordEnd = writeTwoRecords();
+        Path file = journalFile();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // Flip a byte in the second record's payload, after its length and checksum
+            long at = firstRecordEnd + 12;
+            ByteBuffer b = ByteBuffer.allocate(1);
+            channel.read(b, at);
+            b.put(0, (byte) ~b.get(0));
+            b.rewind();
+            channel.write(b, at);
+        }
+
+        assertEquals(List.of("S001", "S002"), ids(restoreAndClose()));
+        assertEquals(firstRecordEnd, Files.size(file));
+    }
+
+    @Test
+    void appendsAfterTheLastGoodRecord() throws IOException {
+        writeTwoRecords();
+        try (FileChannel channel = FileChannel.open(journalFile(), StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 1);
+        }
+
+        StudentStore store = new StudentStore();
+        StudentJournal journal = new StudentJournal(dir.toFile(), e -> fail(e));
+        journal.restore(store);
+        store.add(student("S004", "Yaw Boateng"));
+        store.update(store.findById("S002"), "S020", s -> s.setFullName("Kofi Owusu"));
+        journal.close(false);
+
+        StudentStore restored = restoreAndClose();
+        assertEquals(List.of("S001", "S020", "S004"), ids(restored));
+        assertEquals("Kofi Owusu", restored.findById("S020").getFullName());
+    }
+
+    // Writes one record adding two students, then (in a second session) one adding a third.
+    // Returns the journal length after the first record.
+    private long writeTwoRecords() throws IOException {
+        StudentStore store = new StudentStore();
+        StudentJournal journal = new StudentJournal(dir.toFile(), e -> fail(e));
+        journal.restore(store);
+        store.addAll(List.of(student("S001", "Ama Mensah"), student("S002", "Kofi Asante")));
+        journal.close(false);
+        long firstRecordEnd = Files.size(journalFile());
+
+        store = new StudentStore();
+        journal = new StudentJournal(dir.toFile(), e -> fail(e));
+        journal.restore(store);
+        store.add(student("S003", "Esi Appiah"));
+        journal.close(false);
+        assertTrue(Files.size(journalFile()) > firstRecordEnd);
+        return firstRecordEnd;
+    }
+
+    private StudentStore restoreAndClose() throws IOException {
+        StudentStore store = new StudentStore();
+        StudentJournal journal = new StudentJournal(dir.toFile(), e -> fail(e));
+        journal.restore(store);
+        journal.close(false);
+        return store;
+    }
+
+    private Path journalFile() {
+        return dir.resolve("students.journal");
+    }
+
+    private static Student student(String id, String name) {
+        return new Student(id, name, "Computer Science", "Level 100", 3.5,
+                id.toLowerCase() + "@school.example", "0240000000", "2024-09-02 08:30:00", "Active");
+    }
+
+    private static List<String> ids(StudentStore store) {
+        List<String> ids = new ArrayList<>();
+        for (Student student : store.getStudents()) {
+            ids.add(student.getStudentId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,67 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StudentSearchTest {
+
+    @Test
+    void answersForChangesMadeWhileABackgroundQueryRan() throws InterruptedException {
+        // Stands in for the FX thread: work handed back to the owner runs when the test pumps it
+        BlockingQueue<Runnable> ownerThread = new LinkedBlockingQueue<>();
+        StudentStore store = new StudentStore(ownerThread::add);
+        Student ama = student("S001", "Ama Mensah");
+        Student kofi = student("S002", "Kofi Mensah");
+        Student esi = student("S003", "Esi Owusu");
+        store.addAll(List.of(ama, kofi, esi));
+        StudentSearch search = new StudentSearch(store);
+
+        AtomicReference<StudentSearch.Result> delivered = new AtomicReference<>();
+        StudentSearch.Criteria criteria = new StudentSearch.Criteria("mensah", null, null, null);
+        search.search(criteria, delivered::set);
+        // Edits and an import batch land before the result is handed back
+        store.update(ama, s -> s.setFullName("Ama Boateng"));
+        store.update(esi, s -> s.setFullName("Esi Mensah"));
+        Student yaw = student("S004", "Yaw Mensah");
+        store.add(yaw);
+
+        while (delivered.get() == null) {
+            Runnable work = ownerThread.poll(60, TimeUnit.SECONDS);
+            assertNotNull(work, "query never finished");
+            work.run();
+        }
+        StudentSearch.Result result = delivered.get();
+        assertFalse(result.test(ama));
+        assertTrue(result.test(kofi));
+        assertTrue(result.test(esi));
+        assertTrue(result.test(yaw));
+
+        // Once applied and expired, later edits are checked against the criteria
+        result.expire();
+        store.update(kofi, s -> s.setFullName("Kofi Asante"));
+        assertFalse(result.test(kofi));
+    }
+
+    @Test
+    void queriesAHeadlessStoreSynchronously() {
+        StudentStore store = new StudentStore();
+        store.addAll(List.of(student("S001", "Ama Mensah"), student("S002", "Kofi Asante")));
+        StudentSearch.Result result = new StudentSearch(store)
+                .query(new StudentSearch.Criteria("asante", null, null, null));
+        assertEquals(1, result.count());
+        assertEquals(store.getVersion(), result.getVersion());
+    }
+
+    private static Student student(String id, String name) {
+        return new Student(id, name, "Computer Science", "Level 100", 3.0,
+                id.toLowerCase() + "@school.example", "0240000000", "2024-09-02 08:30:00", "Active");
+    }
+}
@@ -0,0 +1,169 @@
+import javafx.collections.ListChangeListener;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StudentStoreTest {
+
+    @Test
+    void findsStudentsByIdIgnoringCase() {
+        StudentStore store = new StudentStore();
+        Student ama = student("CS-001", "Ama Mensah", "Computer Science", "Level 100", 3.5, "Active");
+        assertTrue(store.add(ama));
+        assertSame(ama, store.findById("cs-001"));
+        assertSame(ama, store.findById("CS-001"));
+        assertNull(store.findById(null));
+        // An ID differing only in case is taken, also within one batch
+        assertFalse(store.add(student("cs-001", "Kofi Asante", "Economics", "Level 200", 3.0, "Active")));
+        List<Student> accepted = store.addAll(List.of(
+                student("S002", "Kofi Asante", "Economics", "Level 200", 3.0, "Active"),
+                student("s002", "Esi Owusu", "Economics", "Level 200", 2.0, "Active")));
+        assertEquals(1, accepted.size());
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    void changesIdsWithoutLosingTheIndex() {
+        StudentStore store = new StudentStore();
+        Student ama = student("S001", "Ama Mensah", "Computer Science", "Level 100", 3.5, "Active");
+        Student kofi = student("S002", "Kofi Asante", "Economics", "Level 200", 3.0, "Active");
+        store.addAll(List.of(ama, kofi));
+
+        assertTrue(store.changeId(ama, "X001"));
+        assertSame(ama, store.findById("x001"));
+        assertNull(store.findById("S001"));
+        // A case-only change keeps the same key
+        assertTrue(store.changeId(ama, "x001"));
+        assertSame(ama, store.findById("X001"));
+
+        // Taken IDs are refused and the edit is not applied
+        assertFalse(store.update(ama, "s002", s -> s.setFullName("Changed")));
+        assertEquals("x001", ama.getStudentId());
+        assertEquals("Ama Mensah", ama.getFullName());
+
+        assertTrue(store.update(ama, "S003", s -> s.setFullName("Ama Boateng")));
+        assertSame(ama, store.findById("S003"));
+        assertEquals("Ama Boateng", store.findById("s003").getFullName());
+        assertTrue(store.remove(ama));
+        assertNull(store.findById("S003"));
+        assertSame(kofi, store.findById("S002"));
+    }
+
+    @Test
+    void reportsEachBulkChangeAsOneListChange() {
+        StudentStore store = new StudentStore();
+        List<ListChangeListener.Change<? extends Student>> changes = new ArrayList<>();
+        store.getStudents().addListener((ListChangeListener<Student>) changes::add);
+
+        List<Student> batch = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            batch.add(student("S" + i, "Name " + i, "Computer Science", "Level 100", 3.0, "Active"));
+        }
+        store.addAll(batch);
+        assertEquals(1, changes.size());
+        assertEquals(10, store.size());
+
+        store.updateAll(batch.subList(0, 4), s -> s.setGpa(2.0));
+        assertEquals(2, changes.size());
+        assertEquals(2.0, store.findById("S3").getGpa());
+
+        assertEquals(3, store.removeAll(List.of(batch.get(1), batch.get(5), batch.get(8))));
+        assertEquals(3, changes.size());
+        assertEquals(7, store.size());
+        // Nothing to remove is no change at all
+        assertEquals(0, store.removeAll(List.of(batch.get(1))));
+        assertEquals(3, changes.size());
+
+        // Removed students can still be edited, but that is not a store change
+        long version = store.getVersion();
+        store.updateAll(List.of(batch.get(1)), s -> s.setGpa(1.0));
+        assertEquals(version, store.getVersion());
+        assertEquals(3, changes.size());
+    }
+
+    @Test
+    void keepsAggregatesInStepWithEveryChange() {
+        StudentStore store = new StudentStore();
+        StudentAggregates aggregates = store.getAggregates();
+        Student ama = student("S001", "Ama Mensah", "Computer Science", "Level 100", 4.0, "Active");
+        Student kofi = student("S002", "Kofi Asante", "Economics", "Level 200", 3.0, "Inactive");
+        Student esi = student("S003", "Esi Owusu", "Computer Science", "Level 200", 2.0, "Active");
+        store.addAll(List.of(ama, kofi, esi));
+
+        assertEquals(3, aggregates.getTotal());
+        assertEquals(2, aggregates.getActive());
+        assertEquals(1, aggregates.getInactive());
+        assertEquals(3.0, aggregates.getAverageGpa(), 1e-9);
+        assertEquals(Map.of("Computer Science", 2L, "Economics", 1L), aggregates.getProgrammeCounts());
+        assertEquals(Map.of("Level 100", 1L, "Level 200", 2L), aggregates.getLevelCounts());
+
+        // An edit moves the student between groups
+        store.update(kofi, s -> {
+            s.setProgramme("Computer Science");
+            s.setStatus("Active");
+            s.setGpa(4.0);
+        });
+        assertEquals(3, aggregates.getActive());
+        assertEquals(0, aggregates.getInactive());
+        // Groups that empty out are dropped
+        assertEquals(Map.of("Computer Science", 3L), aggregates.getProgrammeCounts());
+        assertEquals(10.0 / 3, aggregates.getAverageGpa(), 1e-9);
+
+        store.removeAll(List.of(ama, esi));
+        assertEquals(1, aggregates.getTotal());
+        assertEquals(4.0, aggregates.getAverageGpa(), 1e-9);
+        assertFalse(aggregates.getLevelCounts().containsKey("Level 100"));
+        store.remove(kofi);
+        assertEquals(0, aggregates.getTotal());
+        assertEquals(0.0, aggregates.getAverageGpa());
+        assertTrue(aggregates.getProgrammeCounts().isEmpty());
+    }
+
+    @Test
+    void searchesByTermAndFilters() {
+        StudentStore store = new StudentStore();
+        store.addAll(List.of(
+                student("S001", "Ama Mensah", "Computer Science", "Level 100", 3.5, "Active"),
+                student("S002", "Kofi Mensah", "Economics", "Level 200", 3.0, "Inactive"),
+                student("S003", "Esi Owusu", "Computer Science", "Level 200", 2.0, "Active")));
+        StudentSearch search = new StudentSearch(store);
+
+        assertEquals(List.of("S001", "S002"), ids(store, search.query(criteria("mensah", null, null, null))));
+        assertEquals(List.of("S002"), ids(store, search.query(criteria("mensah", null, null, "Inactive"))));
+        assertEquals(List.of("S002", "S003"), ids(store, search.query(criteria("", null, "Level 200", null))));
+        assertEquals(List.of("S001", "S003"), ids(store, search.query(criteria("", "Computer Science", null, null))));
+        // The programme name is searched too, and short terms match anywhere
+        assertEquals(List.of("S002"), ids(store, search.query(criteria("econ", null, null, null))));
+        assertEquals(List.of("S003"), ids(store, search.query(criteria("su", null, null, null))));
+        assertEquals(List.of(), ids(store, search.query(criteria("mensah", "Computer Science", "Level 200", null))));
+
+        store.update(store.findById("S003"), s -> s.setFullName("Esi Mensah"));
+        assertEquals(List.of("S001", "S002", "S003"), ids(store, search.query(criteria("MENSAH", null, null, null))));
+    }
+
+    private static StudentSearch.Criteria criteria(String term, String programme, String level, String status) {
+        return new StudentSearch.Criteria(term, programme, level, status);
+    }
+
+    private static List<String> ids(StudentStore store, StudentSearch.Result result) {
+        List<String> ids = new ArrayList<>();
+        for (Student student : store.getStudents()) {
+            if (result.test(student)) ids.add(student.getStudentId());
+        }
+        assertEquals(ids.size(), result.count());
+        return ids;
+    }
+
+    private static Student student(String id, String name, String programme, String level, double gpa, String status) {
+        return new Student(id, name, programme, level, gpa, id.toLowerCase() + "@school.example", "0240000000",
+                "2024-09-02 08:30:00", status);
+    }
+}
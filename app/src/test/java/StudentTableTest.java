@@ -0,0 +1,69 @@
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The date codec behind the table's epoch-seconds dateAdded column, checked against java.time
+class StudentTableTest {
+
+    private static final DateTimeFormatter FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    @Test
+    void formatsAndParsesLikeJavaTime() {
+        Random random = new Random(42);
+        long min = LocalDateTime.of(1900, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+        long max = LocalDateTime.of(2100, 12, 31, 23, 59, 59).toEpochSecond(ZoneOffset.UTC);
+        for (int i = 0; i < 100_000; i++) {
+            long seconds = min + (long) (random.nextDouble() * (max - min));
+            String expected = LocalDateTime.ofEpochSecond(seconds, 0, ZoneOffset.UTC).format(FORMAT);
+            assertEquals(expected, StudentTable.formatDateAdded(seconds));
+            assertEquals(seconds, StudentTable.parseDateAdded(expected), expected);
+            assertTrue(StudentTable.isCanonicalDate(expected));
+        }
+    }
+
+    @Test
+    void handlesLeapDaysAndMonthEnds() {
+        for (String day : List.of("2024-02-29", "2000-02-29", "1970-01-01", "1969-12-31", "2023-12-31")) {
+            long expected = LocalDate.parse(day).toEpochDay() * 86_400L;
+            assertEquals(expected, StudentTable.parseDateAdded(day), day);
+            assertEquals(day + " 00:00:00", StudentTable.formatDateAdded(expected));
+        }
+        for (String invalid : List.of("2023-02-29", "1900-02-29", "2024-04-31", "2024-13-01", "2024-00-10")) {
+            assertEquals(StudentTable.NO_DATE, StudentTable.parseDateAdded(invalid), invalid);
+        }
+    }
+
+    @Test
+    void rejectsTextThatIsNotADate() {
+        for (String text : List.of("", "2024", "02/09/2024", "2024/09/02", "24-09-02 08:30", "yyyy-mm-dd")) {
+            assertEquals(StudentTable.NO_DATE, StudentTable.parseDateAdded(text), text);
+        }
+        assertEquals(StudentTable.NO_DATE, StudentTable.parseDateAdded(null));
+        // A bad time keeps the date; such text isn't canonical, so the table keeps it verbatim
+        assertEquals(StudentTable.parseDateAdded("2024-09-02"), StudentTable.parseDateAdded("2024-09-02 25:00:00"));
+        assertFalse(StudentTable.isCanonicalDate("2024-09-02 25:00:00"));
+        assertFalse(StudentTable.isCanonicalDate("2024-09-02"));
+    }
+
+    @Test
+    void keepsDatesThatDoNotRoundTripAsText() {
+        StudentStore store = new StudentStore();
+        List<String> dates = List.of("2024-09-02 08:30:00", "2024-09-02", "02/09/2024", "2024-09-02 25:00:00", "");
+        for (int i = 0; i < dates.size(); i++) {
+            store.add(new Student("S" + i, "Name " + i, "Computer Science", "Level 100", 3.0,
+                    "s" + i + "@school.example", "024", dates.get(i), "Active"));
+        }
+        for (int i = 0; i < dates.size(); i++) {
+            assertEquals(dates.get(i), store.findById("S" + i).getDateAdded());
+        }
+    }
+}
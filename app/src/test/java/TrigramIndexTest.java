@@ -0,0 +1,86 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrigramIndexTest {
+
+    @Test
+    void appliesOnlyWhatAnEditChanged() {
+        StudentStore store = new StudentStore();
+        Student ama = student("S001", "Ama Mensah", "ama@school.example");
+        Student kofi = student("S002", "Kofi Mensah", "kofi@school.example");
+        store.addAll(List.of(ama, kofi));
+        TrigramIndex index = store.getTrigramIndex();
+        assertTrue(index.candidates("mensah").contains(ama.getRow()));
+
+        store.update(ama, s -> s.setFullName("Ama Boateng"));
+        assertFalse(index.candidates("mensah").contains(ama.getRow()));
+        assertTrue(index.candidates("mensah").contains(kofi.getRow()));
+        assertTrue(index.candidates("boateng").contains(ama.getRow()));
+        // Trigrams the edit kept ("ama", from both the old and the new name) stay indexed
+        assertTrue(index.candidates("ama ").contains(ama.getRow()));
+        assertTrue(index.candidates("ama@").contains(ama.getRow()));
+
+        store.changeId(ama, "X900");
+        assertTrue(index.candidates("x90").contains(ama.getRow()));
+        assertFalse(index.candidates("s001").contains(ama.getRow()));
+
+        int row = kofi.getRow();
+        store.remove(kofi);
+        assertTrue(index.candidates("kofi").isEmpty());
+        assertFalse(index.candidates("mensah").contains(row));
+    }
+
+    @Test
+    void reconcilesChangesMadeDuringABackgroundBuild() throws InterruptedException {
+        // Stands in for the FX thread: work handed back to the owner runs when the test pumps it
+        BlockingQueue<Runnable> ownerThread = new LinkedBlockingQueue<>();
+        StudentStore store = new StudentStore(ownerThread::add);
+        TrigramIndex index = store.getTrigramIndex();
+        store.addAll(new SyntheticRoster(5).nextSnapshot(60_000));
+        assertNull(index.candidates("zyxw"), "still building");
+
+        // Changes made before the build is handed back
+        Student edited = store.getStudents().get(10);
+        int editedRow = edited.getRow();
+        String oldId = edited.getStudentId().toLowerCase();
+        store.update(edited, "ZZ-0001", s -> {
+            s.setFullName("Zyxwvut Qqq");
+            s.setEmail("zyxwvut@school.example");
+        });
+        Student removed = store.getStudents().get(20);
+        int removedRow = removed.getRow();
+        String removedId = removed.getStudentId().toLowerCase();
+        store.remove(removed);
+        Student added = student("N001", "Jjjkkk Lll", "jjjkkk@school.example");
+        store.add(added);
+
+        RowBitmap found;
+        while ((found = index.candidates("zyxwvut")) == null) {
+            Runnable work = ownerThread.poll(60, TimeUnit.SECONDS);
+            assertNotNull(work, "background build never finished");
+            work.run();
+        }
+        assertTrue(found.contains(editedRow));
+        assertTrue(index.candidates("zz-0001").contains(editedRow));
+        assertFalse(index.candidates(oldId).contains(editedRow));
+        assertFalse(index.candidates(removedId).contains(removedRow));
+        assertTrue(index.candidates("jjjkkk").contains(added.getRow()));
+        // Untouched students were indexed by the build itself
+        Student other = store.getStudents().get(30);
+        assertTrue(index.candidates(other.getStudentId()).contains(other.getRow()));
+    }
+
+    private static Student student(String id, String name, String email) {
+        return new Student(id, name, "Computer Science", "Level 100", 3.0, email, "0240000000",
+                "2024-09-02 08:30:00", "Active");
+    }
+}
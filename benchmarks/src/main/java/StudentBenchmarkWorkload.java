@@ -0,0 +1,146 @@
+import benchmarks.StudentWorkload;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+// StudentWorkload over the application's model classes. It sits in the unnamed package beside
+// them so it can use their package-private API; the JMH classes only see the interface.
+// Rosters come from SyntheticRoster with a fixed seed, so every run measures the same data.
+// Everything runs through a headless StudentEngine, the same search, report and CSV code the
+// JavaFX client uses.
+public class StudentBenchmarkWorkload implements StudentWorkload {
+
+    private static final long SEED = 42;
+    // Share of malformed and duplicate rows in the parse benchmark's CSV
+    private static final double DIRTY_FRACTION = 0.01;
+    // Synthetic dates end in 2025, so the date range report covers a fixed year rather than last month
+    private static final List<Object> DATE_RANGE = Arrays.asList(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31));
+
+    private StudentEngine engine;
+    private StudentStore store;
+
+    @Override
+    public void load(int students) {
+        engine = new StudentEngine();
+        store = engine.getStore();
+        store.addAll(new SyntheticRoster(SEED).nextSnapshot(students));
+    }
+
+    @Override
+    public byte[] toCsv() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            new SyntheticRoster(SEED, DIRTY_FRACTION, DIRTY_FRACTION).writeCsv(Channels.newChannel(bytes), store.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public int generate(int students) {
+        return new SyntheticRoster(SEED).nextSnapshot(students).size;
+    }
+
+    @Override
+    public long generateCsv(int students) throws IOException {
+        CountingChannel channel = new CountingChannel();
+        new SyntheticRoster(SEED, DIRTY_FRACTION, DIRTY_FRACTION).writeCsv(channel, students);
+        return channel.bytes;
+    }
+
+    @Override
+    public int parse(byte[] csv) throws IOException {
+        int parsed = 0;
+        try (CsvTokenizer tokenizer = new CsvTokenizer(Channels.newChannel(new ByteArrayInputStream(csv)))) {
+            while (tokenizer.next()) {
+                if (tokenizer.isBlank() || tokenizer.error() != null) continue;
+                try {
+                    if (CsvImporter.parseStudent(tokenizer) != null) parsed++;
+                } catch (IllegalArgumentException e) {
+                    // malformed row, skipped as an import would
+                }
+            }
+        }
+        return parsed;
+    }
+
+    @Override
+    public int filter(String searchTerm, String programme, String level, String status) {
+        return (int) engine.query(new StudentSearch.Criteria(searchTerm, programme, level, status)).count();
+    }
+
+    @Override
+    public int report(String type) {
+        switch (type) {
+            case "programme":
+                return engine.report(ReportService.PROGRAMME_LIST, Collections.singletonList("All")).size();
+            case "level":
+                return engine.report(ReportService.LEVEL_LIST, Collections.singletonList("All")).size();
+            case "gpaDistribution":
+                return engine.report(ReportService.GPA_DISTRIBUTION, Collections.emptyList()).size();
+            case "status":
+                return engine.report(ReportService.STATUS, Collections.singletonList("All")).size();
+            case "dateRange":
+                return engine.report(ReportService.DATE_RANGE, DATE_RANGE).size();
+            case "programmeStatistics":
+                return engine.report(ReportService.PROGRAMME_STATISTICS, Collections.emptyList()).size();
+            case "levelStatistics":
+                return engine.report(ReportService.LEVEL_STATISTICS, Collections.emptyList()).size();
+            case "gpaRange":
+                return engine.report(ReportService.GPA_RANGE, Collections.emptyList()).size();
+            default:
+                throw new IllegalArgumentException("Unknown report type: " + type);
+        }
+    }
+
+    @Override
+    public long dashboard() {
+        StudentAggregates stats = new StudentAggregates();
+        stats.studentsAdded(store.getStudents());
+        long checksum = stats.getTotal() + stats.getActive() + stats.getInactive()
+                + Double.doubleToLongBits(stats.getAverageGpa());
+        for (Map.Entry<String, Long> entry : stats.getProgrammeCounts().entrySet()) checksum += entry.getValue();
+        for (Map.Entry<String, Long> entry : stats.getLevelCounts().entrySet()) checksum += entry.getValue();
+        return checksum;
+    }
+
+    @Override
+    public long export() throws IOException {
+        StudentSnapshot snapshot = StudentSnapshot.of(store);
+        CountingChannel channel = new CountingChannel();
+        try (CsvWriter writer = new CsvWriter(channel)) {
+            writer.writeHeader();
+            for (int i = 0; i < snapshot.size; i++) {
+                writer.writeRow(snapshot, i);
+            }
+        }
+        return channel.bytes;
+    }
+
+    // Discards what is written, counting the bytes
+    private static final class CountingChannel implements WritableByteChannel {
+        long bytes;
+
+        @Override
+        public int write(ByteBuffer source) {
+            int length = source.remaining();
+            source.position(source.limit());
+            bytes += length;
+            return length;
+        }
+
+        @Override public boolean isOpen() { return true; }
+        @Override public void close() {}
+    }
+}
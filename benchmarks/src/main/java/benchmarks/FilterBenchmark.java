@@ -0,0 +1,35 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// The Students tab filter: dropdown filters alone, a search term alone, and both together
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms3g", "-Xmx3g"})
+public class FilterBenchmark {
+
+    @Benchmark
+    public int filters(Roster roster) {
+        return roster.workload.filter("", "Computer Science", "300", "Active");
+    }
+
+    @Benchmark
+    public int searchTerm(Roster roster) {
+        return roster.workload.filter("smith", null, null, null);
+    }
+
+    @Benchmark
+    public int searchTermAndFilters(Roster roster) {
+        return roster.workload.filter("smith", "Engineering", null, "Active");
+    }
+}
@@ -0,0 +1,23 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// A synthetic roster at each benchmarked size, loaded once per trial
+@State(Scope.Benchmark)
+public class Roster {
+
+    @Param({"10000", "100000", "1000000"})
+    public int students;
+
+    public StudentWorkload workload;
+
+    @Setup(Level.Trial)
+    public void load() {
+        workload = StudentWorkload.create();
+        workload.load(students);
+    }
+}
@@ -0,0 +1,50 @@
+package benchmarks;
+
+import java.io.IOException;
+
+// The operations the benchmarks time, implemented against the application classes by
+// StudentBenchmarkWorkload. The application lives in the unnamed package, which a named package
+// cannot refer to (and JMH only accepts benchmarks in a named package), so the implementation is
+// looked up by name and everything else goes through this interface.
+public interface StudentWorkload {
+
+    // Short report names used as benchmark parameters, one per entry of the Reports tab
+    String[] REPORT_TYPES = {"programme", "level", "gpaDistribution", "status", "dateRange",
+            "programmeStatistics", "levelStatistics", "gpaRange"};
+
+    static StudentWorkload create() {
+        try {
+            return (StudentWorkload) Class.forName("StudentBenchmarkWorkload").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("StudentBenchmarkWorkload not found", e);
+        }
+    }
+
+    // Fills a fresh roster with the given number of synthetic students
+    void load(int students);
+
+    // The loaded roster in the CSV import format, header included, with a few malformed and
+    // duplicate rows mixed in
+    byte[] toCsv();
+
+    // Generates the given number of synthetic students in memory; returns how many were kept
+    int generate(int students);
+
+    // Generates the given number of synthetic CSV rows into a discarding sink; returns the bytes
+    long generateCsv(int students) throws IOException;
+
+    // Parses a CSV file's bytes into students, as an import does; returns the students parsed
+    int parse(byte[] csv) throws IOException;
+
+    // Evaluates the Students tab filter; null filter values mean "all". Returns the match count.
+    int filter(String searchTerm, String programme, String level, String status);
+
+    // Computes one report (see REPORT_TYPES) and returns its row count
+    int report(String type);
+
+    // Aggregates the dashboard statistics from scratch; returns a checksum of the values
+    long dashboard();
+
+    // Encodes every student as an export CSV; returns the bytes produced
+    long export() throws IOException;
+}
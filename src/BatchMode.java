@@ -0,0 +1,365 @@
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Headless run for scheduled jobs: imports CSV files into a StudentEngine, generates reports and
+// writes them (and optionally the whole roster) as CSV, printing how long each stage took. Never
+// touches the JavaFX toolkit. Parsing runs on worker threads, several files at once, while the
+// main thread adds the parsed batches to the store; files are still added in name order, so the
+// first of two rows with the same ID always wins. Once the store is complete the reports and the
+// export are written in parallel.
+final class BatchMode {
+
+    static final String FLAG = "--batch";
+
+    private static final int IMPORT_BATCH = 50_000;
+    // Parsed batches a worker may have waiting for the main thread, per file
+    private static final int BATCHES_AHEAD = 4;
+    private static final int PROBLEMS_SHOWN = 10;
+    // Marks the end of a file's batches
+    private static final List<Student> END = Collections.emptyList();
+
+    private static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: " + FLAG + " [options]",
+            "  --import PATH        CSV file, or directory of *.csv files, to import (repeatable)",
+            "  --out DIR            directory for the report CSVs (default: the current directory)",
+            "  --reports LIST       comma-separated reports, \"all\" (default) or \"none\": " + String.join(", ", ReportService.KEYS),
+            "  --programme NAME     programme for the programme report (default: All)",
+            "  --level LEVEL        level for the level report (default: All)",
+            "  --status STATUS      status for the status report (default: All)",
+            "  --from DATE          start of the date range report, yyyy-mm-dd (default: a month ago)",
+            "  --to DATE            end of the date range report, yyyy-mm-dd (default: today)",
+            "  --export FILE        also write every imported student to FILE",
+            "  --threads N          worker threads (default: one per processor)");
+
+    private final PrintStream out;
+    private final List<Path> imports = new ArrayList<>();
+    private Path outDir = Paths.get(".");
+    private List<String> reportTypes = ReportService.TYPES;
+    private String programme = "All";
+    private String level = "All";
+    private String status = "All";
+    private LocalDate from = LocalDate.now().minusMonths(1);
+    private LocalDate to = LocalDate.now();
+    private Path export;
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    private BatchMode(PrintStream out) {
+        this.out = out;
+    }
+
+    static boolean isRequested(String[] args) {
+        return Arrays.asList(args).contains(FLAG);
+    }
+
+    // Runs the batch the arguments describe; returns the process exit code (0 on success,
+    // 1 if a stage failed, 2 for bad arguments)
+    static int run(String[] args) {
+        if (Arrays.asList(args).contains("--help")) {
+            System.out.println(USAGE);
+            return 0;
+        }
+        BatchMode batch = new BatchMode(System.out);
+        try {
+            batch.parseArguments(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            return 2;
+        }
+        try {
+            batch.run();
+            return 0;
+        } catch (IOException e) {
+            System.err.println("Batch failed: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    private void parseArguments(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.equals(FLAG)) continue;
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException(arg.startsWith("--") ? "Missing value for " + arg : "Unknown argument: " + arg);
+            }
+            String value = args[++i];
+            switch (arg) {
+                case "--import": imports.add(Paths.get(value)); break;
+                case "--out": outDir = Paths.get(value); break;
+                case "--reports": reportTypes = parseReports(value); break;
+                case "--programme": programme = value; break;
+                case "--level": level = value; break;
+                case "--status": status = value; break;
+                case "--from": from = parseDate(arg, value); break;
+                case "--to": to = parseDate(arg, value); break;
+                case "--export": export = Paths.get(value); break;
+                case "--threads": threads = parseThreads(value); break;
+                default: throw new IllegalArgumentException("Unknown argument: " + arg);
+            }
+        }
+        if (imports.isEmpty()) {
+            throw new IllegalArgumentException("Nothing to import: give at least one --import");
+        }
+    }
+
+    private static List<String> parseReports(String value) {
+        if (value.equals("all")) return ReportService.TYPES;
+        if (value.equals("none")) return Collections.emptyList();
+        List<String> types = new ArrayList<>();
+        for (String key : value.split(",")) {
+            String type = ReportService.typeOf(key.trim());
+            if (type == null) throw new IllegalArgumentException("Unknown report: " + key.trim());
+            if (!types.contains(type)) types.add(type);
+        }
+        return types;
+    }
+
+    private static LocalDate parseDate(String arg, String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(arg + " must be a date such as 2024-09-01, not " + value);
+        }
+    }
+
+    private static int parseThreads(String value) {
+        try {
+            int threads = Integer.parseInt(value);
+            if (threads > 0) return threads;
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new IllegalArgumentException("--threads must be a positive number, not " + value);
+    }
+
+    // ==================== STAGES ====================
+
+    private void run() throws IOException {
+        long start = System.nanoTime();
+        List<Path> files = csvFiles();
+        StudentEngine engine = new StudentEngine();
+        ExecutorService workers = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "batch-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            importFiles(engine, files, workers);
+            writeOutputs(engine, workers);
+        } finally {
+            workers.shutdownNow();
+        }
+        out.printf("total    %,d students  %s%n", engine.getStore().size(), elapsed(start));
+    }
+
+    // The files to import, directories expanded to their CSV files in name order
+    private List<Path> csvFiles() throws IOException {
+        List<Path> files = new ArrayList<>();
+        for (Path path : imports) {
+            if (Files.isDirectory(path)) {
+                List<Path> inDirectory = new ArrayList<>();
+                try (DirectoryStream<Path> entries = Files.newDirectoryStream(path, "*.{csv,CSV}")) {
+                    entries.forEach(inDirectory::add);
+                }
+                Collections.sort(inDirectory);
+                files.addAll(inDirectory);
+            } else if (Files.isRegularFile(path)) {
+                files.add(path);
+            } else {
+                throw new IOException("No such file or directory: " + path);
+            }
+        }
+        return files;
+    }
+
+    private void importFiles(StudentEngine engine, List<Path> files, ExecutorService workers) throws IOException {
+        // Readers start in file order, so each file's reader is running by the time the main
+        // thread waits on it: the ones before it have all been drained and finished
+        List<FileReader> readers = new ArrayList<>();
+        for (Path file : files) {
+            FileReader reader = new FileReader(file);
+            readers.add(reader);
+            workers.execute(reader);
+        }
+
+        StudentStore store = engine.getStore();
+        long importStart = System.nanoTime();
+        for (FileReader reader : readers) {
+            long start = System.nanoTime();
+            long imported = 0, rejected = 0;
+            for (List<Student> batch = reader.take(); batch != END; batch = reader.take()) {
+                int accepted = store.addAll(batch).size();
+                imported += accepted;
+                rejected += batch.size() - accepted;
+            }
+            if (reader.error != null) {
+                throw new IOException("Could not read " + reader.file + ": " + reader.error.getMessage(), reader.error);
+            }
+            out.printf("import   %s: %,d added, %,d duplicate IDs, %,d malformed  %s%n", reader.file.getFileName(),
+                    imported, rejected, reader.malformed, elapsed(start, imported + rejected + reader.malformed));
+            for (String problem : reader.problems.subList(0, Math.min(PROBLEMS_SHOWN, reader.problems.size()))) {
+                System.err.println("  " + reader.file.getFileName() + " " + problem);
+            }
+        }
+        out.printf("import   %d files: %,d students  %s%n", files.size(), store.size(), elapsed(importStart, store.size()));
+    }
+
+    // Generates the reports and writes them, and the export, each on its own worker
+    private void writeOutputs(StudentEngine engine, ExecutorService workers) throws IOException {
+        if (reportTypes.isEmpty() && export == null) return;
+        long start = System.nanoTime();
+        ReportService reports = engine.getReports();
+        // The GPA reports share one summary of the finished roster
+        ReportEngine.Summary summary = ReportEngine.summarize(ReportEngine.Columns.of(engine.getStore().getTable()));
+        reports.setSummarySource(() -> summary);
+        Files.createDirectories(outDir);
+
+        List<Future<String>> results = new ArrayList<>();
+        for (String type : reportTypes) {
+            results.add(workers.submit(() -> writeReport(reports, type)));
+        }
+        if (export != null) {
+            // Taken here, as snapshots are taken on the store's owner thread
+            StudentSnapshot snapshot = StudentSnapshot.of(engine.getStore());
+            results.add(workers.submit(() -> {
+                long exportStart = System.nanoTime();
+                long written = CsvWriter.writeFile(export, snapshot, (rows, size) -> true);
+                return String.format("export   %s: %,d students  %s", export, written, elapsed(exportStart, written));
+            }));
+        }
+        for (Future<String> result : results) {
+            out.println(await(result));
+        }
+        out.printf("outputs  %d reports%s  %s%n", reportTypes.size(), export != null ? " and the export" : "",
+                elapsed(start));
+    }
+
+    private String writeReport(ReportService reports, String type) throws IOException {
+        long start = System.nanoTime();
+        List<ReportRow> rows = reports.generate(type, filters(type));
+        String key = ReportService.keyOf(type);
+        Path target = outDir.resolve(key + ".csv");
+        Path temp = target.resolveSibling(target.getFileName() + ".part");
+        try (CsvWriter writer = new CsvWriter(FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE))) {
+            writer.writeField("Category");
+            writer.comma();
+            writer.writeField("Value");
+            writer.comma();
+            writer.writeField("Percentage");
+            writer.endLine();
+            for (ReportRow row : rows) {
+                writer.writeField(row.getCategory());
+                writer.comma();
+                writer.writeField(row.formatValue());
+                writer.comma();
+                writer.writeField(row.formatPercentage());
+                writer.endLine();
+            }
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return String.format("report   %s: %,d rows  %s", key, rows.size(), elapsed(start));
+    }
+
+    // The filter values of a report type, from the command line
+    private List<Object> filters(String type) {
+        switch (type) {
+            case ReportService.PROGRAMME_LIST:
+                return Collections.singletonList(programme);
+            case ReportService.LEVEL_LIST:
+                return Collections.singletonList(level);
+            case ReportService.STATUS:
+                return Collections.singletonList(status);
+            case ReportService.DATE_RANGE:
+                return Arrays.asList(from, to);
+            default:
+                return ReportService.defaultFilters(type);
+        }
+    }
+
+    private static String await(Future<String> result) throws IOException {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) throw (IOException) cause;
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            throw new IOException(cause);
+        }
+    }
+
+    private static String elapsed(long startNanos) {
+        return String.format("%,.0f ms", (System.nanoTime() - startNanos) / 1e6);
+    }
+
+    private static String elapsed(long startNanos, long rows) {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        return String.format("%,.0f ms (%,.0f rows/s)", seconds * 1e3, seconds > 0 ? rows / seconds : 0);
+    }
+
+    // Parses one file on a worker, handing batches to the main thread through a bounded queue
+    private static final class FileReader implements Runnable {
+        final Path file;
+        private final BlockingQueue<List<Student>> batches = new ArrayBlockingQueue<>(BATCHES_AHEAD);
+        // Set before END is queued, so visible to the main thread once it has taken END
+        long malformed;
+        List<String> problems = Collections.emptyList();
+        Exception error;
+
+        FileReader(Path file) {
+            this.file = file;
+        }
+
+        @Override
+        public void run() {
+            try {
+                try (CsvImporter importer = new CsvImporter(file)) {
+                    boolean more = true;
+                    while (more) {
+                        List<Student> batch = new ArrayList<>(IMPORT_BATCH);
+                        more = importer.readBatch(batch, IMPORT_BATCH);
+                        if (!batch.isEmpty()) batches.put(batch);
+                    }
+                    malformed = importer.getMalformed();
+                    problems = importer.getProblems();
+                } catch (IOException | RuntimeException e) {
+                    error = e;
+                }
+                batches.put(END);
+            } catch (InterruptedException e) {
+                // the batch is being abandoned
+            }
+        }
+
+        List<Student> take() throws IOException {
+            try {
+                return batches.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted", e);
+            }
+        }
+    }
+}
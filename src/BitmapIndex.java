@@ -0,0 +1,145 @@
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Bitmap indexes over the dictionary-encoded programme, level and status columns: one RowBitmap
+// of table rows per dictionary code. Combining filters is a bitmap AND / OR, and the size of a
+// group is its bitmap's cardinality, so neither needs a pass over the students.
+class BitmapIndex implements StudentStore.Listener {
+
+    private static final RowBitmap EMPTY = new RowBitmap();
+
+    private final StudentTable table;
+    // Indexed by dictionary code; groups that empty out are kept, as codes are never reused
+    private final List<RowBitmap> byProgramme = new ArrayList<>();
+    private final List<RowBitmap> byLevel = new ArrayList<>();
+    private final List<RowBitmap> byStatus = new ArrayList<>();
+
+    BitmapIndex(StudentTable table) {
+        this.table = table;
+    }
+
+    // Rows matching every non-null filter value, as a new bitmap the caller may keep;
+    // null if no filter is set (every row matches)
+    public RowBitmap select(String programme, String level, String status) {
+        RowBitmap result = null;
+        if (programme != null) result = intersect(result, programmeRows(programme));
+        if (level != null) result = intersect(result, levelRows(level));
+        if (status != null) result = intersect(result, statusRows(status));
+        return result;
+    }
+
+    // Union of the programmes whose lowercased name contains the (lowercased) term
+    public RowBitmap programmesContaining(String term) {
+        RowBitmap result = new RowBitmap();
+        List<String> names = table.programmeNames();
+        for (int p = 0; p < names.size() && p < byProgramme.size(); p++) {
+            String name = names.get(p);
+            if (name != null && name.toLowerCase(Locale.ROOT).contains(term)) {
+                result = RowBitmap.or(result, byProgramme.get(p));
+            }
+        }
+        return result;
+    }
+
+    public long programmeCount(String programme) {
+        return programmeRows(programme).cardinality();
+    }
+
+    public long levelCount(String level) {
+        return levelRows(level).cardinality();
+    }
+
+    public long statusCount(String status) {
+        return statusRows(status).cardinality();
+    }
+
+    // Non-empty groups and their sizes, in dictionary (first seen) order
+    public Map<String, Long> programmeCounts() {
+        return counts(byProgramme, table.programmeNames());
+    }
+
+    public Map<String, Long> levelCounts() {
+        return counts(byLevel, table.levelNames());
+    }
+
+    public Map<String, Long> statusCounts() {
+        return counts(byStatus, table.statusNames());
+    }
+
+    // The index's own bitmaps; callers must not modify them
+    private RowBitmap programmeRows(String programme) {
+        return group(byProgramme, table.programmeCode(programme));
+    }
+
+    private RowBitmap levelRows(String level) {
+        return group(byLevel, table.levelCode(level));
+    }
+
+    private RowBitmap statusRows(String status) {
+        return group(byStatus, table.statusCode(status));
+    }
+
+    @Override
+    public void studentsAdded(List<Student> added) {
+        added.forEach(this::index);
+    }
+
+    @Override
+    public void studentsRemoved(List<Student> removed) {
+        removed.forEach(this::unindex);
+    }
+
+    @Override
+    public void studentsUpdating(Collection<Student> students) {
+        students.forEach(this::unindex);
+    }
+
+    @Override
+    public void studentsUpdated(Collection<Student> students) {
+        students.forEach(this::index);
+    }
+
+    private void index(Student student) {
+        int row = student.getRow();
+        groupFor(byProgramme, table.programmeColumn()[row]).add(row);
+        groupFor(byLevel, table.levelColumn()[row]).add(row);
+        groupFor(byStatus, table.statusColumn()[row]).add(row);
+    }
+
+    private void unindex(Student student) {
+        int row = student.getRow();
+        group(byProgramme, table.programmeColumn()[row]).remove(row);
+        group(byLevel, table.levelColumn()[row]).remove(row);
+        group(byStatus, table.statusColumn()[row]).remove(row);
+    }
+
+    private static RowBitmap group(List<RowBitmap> groups, int code) {
+        return code >= 0 && code < groups.size() ? groups.get(code) : EMPTY;
+    }
+
+    private static RowBitmap groupFor(List<RowBitmap> groups, int code) {
+        while (groups.size() <= code) {
+            groups.add(new RowBitmap());
+        }
+        return groups.get(code);
+    }
+
+    private static RowBitmap intersect(RowBitmap result, RowBitmap group) {
+        return result == null ? group.copy() : RowBitmap.and(result, group);
+    }
+
+    private static Map<String, Long> counts(List<RowBitmap> groups, List<String> names) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (int code = 0; code < groups.size(); code++) {
+            long count = groups.get(code).cardinality();
+            if (count > 0) {
+                counts.put(names.get(code), count);
+            }
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,33 @@
+import javafx.concurrent.Task;
+
+import java.io.File;
+
+// Background CSV export of a StudentSnapshot taken on the FX thread, so the file is consistent
+// even if students are edited while it is being written. The encoding is CsvWriter's; this task
+// adds progress reporting and cancellation.
+class CsvExportTask extends Task<Long> {
+
+    private final File file;
+    private final StudentSnapshot snapshot;
+
+    CsvExportTask(File file, StudentSnapshot snapshot) {
+        this.file = file;
+        this.snapshot = snapshot;
+    }
+
+    @Override
+    protected Long call() throws Exception {
+        long startNanos = System.nanoTime();
+        return CsvWriter.writeFile(file.toPath(), snapshot, (written, size) -> {
+            reportProgress(written, size, startNanos);
+            return !isCancelled();
+        });
+    }
+
+    private void reportProgress(int written, int size, long startNanos) {
+        updateProgress(written, size);
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        updateMessage(String.format("%,d of %,d students written (%,.0f rows/s)",
+                written, size, seconds > 0 ? written / seconds : 0));
+    }
+}
@@ -0,0 +1,91 @@
+import javafx.application.Platform;
+import javafx.concurrent.Task;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+// Background CSV import: streams the file through a CsvImporter and publishes the parsed
+// students to the FX thread in batches so the UI keeps repainting. Malformed rows are skipped
+// and the first CsvImporter.MAX_PROBLEMS of them are kept, with their line numbers, for the summary.
+class CsvImportTask extends Task<Void> {
+
+    private static final int BATCH_SIZE = 5_000;
+    // Bounds how far the reader may run ahead of the FX thread
+    private static final int MAX_BATCHES_IN_FLIGHT = 4;
+
+    private final File file;
+    private final Function<CsvTokenizer, Student> parser;
+    private final ToIntFunction<List<Student>> publisher;
+
+    private final AtomicInteger imported = new AtomicInteger();
+    private final AtomicInteger skipped = new AtomicInteger();
+    private final List<String> problems = Collections.synchronizedList(new ArrayList<>());
+
+    // parser follows the CsvImporter contract: null to ignore a row, IllegalArgumentException for
+    // a malformed one. publisher runs on the FX thread,
+    // applies a whole batch at once and returns how many rows it accepted (the rest are rejected,
+    // e.g. duplicate IDs)
+    CsvImportTask(File file, Function<CsvTokenizer, Student> parser, ToIntFunction<List<Student>> publisher) {
+        this.file = file;
+        this.parser = parser;
+        this.publisher = publisher;
+    }
+
+    public int getImported() { return imported.get(); }
+    public int getSkipped() { return skipped.get(); }
+    // "line N: reason" for the first malformed rows; read once the task has finished
+    public List<String> getProblems() { return problems; }
+
+    @Override
+    protected Void call() throws Exception {
+        long totalBytes = Math.max(1, file.length());
+        long startNanos = System.nanoTime();
+        Semaphore inFlight = new Semaphore(MAX_BATCHES_IN_FLIGHT);
+
+        try (CsvImporter importer = new CsvImporter(file.toPath(), parser)) {
+            boolean more = true;
+            while (more && !isCancelled()) {
+                List<Student> batch = new ArrayList<>(BATCH_SIZE);
+                more = importer.readBatch(batch, BATCH_SIZE);
+                if (!batch.isEmpty()) {
+                    inFlight.acquire();
+                    Platform.runLater(() -> {
+                        try {
+                            publish(batch);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                }
+
+                long rowsRead = importer.getRowsRead();
+                double seconds = (System.nanoTime() - startNanos) / 1e9;
+                updateProgress(Math.min(importer.getBytesRead(), totalBytes), totalBytes);
+                updateMessage(String.format("%,d rows read  •  %,.0f rows/s", rowsRead,
+                        seconds > 0 ? rowsRead / seconds : 0));
+            }
+            skipped.addAndGet((int) importer.getMalformed());
+            problems.addAll(importer.getProblems());
+        }
+
+        // Wait for the FX thread to drain every batch so counts are final when the task completes
+        inFlight.acquire(MAX_BATCHES_IN_FLIGHT);
+        if (!isCancelled()) {
+            updateProgress(totalBytes, totalBytes);
+        }
+        return null;
+    }
+
+    private void publish(List<Student> batch) {
+        if (isCancelled()) return;
+        int accepted = publisher.applyAsInt(batch);
+        imported.addAndGet(accepted);
+        skipped.addAndGet(batch.size() - accepted);
+    }
+}
@@ -0,0 +1,100 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+// Reads students from a CSV in batches, with no UI and no threads of its own: the import tasks
+// and headless callers decide where the batches go. Malformed rows are skipped and the first
+// MAX_PROBLEMS of them are kept, with their line numbers, for the summary.
+class CsvImporter implements Closeable {
+
+    static final int MAX_PROBLEMS = 100;
+
+    private final CsvTokenizer csv;
+    private final Function<CsvTokenizer, Student> parser;
+    private long rowsRead;
+    private long malformed;
+    private final List<String> problems = new ArrayList<>();
+
+    // parser builds a student from the current record, returns null for a row to ignore (a header)
+    // and throws IllegalArgumentException for a malformed one
+    CsvImporter(Path file, Function<CsvTokenizer, Student> parser) throws IOException {
+        this.csv = new CsvTokenizer(FileChannel.open(file, StandardOpenOption.READ));
+        this.parser = parser;
+    }
+
+    CsvImporter(Path file) throws IOException {
+        this(file, CsvImporter::parseStudent);
+    }
+
+    // Parses records into batch until it holds max students or the input ends; false once
+    // there is nothing more to read
+    boolean readBatch(List<Student> batch, int max) throws IOException {
+        while (batch.size() < max) {
+            if (!csv.next()) return false;
+            if (csv.isBlank()) continue;
+            rowsRead++;
+            Student student = parseRecord();
+            if (student != null) batch.add(student);
+        }
+        return true;
+    }
+
+    // Non-blank records read so far, the header included
+    long getRowsRead() { return rowsRead; }
+    long getMalformed() { return malformed; }
+    // Bytes of the file consumed so far, for progress reporting
+    long getBytesRead() { return csv.bytesRead(); }
+    // "line N: reason" for the first malformed rows; read on the thread doing the reading, or once it has finished
+    List<String> getProblems() { return problems; }
+
+    @Override
+    public void close() throws IOException {
+        csv.close();
+    }
+
+    private Student parseRecord() {
+        String problem = csv.error();
+        if (problem == null) {
+            try {
+                return parser.apply(csv);
+            } catch (IllegalArgumentException e) {
+                problem = e.getMessage();
+            }
+        }
+        malformed++;
+        if (problems.size() < MAX_PROBLEMS) {
+            problems.add("line " + csv.lineNumber() + ": " + problem);
+        }
+        return null;
+    }
+
+    // Builds a student from one CSV record: ID, Name, Programme, Level, GPA, Email, Phone,
+    // Date Added and optionally Status. Returns null for the header row and throws
+    // IllegalArgumentException saying what is wrong with a malformed one.
+    static Student parseStudent(CsvTokenizer csv) {
+        if (csv.lineNumber() == 1 && csv.fieldEquals(0, "ID")) {
+            return null;
+        }
+        if (csv.fieldCount() < 8) {
+            throw new IllegalArgumentException("expected at least 8 fields but found " + csv.fieldCount());
+        }
+        double gpa;
+        try {
+            gpa = csv.parseDouble(4);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("GPA \"" + csv.field(4) + "\" is not a number");
+        }
+        // Validate status; the two valid values are matched in place to share the constants
+        String status = "Active";
+        if (csv.fieldCount() > 8 && csv.fieldEquals(8, "Inactive")) {
+            status = "Inactive";
+        }
+        return new Student(csv.field(0), csv.field(1), csv.field(2), csv.field(3), gpa,
+                csv.field(5), csv.field(6), csv.field(7), status);
+    }
+}
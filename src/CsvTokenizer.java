@@ -0,0 +1,295 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// Streaming RFC 4180 CSV tokenizer over a byte channel. Bytes are decoded as UTF-8 into one
+// growable char buffer and each record is tokenized in place: a field is just a start / end
+// offset, so nothing is allocated until the caller asks for a field as a String, and numbers can
+// be parsed straight from the buffer. Handles quoted fields (with "" escapes and embedded line
+// breaks), CRLF / LF / CR line endings and a leading byte-order mark. Unquoted fields are trimmed;
+// quoted ones are kept exactly. Syntax problems don't stop the stream: the record is still
+// returned, with error() describing it and lineNumber() saying where it started.
+class CsvTokenizer implements Closeable {
+
+    private static final int BYTE_BUFFER_SIZE = 1 << 18;
+    private static final int INITIAL_CHARS = 1 << 18;
+    // Exact powers of ten for the fast GPA path
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15};
+
+    private static final byte PLAIN = 0;
+    private static final byte QUOTED = 1;
+    private static final byte QUOTED_ESCAPES = 2; // quoted, and contains "" pairs
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer bytes = ByteBuffer.allocate(BYTE_BUFFER_SIZE);
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private char[] chars = new char[INITIAL_CHARS];
+    private int pos;   // start of the next record
+    private int limit; // end of the decoded chars
+    private boolean channelDone;
+    private boolean eof;
+    private boolean started;
+    private long bytesRead;
+
+    // Current record
+    private int fieldCount;
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private byte[] kinds = new byte[16];
+    private long recordLine;
+    private long nextLine = 1;
+    private String error;
+    private char[] scratch = new char[64];
+
+    CsvTokenizer(ReadableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    // Advances to the next record; false at the end of the input
+    public boolean next() throws IOException {
+        while (true) {
+            if (pos < limit && tokenize(false)) return true;
+            if (!refill()) {
+                return pos < limit && tokenize(true);
+            }
+        }
+    }
+
+    public int fieldCount() { return fieldCount; }
+
+    // Line on which the current record starts (1-based)
+    public long lineNumber() { return recordLine; }
+
+    // What is syntactically wrong with the current record, or null
+    public String error() { return error; }
+
+    // Bytes read from the channel so far, for progress reporting
+    public long bytesRead() { return bytesRead; }
+
+    // True for an empty or whitespace-only line
+    public boolean isBlank() {
+        return fieldCount == 1 && kinds[0] == PLAIN && trimmedStart(0) == trimmedEnd(0);
+    }
+
+    public String field(int i) {
+        if (kinds[i] == PLAIN) {
+            int start = trimmedStart(i), end = trimmedEnd(i);
+            return start == end ? "" : new String(chars, start, end - start);
+        }
+        int start = starts[i], end = ends[i];
+        if (kinds[i] == QUOTED) {
+            return new String(chars, start, end - start);
+        }
+        if (scratch.length < end - start) {
+            scratch = new char[end - start];
+        }
+        int n = 0;
+        for (int k = start; k < end; k++) {
+            char c = chars[k];
+            scratch[n++] = c;
+            if (c == '"') k++; // skip the second quote of the pair
+        }
+        return new String(scratch, 0, n);
+    }
+
+    // Compares without creating the String
+    public boolean fieldEquals(int i, String value) {
+        if (kinds[i] == QUOTED_ESCAPES) return field(i).equals(value);
+        int start = kinds[i] == PLAIN ? trimmedStart(i) : starts[i];
+        int end = kinds[i] == PLAIN ? trimmedEnd(i) : ends[i];
+        if (end - start != value.length()) return false;
+        for (int k = 0; k < value.length(); k++) {
+            if (chars[start + k] != value.charAt(k)) return false;
+        }
+        return true;
+    }
+
+    // Parses the field as Double.parseDouble would. Plain decimals of up to 15 digits (every
+    // realistic GPA) are converted directly from the buffer: both the digits and the power of ten
+    // are exact doubles, so one division gives the correctly rounded result. Anything else falls
+    // back to Double.parseDouble.
+    public double parseDouble(int i) {
+        int start = kinds[i] == PLAIN ? trimmedStart(i) : starts[i];
+        int end = kinds[i] == PLAIN ? trimmedEnd(i) : ends[i];
+        int k = start;
+        boolean negative = false;
+        if (k < end && (chars[k] == '-' || chars[k] == '+')) {
+            negative = chars[k] == '-';
+            k++;
+        }
+        long mantissa = 0;
+        int digits = 0, fractionDigits = 0;
+        boolean dot = false, fast = k < end;
+        for (; k < end && fast; k++) {
+            char c = chars[k];
+            if (c >= '0' && c <= '9') {
+                mantissa = mantissa * 10 + (c - '0');
+                digits++;
+                if (dot) fractionDigits++;
+            } else if (c == '.' && !dot) {
+                dot = true;
+            } else {
+                fast = false;
+            }
+        }
+        if (fast && digits > 0 && digits <= 15) {
+            double value = mantissa / POWERS_OF_TEN[fractionDigits];
+            return negative ? -value : value;
+        }
+        return Double.parseDouble(new String(chars, start, end - start));
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // ==================== TOKENIZING ====================
+
+    // Splits the record starting at pos into fields. Returns false if the buffered chars end
+    // before the record does (unless atEof, where the end of input ends the record).
+    private boolean tokenize(boolean atEof) {
+        char[] c = chars;
+        int end = limit;
+        int i = pos;
+        int lines = 0;
+        fieldCount = 0;
+        error = null;
+
+        while (true) {
+            int j = i;
+            while (j < end && (c[j] == ' ' || c[j] == '\t')) j++;
+            if (j < end && c[j] == '"') {
+                int contentStart = j + 1;
+                int k = contentStart;
+                boolean escapes = false, closed = false;
+                while (k < end) {
+                    char ch = c[k];
+                    if (ch == '"') {
+                        if (k + 1 >= end && !atEof) return false; // can't tell "" from a closing quote yet
+                        if (k + 1 < end && c[k + 1] == '"') {
+                            escapes = true;
+                            k += 2;
+                            continue;
+                        }
+                        closed = true;
+                        break;
+                    }
+                    if (ch == '\n' || (ch == '\r' && (k + 1 >= end || c[k + 1] != '\n'))) lines++;
+                    k++;
+                }
+                if (!closed) {
+                    if (!atEof) return false;
+                    addField(contentStart, end, escapes ? QUOTED_ESCAPES : QUOTED);
+                    error = "unterminated quoted field " + fieldCount;
+                    return finishRecord(end, lines);
+                }
+                addField(contentStart, k, escapes ? QUOTED_ESCAPES : QUOTED);
+                k++;
+                while (k < end && (c[k] == ' ' || c[k] == '\t')) k++;
+                if (k < end && c[k] != ',' && c[k] != '\n' && c[k] != '\r') {
+                    if (error == null) error = "unexpected text after the closing quote of field " + fieldCount;
+                    while (k < end && c[k] != ',' && c[k] != '\n' && c[k] != '\r') k++;
+                }
+                j = k;
+            } else {
+                while (j < end && c[j] != ',' && c[j] != '\n' && c[j] != '\r') j++;
+                addField(i, j, PLAIN);
+            }
+
+            if (j >= end) {
+                if (!atEof) return false;
+                return finishRecord(end, lines);
+            }
+            char delimiter = c[j];
+            if (delimiter == ',') {
+                i = j + 1;
+                continue;
+            }
+            if (delimiter == '\r') {
+                if (j + 1 >= end && !atEof) return false; // might be the first half of CRLF
+                if (j + 1 < end && c[j + 1] == '\n') j++;
+            }
+            return finishRecord(j + 1, lines + 1);
+        }
+    }
+
+    private boolean finishRecord(int next, int lines) {
+        pos = next;
+        recordLine = nextLine;
+        nextLine += lines;
+        return true;
+    }
+
+    private void addField(int start, int end, byte kind) {
+        if (fieldCount == starts.length) {
+            starts = Arrays.copyOf(starts, fieldCount * 2);
+            ends = Arrays.copyOf(ends, fieldCount * 2);
+            kinds = Arrays.copyOf(kinds, fieldCount * 2);
+        }
+        starts[fieldCount] = start;
+        ends[fieldCount] = end;
+        kinds[fieldCount] = kind;
+        fieldCount++;
+    }
+
+    private int trimmedStart(int i) {
+        int start = starts[i], end = ends[i];
+        while (start < end && chars[start] <= ' ') start++;
+        return start;
+    }
+
+    private int trimmedEnd(int i) {
+        int start = starts[i], end = ends[i];
+        while (end > start && chars[end - 1] <= ' ') end--;
+        return end;
+    }
+
+    // ==================== BUFFERING ====================
+
+    // Moves the unfinished record to the front of the buffer (growing it if the record fills most
+    // of it) and decodes more input after it. Returns false once the input is exhausted.
+    private boolean refill() throws IOException {
+        if (eof) return false;
+        if (pos > 0) {
+            System.arraycopy(chars, pos, chars, 0, limit - pos);
+            limit -= pos;
+            pos = 0;
+        }
+        if (chars.length - limit < chars.length / 4) {
+            chars = Arrays.copyOf(chars, chars.length * 2);
+        }
+        CharBuffer out = CharBuffer.wrap(chars);
+        out.position(limit);
+        while (out.position() == limit && !eof) {
+            if (!channelDone) {
+                int n = channel.read(bytes);
+                if (n < 0) channelDone = true;
+                else bytesRead += n;
+            }
+            bytes.flip();
+            CoderResult result = decoder.decode(bytes, out, channelDone);
+            bytes.compact();
+            if (channelDone && result.isUnderflow() && decoder.flush(out).isUnderflow()) {
+                eof = true;
+            }
+        }
+        boolean added = out.position() > limit;
+        limit = out.position();
+        if (!started && limit > 0) {
+            started = true;
+            if (chars[0] == '\uFEFF') pos = 1;
+        }
+        return added;
+    }
+}
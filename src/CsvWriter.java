@@ -0,0 +1,228 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+// CSV encoder for students and reports, with no UI. Rows are UTF-8 encoded straight into one
+// reusable direct buffer that is written to the channel a megabyte at a time, so a row costs no
+// allocation. Fields are quoted per RFC 4180 only when they contain a comma, quote or line break,
+// and lines end in CRLF. writeFile() writes a whole snapshot so that the file only appears under
+// its final name once complete.
+class CsvWriter implements Closeable {
+
+    static final String HEADER = "ID,Name,Programme,Level,GPA,Email,Phone,Date Added,Status";
+    private static final int BUFFER_BYTES = 1 << 20;
+    private static final int PROGRESS_INTERVAL = 16_384;
+
+    // Told how far a writeFile() has got; returning false cancels it
+    interface Progress {
+        boolean written(int rows, int size);
+    }
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private final char[] date = new char[19];
+
+    CsvWriter(WritableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    // Writes the header and every student of the snapshot to target, through a temporary file
+    // moved into place at the end. progress is called every few thousand rows and at the end.
+    // Returns the number of students written; if cancelled, fewer, and target is left untouched.
+    static long writeFile(Path target, StudentSnapshot snapshot, Progress progress) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".part");
+        int size = snapshot.size;
+        boolean complete = false;
+
+        try (CsvWriter writer = new CsvWriter(FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE))) {
+            writer.writeHeader();
+            for (int i = 0; i < size; i++) {
+                if ((i & (PROGRESS_INTERVAL - 1)) == 0 && i > 0 && !progress.written(i, size)) {
+                    return i;
+                }
+                writer.writeRow(snapshot, i);
+            }
+            writer.flush();
+            complete = true;
+        } finally {
+            if (!complete) Files.deleteIfExists(temp);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        progress.written(size, size);
+        return size;
+    }
+
+    void writeHeader() throws IOException {
+        writeAscii(HEADER);
+        endLine();
+    }
+
+    // One student of the snapshot
+    void writeRow(StudentSnapshot s, int i) throws IOException {
+        writeField(s.studentId[i]);
+        comma();
+        writeField(s.fullName[i]);
+        comma();
+        writeField(s.programmeNames.get(s.programme[i]));
+        comma();
+        writeField(s.levelNames.get(s.level[i]));
+        comma();
+        writeGpa(s.gpa[i]);
+        comma();
+        writeField(s.email[i]);
+        comma();
+        writeField(s.phoneNumber[i]);
+        comma();
+        // Most dates are stored as epoch seconds and formatted into a reused char buffer
+        String raw = s.rawDates.isEmpty() ? null : s.rawDates.get(i);
+        if (raw != null) {
+            writeField(raw);
+        } else {
+            StudentTable.formatDateAdded(s.dateAdded[i], date);
+            writeAscii(date);
+        }
+        comma();
+        writeField(s.statusNames.get(s.status[i]));
+        endLine();
+    }
+
+    // ==================== ENCODING ====================
+
+    // Writes the field as UTF-8, quoted (with quotes doubled) if it contains a delimiter.
+    // A null field is written as an empty one.
+    void writeField(String value) throws IOException {
+        if (value == null) return;
+        int length = value.length();
+        boolean quote = false;
+        for (int i = 0; i < length && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        // At most three bytes per char (a surrogate pair is four bytes for two chars), plus quotes
+        if (3L * length + 2 > BUFFER_BYTES) {
+            writeLargeField(value, quote);
+            return;
+        }
+        ensure(3 * length + 2);
+        if (quote) buffer.put((byte) '"');
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                if (c == '"') buffer.put((byte) '"');
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | (c >> 6)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, value.charAt(++i));
+                buffer.put((byte) (0xF0 | (cp >> 18)));
+                buffer.put((byte) (0x80 | ((cp >> 12) & 0x3F)));
+                buffer.put((byte) (0x80 | ((cp >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (cp & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                buffer.put((byte) '?'); // unpaired surrogate, as String.getBytes would write
+            } else {
+                buffer.put((byte) (0xE0 | (c >> 12)));
+                buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+        if (quote) buffer.put((byte) '"');
+    }
+
+    // Fields too big for the buffer (not expected in practice) take the allocating route
+    private void writeLargeField(String value, boolean quote) throws IOException {
+        String text = quote ? '"' + value.replace("\"", "\"\"") + '"' : value;
+        flush();
+        ByteBuffer bytes = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+    }
+
+    // Writes the GPA exactly as Double.toString would. GPAs with at most two decimals (almost all)
+    // are formatted digit by digit; anything else falls back to Double.toString.
+    private void writeGpa(double gpa) throws IOException {
+        long hundredths = Math.round(gpa * 100);
+        if (gpa < 0.001 || gpa >= 1e7 || hundredths / 100.0 != gpa) {
+            if (gpa == 0.0 && Double.doubleToRawLongBits(gpa) == 0) {
+                writeField("0.0");
+            } else {
+                writeField(Double.toString(gpa));
+            }
+            return;
+        }
+        ensure(24);
+        long whole = hundredths / 100;
+        int fraction = (int) (hundredths % 100);
+        writeDigits(whole);
+        buffer.put((byte) '.');
+        buffer.put((byte) ('0' + fraction / 10));
+        if (fraction % 10 != 0) {
+            buffer.put((byte) ('0' + fraction % 10));
+        }
+    }
+
+    private void writeDigits(long value) {
+        if (value >= 10) writeDigits(value / 10);
+        buffer.put((byte) ('0' + value % 10));
+    }
+
+    // Unquoted, for text known to be ASCII and to need no quoting (or, like the header, to be CSV already)
+    private void writeAscii(CharSequence text) throws IOException {
+        ensure(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            buffer.put((byte) text.charAt(i));
+        }
+    }
+
+    private void writeAscii(char[] text) throws IOException {
+        ensure(text.length);
+        for (char c : text) {
+            buffer.put((byte) c);
+        }
+    }
+
+    void comma() throws IOException {
+        ensure(1);
+        buffer.put((byte) ',');
+    }
+
+    void endLine() throws IOException {
+        ensure(2);
+        buffer.put((byte) '\r');
+        buffer.put((byte) '\n');
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // Flushes what is buffered and closes the channel
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.IntConsumer;
+
+// Sorted index from the epoch day a student was added to the table rows added that day.
+// Date-range queries become a range scan over the map (O(log N + k)) instead of parsing
+// every student's dateAdded text. Students whose date could not be parsed are not indexed.
+class DateIndex implements StudentStore.Listener {
+
+    private static final long SECONDS_PER_DAY = 86_400L;
+
+    private final StudentTable table;
+    private final NavigableMap<Long, RowList> rowsByDay = new TreeMap<>();
+    // Position of each indexed row inside its day's list, so removal is O(1) even for busy days
+    private int[] positionOfRow = new int[1024];
+
+    DateIndex(StudentTable table) {
+        this.table = table;
+    }
+
+    // Number of indexed students per day in [fromDay, toDay], in day order
+    public NavigableMap<Long, Integer> countByDay(long fromDay, long toDay) {
+        NavigableMap<Long, Integer> counts = new TreeMap<>();
+        if (fromDay > toDay) return counts;
+        rowsByDay.subMap(fromDay, true, toDay, true)
+                .forEach((day, rows) -> counts.put(day, rows.size));
+        return counts;
+    }
+
+    // Visits the table row of every student added in [fromDay, toDay]
+    public void forEachRow(long fromDay, long toDay, IntConsumer action) {
+        if (fromDay > toDay) return;
+        for (RowList rows : rowsByDay.subMap(fromDay, true, toDay, true).values()) {
+            for (int i = 0; i < rows.size; i++) {
+                action.accept(rows.rows[i]);
+            }
+        }
+    }
+
+    @Override
+    public void studentsAdded(List<Student> added) {
+        added.forEach(this::index);
+    }
+
+    @Override
+    public void studentsRemoved(List<Student> removed) {
+        removed.forEach(this::unindex);
+    }
+
+    @Override
+    public void studentsUpdating(Collection<Student> students) {
+        students.forEach(this::unindex);
+    }
+
+    @Override
+    public void studentsUpdated(Collection<Student> students) {
+        students.forEach(this::index);
+    }
+
+    private void index(Student student) {
+        int row = student.getRow();
+        long epoch = table.getDateAddedEpoch(row);
+        if (epoch == StudentTable.NO_DATE) return;
+        RowList rows = rowsByDay.computeIfAbsent(Math.floorDiv(epoch, SECONDS_PER_DAY), d -> new RowList());
+        if (row >= positionOfRow.length) {
+            positionOfRow = Arrays.copyOf(positionOfRow, Math.max(row + 1, positionOfRow.length * 2));
+        }
+        positionOfRow[row] = rows.size;
+        rows.add(row);
+    }
+
+    private void unindex(Student student) {
+        int row = student.getRow();
+        long epoch = table.getDateAddedEpoch(row);
+        if (epoch == StudentTable.NO_DATE) return;
+        long day = Math.floorDiv(epoch, SECONDS_PER_DAY);
+        RowList rows = rowsByDay.get(day);
+        if (rows == null) return;
+        int position = positionOfRow[row];
+        int last = rows.rows[--rows.size];
+        rows.rows[position] = last;
+        positionOfRow[last] = position;
+        if (rows.size == 0) {
+            rowsByDay.remove(day);
+        }
+    }
+
+    // Unordered growable int list; removal swaps in the last element
+    private static final class RowList {
+        int[] rows = new int[4];
+        int size;
+
+        void add(int row) {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            rows[size++] = row;
+        }
+    }
+}
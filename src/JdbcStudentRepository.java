@@ -0,0 +1,387 @@
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+// Keeps the students in an embedded, file-based SQL database through plain JDBC. The application
+// ships the H2 driver; another database such as SQLite works once its driver is added to the
+// classpath. Each store batch becomes one transaction of batched prepared statements, run in
+// order on a single database thread so the owner thread never waits on the disk; an import,
+// bracketed by beginBulkChange() / endBulkChange(), is a few hundred executeBatch calls and one
+// commit instead of a commit per row or per batch. Bulk changes nest: with two imports running,
+// nothing is committed until the last one ends. The summary-based
+// reports are answered by one GROUP BY query, so the database does the aggregation rather than
+// the rows being read back into the heap. The query is run for a background task, never the
+// owner thread; while writes are still queued it is skipped rather than waiting behind them.
+class JdbcStudentRepository implements StudentRepository {
+
+    private static final int BATCH_SIZE = 1_000;
+    // In Student constructor order
+    private static final String VALUE_COLUMNS =
+            "student_id, full_name, programme, level, gpa, email, phone_number, date_added, status";
+    private static final String INSERT =
+            "INSERT INTO students (student_key, " + VALUE_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE = "UPDATE students SET student_key = ?, student_id = ?, full_name = ?, "
+            + "programme = ?, level = ?, gpa = ?, email = ?, phone_number = ?, date_added = ?, status = ? "
+            + "WHERE student_key = ?";
+    private static final String DELETE = "DELETE FROM students WHERE student_key = ?";
+
+    private final String url;
+    private final Consumer<Exception> onError;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "student-repository");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Owner thread state
+    private final Map<Student, String> idsBeforeUpdate = new IdentityHashMap<>();
+    private Executor ownerThread;
+    // Bulk changes begun and not yet ended; also read by summarize(), on a background thread
+    private volatile int bulkChanges;
+
+    // Used by restore() on the owner thread, then only by the database thread
+    private Connection connection;
+    private volatile Exception failure;
+    // Writes queued or running on the database thread
+    private final AtomicInteger pendingWrites = new AtomicInteger();
+
+    // onError is called on the store's owner thread (or, headless, the database thread) if the
+    // database can no longer be written
+    JdbcStudentRepository(String url, Consumer<Exception> onError) {
+        this.url = url;
+        this.onError = onError;
+    }
+
+    @Override
+    public boolean restore(StudentStore store) throws IOException {
+        try {
+            connection = DriverManager.getConnection(url);
+            connection.setAutoCommit(false);
+            boolean found = tableExists();
+            if (found) {
+                store.addAll(loadStudents());
+            } else {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("CREATE TABLE students ("
+                            + "student_key VARCHAR(255) PRIMARY KEY, student_id VARCHAR(255) NOT NULL, "
+                            + "full_name VARCHAR(255), programme VARCHAR(255), level VARCHAR(255), "
+                            + "gpa DOUBLE NOT NULL, email VARCHAR(255), phone_number VARCHAR(255), "
+                            + "date_added VARCHAR(255), status VARCHAR(255))");
+                }
+            }
+            connection.commit();
+            ownerThread = store.getOwnerThread();
+            store.addListener(this);
+            return found;
+        } catch (SQLException e) {
+            closeConnection();
+            throw new IOException("Could not open " + url + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public ReportEngine.Summary summarize() throws IOException {
+        // The caller would rather scan the in-memory columns than wait behind queued writes (e.g.
+        // right after a large import), and the query mustn't commit half of a bulk change
+        if (failure != null || bulkChanges > 0 || pendingWrites.get() > 0) return null;
+        try {
+            return executor.submit(this::querySummary).get();
+        } catch (ExecutionException e) {
+            throw new IOException("Report query failed: " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the report query");
+        }
+    }
+
+    // Waits (briefly) for pending writes and closes the connection. The database manages its own
+    // files, so there is nothing extra to compact.
+    @Override
+    public void close(boolean compact) {
+        // Commits whatever unfinished imports have written
+        if (bulkChanges > 0) {
+            bulkChanges = 1;
+            endBulkChange();
+        }
+        executor.execute(this::closeConnection);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void beginBulkChange() {
+        bulkChanges++;
+    }
+
+    @Override
+    public void endBulkChange() {
+        if (bulkChanges == 0) return;
+        if (--bulkChanges == 0) {
+            submit(() -> {}, true);
+        }
+    }
+
+    // ==================== LISTENER (OWNER THREAD) ====================
+
+    // Students are views over mutable table rows, so their values are copied here and the
+    // copies handed to the database thread
+
+    @Override
+    public void studentsAdded(List<Student> added) {
+        List<Row> rows = rows(added, null);
+        submit(() -> {
+            try (PreparedStatement insert = connection.prepareStatement(INSERT)) {
+                executeInBatches(insert, rows, false);
+            }
+        }, bulkChanges == 0);
+    }
+
+    @Override
+    public void studentsRemoved(List<Student> removed) {
+        List<String> keys = new ArrayList<>(removed.size());
+        for (Student student : removed) {
+            keys.add(key(student.getStudentId()));
+        }
+        submit(() -> {
+            try (PreparedStatement delete = connection.prepareStatement(DELETE)) {
+                int pending = 0;
+                for (String key : keys) {
+                    delete.setString(1, key);
+                    delete.addBatch();
+                    if (++pending == BATCH_SIZE) {
+                        delete.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) delete.executeBatch();
+            }
+        }, bulkChanges == 0);
+    }
+
+    @Override
+    public void studentsUpdating(Collection<Student> students) {
+        for (Student student : students) {
+            idsBeforeUpdate.put(student, student.getStudentId());
+        }
+    }
+
+    @Override
+    public void studentsUpdated(Collection<Student> students) {
+        List<Row> rows = rows(students, idsBeforeUpdate);
+        idsBeforeUpdate.keySet().removeAll(students);
+        submit(() -> {
+            try (PreparedStatement update = connection.prepareStatement(UPDATE)) {
+                executeInBatches(update, rows, true);
+            }
+        }, bulkChanges == 0);
+    }
+
+    // ==================== DATABASE THREAD ====================
+
+    private interface Work {
+        void run() throws SQLException;
+    }
+
+    // Runs the work, then commits it along with any uncommitted work before it unless it is part
+    // of a bulk change still in progress; after the first failure nothing more is written
+    private void submit(Work work, boolean commit) {
+        if (failure != null) return;
+        pendingWrites.incrementAndGet();
+        executor.execute(() -> {
+            try {
+                if (failure != null) return;
+                work.run();
+                if (commit) connection.commit();
+            } catch (SQLException e) {
+                try {
+                    connection.rollback();
+                } catch (SQLException ignored) {
+                    // the original failure is the one worth reporting
+                }
+                failure = e;
+                if (ownerThread != null) {
+                    ownerThread.execute(() -> onError.accept(e));
+                } else {
+                    onError.accept(e);
+                }
+            } finally {
+                pendingWrites.decrementAndGet();
+            }
+        });
+    }
+
+    private static void executeInBatches(PreparedStatement statement, List<Row> rows, boolean whereOldKey)
+            throws SQLException {
+        int pending = 0;
+        for (Row row : rows) {
+            row.bind(statement);
+            if (whereOldKey) {
+                statement.setString(11, row.oldKey);
+            }
+            statement.addBatch();
+            if (++pending == BATCH_SIZE) {
+                statement.executeBatch();
+                pending = 0;
+            }
+        }
+        if (pending > 0) statement.executeBatch();
+    }
+
+    // One query groups by every report dimension plus the two GPA bucketings; the few resulting
+    // groups are folded into a summary here
+    private ReportEngine.Summary querySummary() throws SQLException {
+        StringBuilder distribution = new StringBuilder("CASE WHEN gpa >= 3.5 THEN 0 WHEN gpa >= 3.0 THEN 1 "
+                + "WHEN gpa >= 2.5 THEN 2 WHEN gpa >= 2.0 THEN 3 ELSE 4 END");
+        // (low, high] half-point ranges from the top, matching ReportEngine's buckets
+        StringBuilder range = new StringBuilder("CASE WHEN gpa <= 0 OR gpa > 4 THEN -1");
+        for (int b = 0; b < ReportEngine.RANGE_BUCKETS - 1; b++) {
+            range.append(" WHEN gpa > ").append(4.0 - 0.5 * (b + 1)).append(" THEN ").append(b);
+        }
+        range.append(" ELSE ").append(ReportEngine.RANGE_BUCKETS - 1).append(" END");
+        String sql = "SELECT programme, level, status, dist, rng, COUNT(*), SUM(gpa), MIN(gpa), MAX(gpa) "
+                + "FROM (SELECT programme, level, status, gpa, " + distribution + " AS dist, " + range + " AS rng "
+                + "FROM students) t GROUP BY programme, level, status, dist, rng ORDER BY programme, level, status";
+
+        List<Object[]> groups = new ArrayList<>();
+        Map<String, Integer> programmes = new LinkedHashMap<>();
+        Map<String, Integer> levels = new LinkedHashMap<>();
+        Map<String, Integer> statuses = new LinkedHashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(sql)) {
+            while (rs.next()) {
+                int p = programmes.computeIfAbsent(rs.getString(1), name -> programmes.size());
+                int l = levels.computeIfAbsent(rs.getString(2), name -> levels.size());
+                int s = statuses.computeIfAbsent(rs.getString(3), name -> statuses.size());
+                groups.add(new Object[] {p, l, s, rs.getInt(4), rs.getInt(5), rs.getLong(6),
+                        rs.getDouble(7), rs.getDouble(8), rs.getDouble(9)});
+            }
+        }
+        connection.commit();
+
+        ReportEngine.Summary summary = new ReportEngine.Summary(new ArrayList<>(programmes.keySet()),
+                new ArrayList<>(levels.keySet()), new ArrayList<>(statuses.keySet()));
+        for (Object[] group : groups) {
+            int p = (Integer) group[0], l = (Integer) group[1], s = (Integer) group[2];
+            int dist = (Integer) group[3], rng = (Integer) group[4];
+            long count = (Long) group[5];
+            summary.total += count;
+            summary.programmeCount[p] += count;
+            summary.programmeGpaSum[p] += (Double) group[6];
+            summary.programmeGpaMin[p] = Math.min(summary.programmeGpaMin[p], (Double) group[7]);
+            summary.programmeGpaMax[p] = Math.max(summary.programmeGpaMax[p], (Double) group[8]);
+            summary.levelCount[l] += count;
+            summary.statusCount[s] += count;
+            summary.distribution[dist] += count;
+            if (rng >= 0) summary.ranges[rng] += count;
+        }
+        return summary;
+    }
+
+    private boolean tableExists() throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        // Unquoted names are stored upper-case by H2 and as written by SQLite
+        for (String name : new String[] {"STUDENTS", "students"}) {
+            try (ResultSet tables = metaData.getTables(null, null, name, null)) {
+                if (tables.next()) return true;
+            }
+        }
+        return false;
+    }
+
+    private List<Student> loadStudents() throws SQLException {
+        List<Student> students = new ArrayList<>();
+        try (Statement statement = connection.createStatement()) {
+            statement.setFetchSize(BATCH_SIZE);
+            try (ResultSet rs = statement.executeQuery("SELECT " + VALUE_COLUMNS + " FROM students")) {
+                while (rs.next()) {
+                    students.add(new Student(rs.getString(1), rs.getString(2), rs.getString(3),
+                            rs.getString(4), rs.getDouble(5), rs.getString(6), rs.getString(7),
+                            rs.getString(8), rs.getString(9)));
+                }
+            }
+        }
+        return students;
+    }
+
+    private void closeConnection() {
+        if (connection == null) return;
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            System.err.println("Could not close the student database: " + e.getMessage());
+        }
+        connection = null;
+    }
+
+    private static List<Row> rows(Collection<Student> students, Map<Student, String> oldIds) {
+        List<Row> rows = new ArrayList<>(students.size());
+        for (Student student : students) {
+            String oldId = oldIds == null ? null : oldIds.get(student);
+            rows.add(new Row(student, oldId == null ? key(student.getStudentId()) : key(oldId)));
+        }
+        return rows;
+    }
+
+    // Matches the store's case-insensitive ID index
+    private static String key(String studentId) {
+        return studentId.toLowerCase(Locale.ROOT);
+    }
+
+    // A student's values at the time of the change
+    private static final class Row {
+        final String oldKey;
+        final String studentId, fullName, programme, level, email, phoneNumber, dateAdded, status;
+        final double gpa;
+
+        Row(Student student, String oldKey) {
+            this.oldKey = oldKey;
+            studentId = student.getStudentId();
+            fullName = student.getFullName();
+            programme = student.getProgramme();
+            level = student.getLevel();
+            gpa = student.getGpa();
+            email = student.getEmail();
+            phoneNumber = student.getPhoneNumber();
+            dateAdded = student.getDateAdded();
+            status = student.getStatus();
+        }
+
+        // Binds parameters 1-10: the key, then the values in VALUE_COLUMNS order
+        void bind(PreparedStatement statement) throws SQLException {
+            statement.setString(1, key(studentId));
+            statement.setString(2, studentId);
+            statement.setString(3, fullName);
+            statement.setString(4, programme);
+            statement.setString(5, level);
+            statement.setDouble(6, gpa);
+            statement.setString(7, email);
+            statement.setString(8, phoneNumber);
+            statement.setString(9, dateAdded);
+            statement.setString(10, status);
+        }
+    }
+}
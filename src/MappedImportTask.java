@@ -0,0 +1,72 @@
+import javafx.concurrent.Task;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+// Streams a CSV straight into a MappedStudentStore on the background thread. Rows are parsed
+// and appended a small batch at a time and never collected, so the heap stays flat however large
+// the file; appended rows become visible in flushes every FLUSH_INTERVAL rows.
+class MappedImportTask extends Task<Long> {
+
+    private static final int FLUSH_INTERVAL = 250_000;
+    private static final int APPEND_BATCH = 4_096;
+
+    private final File file;
+    private final Function<CsvTokenizer, Student> parser;
+    private final MappedStudentStore store;
+
+    private volatile long imported;
+    private volatile long skipped;
+    private final List<String> problems = new ArrayList<>();
+
+    // parser follows the CsvImporter contract: null to ignore a row, IllegalArgumentException
+    // for a malformed one
+    MappedImportTask(File file, Function<CsvTokenizer, Student> parser, MappedStudentStore store) {
+        this.file = file;
+        this.parser = parser;
+        this.store = store;
+    }
+
+    public long getImported() { return imported; }
+    public long getSkipped() { return skipped; }
+    // "line N: reason" for the first malformed rows; read once the task has finished
+    public List<String> getProblems() { return problems; }
+
+    @Override
+    protected Long call() throws Exception {
+        long totalBytes = Math.max(1, file.length());
+        long startNanos = System.nanoTime();
+
+        List<Student> batch = new ArrayList<>(APPEND_BATCH);
+        try (CsvImporter importer = new CsvImporter(file.toPath(), parser)) {
+            long flushedAt = 0;
+            boolean more = true;
+            while (more && !isCancelled()) {
+                batch.clear();
+                more = importer.readBatch(batch, APPEND_BATCH);
+                for (Student student : batch) {
+                    store.append(student);
+                }
+                imported += batch.size();
+                long rows = importer.getRowsRead();
+                if (rows - flushedAt >= FLUSH_INTERVAL) {
+                    flushedAt = rows;
+                    store.flush();
+                    double seconds = (System.nanoTime() - startNanos) / 1e9;
+                    updateProgress(Math.min(importer.getBytesRead(), totalBytes), totalBytes);
+                    updateMessage(String.format("%,d rows written  •  %,.0f rows/s", imported,
+                            seconds > 0 ? rows / seconds : 0));
+                }
+            }
+            skipped = importer.getMalformed();
+            problems.addAll(importer.getProblems());
+        } finally {
+            // Keep whatever was appended, including after a cancel
+            store.flush();
+        }
+        updateProgress(totalBytes, totalBytes);
+        return imported;
+    }
+}
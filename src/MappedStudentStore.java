@@ -0,0 +1,344 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+// Optional storage engine for rosters larger than the heap. Fixed-width student records and a
+// variable-length string area live in memory-mapped files, so the heap holds only the small
+// dictionaries and whatever is being displayed; the OS pages the rest in and out. Records are
+// appended (e.g. streamed from a CSV) and read back by position; there is no ID index and no
+// in-place editing, as this is a store for browsing and aggregating very large rosters.
+//
+// records.dat: RECORD_BYTES per student, little-endian:
+//   [int programme][int level][int status][int reserved][double gpa][long dateAdded epoch]
+//   then studentId, fullName, email, phoneNumber and raw dateAdded as [long offset][int length]
+//   references into strings.dat (length -1 for null; the raw date only when it doesn't
+//   round-trip through the epoch value).
+// strings.dat: UTF-8 bytes. meta.dat: [int magic][int version][long count][long string bytes]
+//   and the three dictionaries; its count is authoritative, so a torn append is ignored.
+final class MappedStudentStore implements StudentRecords, Closeable {
+
+    private static final int MAGIC = 0x534D534D; // "SMSM"
+    private static final int VERSION = 1;
+    private static final int RECORD_BYTES = 96;
+    private static final int RECORDS_PER_SEGMENT = 1 << 22; // 384 MB mapped at a time
+    private static final long STRING_SEGMENT_BYTES = 1L << 30;
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    private static final int PROGRAMME = 0, LEVEL = 4, STATUS = 8, GPA = 16, DATE = 24;
+    private static final int STUDENT_ID = 32, FULL_NAME = 44, EMAIL = 56, PHONE = 68, RAW_DATE = 80;
+
+    private final Path metaFile;
+    private final FileChannel records;
+    private final FileChannel strings;
+    private final StringDictionary programmes = new StringDictionary();
+    private final StringDictionary levels = new StringDictionary();
+    private final StringDictionary statuses = new StringDictionary();
+
+    // Readable (flushed) extent
+    private volatile long count;
+    private long stringBytes;
+
+    // Pending appends, written out by flush()
+    private final ByteBuffer recordBuffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    private final ByteBuffer stringBuffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private long appendedCount;
+    private long appendedStringBytes;
+
+    private volatile MappedByteBuffer[] recordSegments = new MappedByteBuffer[0];
+    private volatile MappedByteBuffer[] stringSegments = new MappedByteBuffer[0];
+
+    private MappedStudentStore(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        metaFile = directory.resolve("meta.dat");
+        records = FileChannel.open(directory.resolve("records.dat"), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        strings = FileChannel.open(directory.resolve("strings.dat"), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (Files.exists(metaFile)) {
+            readMeta();
+        }
+        appendedCount = count;
+        appendedStringBytes = stringBytes;
+        // Drop anything past the committed extent (an append interrupted before flush)
+        records.truncate(count * RECORD_BYTES);
+        strings.truncate(stringBytes);
+    }
+
+    // Opens the store in the directory, creating an empty one if there is none
+    static MappedStudentStore open(Path directory) throws IOException {
+        return new MappedStudentStore(directory);
+    }
+
+    // ==================== APPEND (single writer) ====================
+
+    public void append(Student student) throws IOException {
+        if (recordBuffer.remaining() < RECORD_BYTES) {
+            writeRecordBuffer();
+        }
+        String dateAdded = student.getDateAdded() == null ? "" : student.getDateAdded();
+        long epoch = StudentTable.parseDateAdded(dateAdded);
+        boolean canonical = epoch != StudentTable.NO_DATE && StudentTable.isCanonicalDate(dateAdded);
+
+        int start = recordBuffer.position();
+        recordBuffer.putInt(programmes.encode(student.getProgramme()))
+                .putInt(levels.encode(student.getLevel()))
+                .putInt(statuses.encode(student.getStatus()))
+                .putInt(0)
+                .putDouble(student.getGpa())
+                .putLong(epoch);
+        putString(student.getStudentId());
+        putString(student.getFullName());
+        putString(student.getEmail());
+        putString(student.getPhoneNumber());
+        putString(canonical ? null : dateAdded);
+        recordBuffer.position(start + RECORD_BYTES);
+        appendedCount++;
+    }
+
+    // Makes every appended record durable and readable
+    public void flush() throws IOException {
+        writeRecordBuffer();
+        writeStringBuffer();
+        records.force(false);
+        strings.force(false);
+        count = appendedCount;
+        stringBytes = appendedStringBytes;
+        writeMeta();
+        // The last segments may have grown; map them again on next use
+        recordSegments = new MappedByteBuffer[0];
+        stringSegments = new MappedByteBuffer[0];
+    }
+
+    private void putString(String value) throws IOException {
+        if (value == null) {
+            recordBuffer.putLong(0).putInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        recordBuffer.putLong(appendedStringBytes).putInt(bytes.length);
+        appendedStringBytes += bytes.length;
+        if (bytes.length > stringBuffer.remaining()) {
+            writeStringBuffer();
+            if (bytes.length > stringBuffer.capacity()) {
+                writeFully(strings, ByteBuffer.wrap(bytes));
+                return;
+            }
+        }
+        stringBuffer.put(bytes);
+    }
+
+    private void writeRecordBuffer() throws IOException {
+        recordBuffer.flip();
+        records.position(records.size());
+        writeFully(records, recordBuffer);
+        recordBuffer.clear();
+    }
+
+    private void writeStringBuffer() throws IOException {
+        stringBuffer.flip();
+        strings.position(strings.size());
+        writeFully(strings, stringBuffer);
+        stringBuffer.clear();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) channel.write(buffer);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            records.close();
+            strings.close();
+        }
+    }
+
+    // ==================== READ (any thread, after flush) ====================
+
+    @Override
+    public int size() {
+        return (int) Math.min(count, Integer.MAX_VALUE);
+    }
+
+    @Override public String getStudentId(int i) { return string(i, STUDENT_ID); }
+    @Override public String getFullName(int i) { return string(i, FULL_NAME); }
+    @Override public String getProgramme(int i) { return programmes.decode(programmeCode(i)); }
+    @Override public String getLevel(int i) { return levels.decode(levelCode(i)); }
+    @Override public double getGpa(int i) { return segment(i).getDouble(offset(i) + GPA); }
+    @Override public String getEmail(int i) { return string(i, EMAIL); }
+    @Override public String getPhoneNumber(int i) { return string(i, PHONE); }
+    @Override public String getStatus(int i) { return statuses.decode(statusCode(i)); }
+
+    @Override
+    public String getDateAdded(int i) {
+        String raw = string(i, RAW_DATE);
+        return raw != null ? raw : StudentTable.formatDateAdded(dateAddedEpoch(i));
+    }
+
+    @Override public int programmeCode(int i) { return segment(i).getInt(offset(i) + PROGRAMME); }
+    @Override public int levelCode(int i) { return segment(i).getInt(offset(i) + LEVEL); }
+    @Override public int statusCode(int i) { return segment(i).getInt(offset(i) + STATUS); }
+
+    @Override public long dateAddedEpoch(int i) { return segment(i).getLong(offset(i) + DATE); }
+
+    // Dictionaries grow while appending, so readers get the values published so far
+    @Override public List<String> programmeNames() { return programmes.snapshot(); }
+    @Override public List<String> levelNames() { return levels.snapshot(); }
+    @Override public List<String> statusNames() { return statuses.snapshot(); }
+
+    private static int offset(int i) {
+        return (i % RECORDS_PER_SEGMENT) * RECORD_BYTES;
+    }
+
+    private MappedByteBuffer segment(int i) {
+        if (i < 0 || i >= count) throw new IndexOutOfBoundsException("Record " + i + " of " + count);
+        int index = i / RECORDS_PER_SEGMENT;
+        MappedByteBuffer[] segments = recordSegments;
+        if (index < segments.length && segments[index] != null) {
+            return segments[index];
+        }
+        return mapRecords(index);
+    }
+
+    private synchronized MappedByteBuffer mapRecords(int index) {
+        MappedByteBuffer[] segments = recordSegments;
+        if (index >= segments.length) {
+            segments = Arrays.copyOf(segments, index + 1);
+        }
+        if (segments[index] == null) {
+            long start = (long) index * RECORDS_PER_SEGMENT * RECORD_BYTES;
+            long length = Math.min((long) RECORDS_PER_SEGMENT * RECORD_BYTES, count * RECORD_BYTES - start);
+            segments[index] = map(records, start, length);
+            recordSegments = segments;
+        }
+        return segments[index];
+    }
+
+    private String string(int i, int field) {
+        MappedByteBuffer record = segment(i);
+        int base = offset(i) + field;
+        int length = record.getInt(base + 8);
+        if (length < 0) return null;
+        long position = record.getLong(base);
+        byte[] bytes = new byte[length];
+        // A value may straddle two string segments; copy it a segment at a time
+        int copied = 0;
+        while (copied < length) {
+            long at = position + copied;
+            int index = (int) (at / STRING_SEGMENT_BYTES);
+            int within = (int) (at % STRING_SEGMENT_BYTES);
+            MappedByteBuffer segment = stringSegment(index);
+            int chunk = Math.min(length - copied, segment.capacity() - within);
+            segment.get(within, bytes, copied, chunk);
+            copied += chunk;
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private MappedByteBuffer stringSegment(int index) {
+        MappedByteBuffer[] segments = stringSegments;
+        if (index < segments.length && segments[index] != null) {
+            return segments[index];
+        }
+        return mapStrings(index);
+    }
+
+    private synchronized MappedByteBuffer mapStrings(int index) {
+        MappedByteBuffer[] segments = stringSegments;
+        if (index >= segments.length) {
+            segments = Arrays.copyOf(segments, index + 1);
+        }
+        if (segments[index] == null) {
+            long start = index * STRING_SEGMENT_BYTES;
+            segments[index] = map(strings, start, Math.min(STRING_SEGMENT_BYTES, stringBytes - start));
+            stringSegments = segments;
+        }
+        return segments[index];
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long start, long length) {
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            return buffer;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ==================== META ====================
+
+    private void writeMeta() throws IOException {
+        ByteBuffer meta = ByteBuffer.allocate(metaSize()).order(ByteOrder.LITTLE_ENDIAN);
+        meta.putInt(MAGIC).putInt(VERSION).putLong(count).putLong(stringBytes);
+        for (StringDictionary dictionary : new StringDictionary[]{programmes, levels, statuses}) {
+            meta.putInt(dictionary.size());
+            for (String value : dictionary.values()) {
+                byte[] bytes = value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+                meta.putInt(bytes == null ? -1 : bytes.length);
+                if (bytes != null) meta.put(bytes);
+            }
+        }
+        meta.flip();
+        // Replace atomically so a crash leaves either the old or the new extent
+        Path temp = metaFile.resolveSibling("meta.dat.tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(out, meta);
+            out.force(true);
+        }
+        Files.move(temp, metaFile, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private int metaSize() {
+        int size = 24;
+        for (StringDictionary dictionary : new StringDictionary[]{programmes, levels, statuses}) {
+            size += 4;
+            for (String value : dictionary.values()) {
+                size += 4 + (value == null ? 0 : value.getBytes(StandardCharsets.UTF_8).length);
+            }
+        }
+        return size;
+    }
+
+    private void readMeta() throws IOException {
+        ByteBuffer meta = ByteBuffer.wrap(Files.readAllBytes(metaFile)).order(ByteOrder.LITTLE_ENDIAN);
+        if (meta.remaining() < 24 || meta.getInt() != MAGIC) {
+            throw new IOException(metaFile + " is not a mapped roster");
+        }
+        int version = meta.getInt();
+        if (version != VERSION) throw new IOException(metaFile + " has unsupported version " + version);
+        count = meta.getLong();
+        stringBytes = meta.getLong();
+        if (count < 0 || count * RECORD_BYTES > records.size() || stringBytes < 0 || stringBytes > strings.size()) {
+            throw new IOException(metaFile + " describes more data than the roster files hold");
+        }
+        for (StringDictionary dictionary : new StringDictionary[]{programmes, levels, statuses}) {
+            int size = meta.getInt();
+            for (int i = 0; i < size; i++) {
+                int length = meta.getInt();
+                String value = null;
+                if (length >= 0) {
+                    byte[] bytes = new byte[length];
+                    meta.get(bytes);
+                    value = new String(bytes, StandardCharsets.UTF_8);
+                }
+                dictionary.encode(value);
+            }
+        }
+    }
+}
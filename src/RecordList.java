@@ -0,0 +1,56 @@
+import javafx.collections.ObservableListBase;
+
+import java.util.ArrayList;
+import java.util.Collections;
+
+// Read-only ObservableList over StudentRecords, for ListView. A Student is materialised only
+// when a cell asks for its row, so browsing a roster of any size keeps the heap small. The list
+// shows either every record or a fixed set of positions (e.g. a search result); a new search is
+// a new list, so the view never has to be told about millions of removed rows.
+class RecordList extends ObservableListBase<Student> {
+
+    private final StudentRecords records;
+    // Positions shown, in order; null for every record
+    private final int[] positions;
+    private int size;
+
+    RecordList(StudentRecords records) {
+        this(records, null);
+    }
+
+    RecordList(StudentRecords records, int[] positions) {
+        this.records = records;
+        this.positions = positions;
+        this.size = positions == null ? records.size() : positions.length;
+    }
+
+    @Override
+    public Student get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " of " + size);
+        }
+        return records.toStudent(positions == null ? index : positions[index]);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    // Picks up records appended to the underlying store since the last call; a list of fixed
+    // positions doesn't change
+    void refresh() {
+        if (positions != null) return;
+        int previous = size;
+        size = records.size();
+        if (size != previous) {
+            beginChange();
+            if (size > previous) {
+                nextAdd(previous, size);
+            } else {
+                nextRemove(size, new ArrayList<>(Collections.nCopies(previous - size, (Student) null)));
+            }
+            endChange();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+import javafx.animation.AnimationTimer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Coalesces view refreshes. Code that changes the data marks the affected views dirty; each dirty
+// view is repainted once, on the FX thread just before the next pulse renders, no matter how many
+// times it was marked in between. A burst of edits or a streamed import therefore costs one
+// repaint per view per frame instead of one per change. The timer only runs while work is pending.
+class RefreshScheduler {
+
+    // A registered view; markDirty() is cheap and may be called as often as needed (FX thread only)
+    final class View {
+        private final Runnable repaint;
+        private boolean dirty;
+
+        private View(Runnable repaint) {
+            this.repaint = repaint;
+        }
+
+        void markDirty() {
+            if (dirty) return;
+            dirty = true;
+            pending.add(this);
+            if (!running) {
+                running = true;
+                timer.start();
+            }
+        }
+    }
+
+    private final List<View> pending = new ArrayList<>();
+    private boolean running;
+    private final AnimationTimer timer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            flush();
+        }
+    };
+
+    View register(Runnable repaint) {
+        return new View(repaint);
+    }
+
+    // Repaints everything marked so far; views marked by a repaint wait for the next pulse
+    private void flush() {
+        List<View> views = new ArrayList<>(pending);
+        pending.clear();
+        for (View view : views) {
+            view.dirty = false;
+            view.repaint.run();
+        }
+        if (pending.isEmpty()) {
+            running = false;
+            timer.stop();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+// Least-recently-used cache of generated reports, keyed by report type, filter values and the
+// store version the rows were computed at. Regenerating or exporting a report the roster hasn't
+// changed since is a lookup instead of a rescan; entries for older versions never match again
+// and simply age out.
+class ReportCache {
+
+    private final int capacity;
+    private final Map<Key, List<ReportRow>> entries;
+    private long hits;
+    private long misses;
+
+    ReportCache(int capacity) {
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<Key, List<ReportRow>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, List<ReportRow>> eldest) {
+                return size() > ReportCache.this.capacity;
+            }
+        };
+    }
+
+    // Cached rows for the key, or the result of compute (then cached). The rows are shared
+    // between callers and must not be modified.
+    List<ReportRow> get(String type, List<?> filters, long version, Supplier<? extends List<ReportRow>> compute) {
+        Key key = new Key(type, filters, version);
+        List<ReportRow> rows = entries.get(key);
+        if (rows != null) {
+            hits++;
+            return rows;
+        }
+        misses++;
+        rows = Collections.unmodifiableList(new ArrayList<>(compute.get()));
+        entries.put(key, rows);
+        return rows;
+    }
+
+    // True if get() would return cached rows without computing them
+    boolean contains(String type, List<?> filters, long version) {
+        return entries.containsKey(new Key(type, filters, version));
+    }
+
+    public long getHits() { return hits; }
+    public long getMisses() { return misses; }
+
+    private static final class Key {
+        final String type;
+        final List<?> filters;
+        final long version;
+
+        Key(String type, List<?> filters, long version) {
+            this.type = type;
+            this.filters = new ArrayList<>(filters);
+            this.version = version;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return version == other.version && Objects.equals(type, other.type) && filters.equals(other.filters);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, filters, version);
+        }
+    }
+}
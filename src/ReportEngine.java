@@ -0,0 +1,222 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.IntStream;
+
+// Fused report computation: one pass over primitive columns fills every bucket, group count
+// and GPA statistic the Reports tab needs, instead of one filtered stream per bucket.
+// Large inputs can be split across cores with fork/join and the partial summaries merged.
+class ReportEngine {
+
+    static final int PARALLEL_THRESHOLD = 100_000;
+    private static final int SPLIT_SIZE = 32_768;
+    // Rows copied out of a StudentRecords per scan, bounding the heap each worker needs
+    private static final int RECORD_CHUNK = 65_536;
+
+    // GPA Distribution buckets: Excellent, Good, Average, Fair, Poor
+    static final int DISTRIBUTION_BUCKETS = 5;
+    // GPA Range Analysis buckets: (3.5, 4.0], (3.0, 3.5], ... (0.0, 0.5]
+    static final int RANGE_BUCKETS = 8;
+
+    // Dictionary-encoded column view of the roster; codes index into the name lists.
+    // size is the number of rows to scan, some of which may be free (status code < 0).
+    static final class Columns {
+        final int size;
+        final double[] gpa;
+        final int[] programme;
+        final int[] level;
+        final int[] status;
+        final List<String> programmeNames;
+        final List<String> levelNames;
+        final List<String> statusNames;
+
+        Columns(int size, double[] gpa, int[] programme, int[] level, int[] status,
+                List<String> programmeNames, List<String> levelNames, List<String> statusNames) {
+            this.size = size;
+            this.gpa = gpa;
+            this.programme = programme;
+            this.level = level;
+            this.status = status;
+            this.programmeNames = programmeNames;
+            this.levelNames = levelNames;
+            this.statusNames = statusNames;
+        }
+
+        // Wraps the table's own arrays without copying; rows marked FREE are skipped by the scan
+        static Columns of(StudentTable table) {
+            return new Columns(table.highWater(), table.gpaColumn(), table.programmeColumn(),
+                    table.levelColumn(), table.statusColumn(), new ArrayList<>(table.programmeNames()),
+                    new ArrayList<>(table.levelNames()), new ArrayList<>(table.statusNames()));
+        }
+    }
+
+    // Everything the reports need, computed in one pass
+    static final class Summary {
+        final List<String> programmeNames;
+        final List<String> levelNames;
+        final List<String> statusNames;
+        long total;
+        final long[] programmeCount;
+        final double[] programmeGpaSum;
+        final double[] programmeGpaMin;
+        final double[] programmeGpaMax;
+        final long[] levelCount;
+        final long[] statusCount;
+        final long[] distribution = new long[DISTRIBUTION_BUCKETS];
+        final long[] ranges = new long[RANGE_BUCKETS];
+
+        Summary(Columns columns) {
+            this(columns.programmeNames, columns.levelNames, columns.statusNames);
+        }
+
+        // Empty summary over the given groups, for callers that fill it in themselves
+        Summary(List<String> programmeNames, List<String> levelNames, List<String> statusNames) {
+            this.programmeNames = programmeNames;
+            this.levelNames = levelNames;
+            this.statusNames = statusNames;
+            int programmes = programmeNames.size(), levels = levelNames.size(), statuses = statusNames.size();
+            programmeCount = new long[programmes];
+            programmeGpaSum = new double[programmes];
+            programmeGpaMin = new double[programmes];
+            programmeGpaMax = new double[programmes];
+            Arrays.fill(programmeGpaMin, Double.POSITIVE_INFINITY);
+            Arrays.fill(programmeGpaMax, Double.NEGATIVE_INFINITY);
+            levelCount = new long[levels];
+            statusCount = new long[statuses];
+        }
+
+        long programmeCount(String programme) {
+            int p = programmeNames.indexOf(programme);
+            return p >= 0 ? programmeCount[p] : 0;
+        }
+
+        long levelCount(String level) {
+            int l = levelNames.indexOf(level);
+            return l >= 0 ? levelCount[l] : 0;
+        }
+
+        long statusCount(String status) {
+            int s = statusNames.indexOf(status);
+            return s >= 0 ? statusCount[s] : 0;
+        }
+
+        void merge(Summary other) {
+            total += other.total;
+            for (int p = 0; p < programmeCount.length; p++) {
+                programmeCount[p] += other.programmeCount[p];
+                programmeGpaSum[p] += other.programmeGpaSum[p];
+                programmeGpaMin[p] = Math.min(programmeGpaMin[p], other.programmeGpaMin[p]);
+                programmeGpaMax[p] = Math.max(programmeGpaMax[p], other.programmeGpaMax[p]);
+            }
+            for (int l = 0; l < levelCount.length; l++) levelCount[l] += other.levelCount[l];
+            for (int s = 0; s < statusCount.length; s++) statusCount[s] += other.statusCount[s];
+            for (int b = 0; b < DISTRIBUTION_BUCKETS; b++) distribution[b] += other.distribution[b];
+            for (int b = 0; b < RANGE_BUCKETS; b++) ranges[b] += other.ranges[b];
+        }
+    }
+
+    static Summary summarize(Columns columns) {
+        return summarize(columns, columns.size >= PARALLEL_THRESHOLD);
+    }
+
+    static Summary summarize(Columns columns, boolean parallel) {
+        if (!parallel || columns.size <= SPLIT_SIZE) {
+            return scan(columns, 0, columns.size);
+        }
+        return ForkJoinPool.commonPool().invoke(new ScanTask(columns, 0, columns.size));
+    }
+
+    // Summarises any StudentRecords (e.g. a memory-mapped roster) a chunk at a time: each chunk's
+    // codes and GPAs are copied into small arrays and scanned, and the chunk summaries merged
+    static Summary summarize(StudentRecords records) {
+        return summarize(records, records.size());
+    }
+
+    // Summarises the first size records. Records still being appended may add dictionary values,
+    // so the names are read after size: every code in those records is already in them.
+    static Summary summarize(StudentRecords records, int size) {
+        List<String> programmeNames = records.programmeNames();
+        List<String> levelNames = records.levelNames();
+        List<String> statusNames = records.statusNames();
+        int chunks = (size + RECORD_CHUNK - 1) / RECORD_CHUNK;
+        return IntStream.range(0, chunks).parallel().mapToObj(chunk -> {
+            int from = chunk * RECORD_CHUNK;
+            int n = Math.min(size, from + RECORD_CHUNK) - from;
+            double[] gpa = new double[n];
+            int[] programme = new int[n], level = new int[n], status = new int[n];
+            for (int i = 0; i < n; i++) {
+                gpa[i] = records.getGpa(from + i);
+                programme[i] = records.programmeCode(from + i);
+                level[i] = records.levelCode(from + i);
+                status[i] = records.statusCode(from + i);
+            }
+            return scan(new Columns(n, gpa, programme, level, status, programmeNames, levelNames, statusNames), 0, n);
+        }).reduce((a, b) -> {
+            a.merge(b);
+            return a;
+        }).orElseGet(() -> scan(new Columns(0, new double[0], new int[0], new int[0], new int[0],
+                programmeNames, levelNames, statusNames), 0, 0));
+    }
+
+    private static Summary scan(Columns c, int from, int to) {
+        Summary sum = new Summary(c);
+        double[] gpa = c.gpa;
+        int[] programme = c.programme, level = c.level, status = c.status;
+        long total = 0;
+        for (int i = from; i < to; i++) {
+            if (status[i] < 0) continue;
+            total++;
+            double g = gpa[i];
+            int p = programme[i];
+
+            sum.programmeCount[p]++;
+            sum.programmeGpaSum[p] += g;
+            if (g < sum.programmeGpaMin[p]) sum.programmeGpaMin[p] = g;
+            if (g > sum.programmeGpaMax[p]) sum.programmeGpaMax[p] = g;
+            sum.levelCount[level[i]]++;
+            sum.statusCount[status[i]]++;
+
+            if (g >= 3.5) sum.distribution[0]++;
+            else if (g >= 3.0) sum.distribution[1]++;
+            else if (g >= 2.5) sum.distribution[2]++;
+            else if (g >= 2.0) sum.distribution[3]++;
+            else if (g < 2.0) sum.distribution[4]++;
+
+            // (low, high] half-point buckets; 2 * g is exact, so ceil matches the <=/> comparisons
+            if (g > 0.0 && g <= 4.0) {
+                sum.ranges[RANGE_BUCKETS - (int) Math.ceil(g * 2)]++;
+            }
+        }
+        sum.total = total;
+        return sum;
+    }
+
+    private static final class ScanTask extends RecursiveTask<Summary> {
+        private static final long serialVersionUID = 1L;
+
+        private final Columns columns;
+        private final int from, to;
+
+        ScanTask(Columns columns, int from, int to) {
+            this.columns = columns;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Summary compute() {
+            if (to - from <= SPLIT_SIZE) {
+                return scan(columns, from, to);
+            }
+            int mid = (from + to) >>> 1;
+            ScanTask left = new ScanTask(columns, from, mid);
+            left.fork();
+            Summary right = new ScanTask(columns, mid, to).compute();
+            Summary result = left.join();
+            result.merge(right);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+// Report Row class for table display. Numbers are kept as primitives and formatted only when a
+// cell or an export needs the text, so rows stay small and the numeric columns sort by value.
+class ReportRow {
+    private final String category;
+    private final boolean gpaRow;
+    private final long count;
+    private final double gpa;
+    // NaN when the row has no percentage
+    private final double percentage;
+
+    private ReportRow(String category, boolean gpaRow, long count, double gpa, double percentage) {
+        this.category = category;
+        this.gpaRow = gpaRow;
+        this.count = count;
+        this.gpa = gpa;
+        this.percentage = percentage;
+    }
+
+    public static ReportRow count(String category, long count, double percentage) {
+        return new ReportRow(category, false, count, 0, percentage);
+    }
+
+    public static ReportRow count(String category, long count) {
+        return count(category, count, Double.NaN);
+    }
+
+    public static ReportRow gpa(String category, double gpa) {
+        return new ReportRow(category, true, 0, gpa, Double.NaN);
+    }
+
+    public String getCategory() { return category; }
+    public boolean isGpaRow() { return gpaRow; }
+    public long getCount() { return count; }
+    public double getGpa() { return gpa; }
+    public double getPercentage() { return percentage; }
+
+    // Number shown in the Value column
+    public double getSortValue() { return gpaRow ? gpa : count; }
+
+    public String formatValue() {
+        return gpaRow ? String.format("%.2f", gpa) : Long.toString(count);
+    }
+
+    public String formatPercentage() {
+        return Double.isNaN(percentage) ? "" : String.format("%.1f%%", percentage);
+    }
+}
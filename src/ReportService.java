@@ -0,0 +1,392 @@
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+// The report generators behind the Reports tab, without any UI. They read a Source: a live
+// StudentStore, whose group sizes come from its bitmap and date indexes, a published
+// RosterSnapshot, or any read-only StudentRecords (such as the memory-mapped roster). GPA
+// figures come from one ReportEngine summary, taken from the summary source when one is set
+// (e.g. the repository's SQL aggregation) and otherwise from the Source. Over a store, runs on
+// its owner thread, or on several threads at once while nothing modifies the store.
+class ReportService {
+
+    static final String PROGRAMME_LIST = "📋 Student List by Programme";
+    static final String LEVEL_LIST = "📋 Student List by Level";
+    static final String GPA_DISTRIBUTION = "📊 GPA Distribution";
+    static final String STATUS = "✅ Active/Inactive Students";
+    static final String DATE_RANGE = "📅 Students Added This Month";
+    static final String PROGRAMME_STATISTICS = "📈 Programme-wise Statistics";
+    static final String LEVEL_STATISTICS = "📊 Level-wise Statistics";
+    static final String GPA_RANGE = "📉 GPA Range Analysis";
+
+    // Every report type, in display order
+    static final List<String> TYPES = List.of(PROGRAMME_LIST, LEVEL_LIST, GPA_DISTRIBUTION, STATUS,
+            DATE_RANGE, PROGRAMME_STATISTICS, LEVEL_STATISTICS, GPA_RANGE);
+
+    // Short names of the types, in the same order, for command lines, file names and URLs
+    static final List<String> KEYS = List.of("programme", "level", "gpa-distribution", "status",
+            "date-range", "programme-statistics", "level-statistics", "gpa-range");
+
+    // What the generators read: group sizes, students per day and the GPA summary
+    interface Source {
+        long size();
+        // Non-empty groups and their sizes, in dictionary (first seen) order
+        Map<String, Long> programmeCounts();
+        Map<String, Long> levelCounts();
+        long programmeCount(String programme);
+        long levelCount(String level);
+        long statusCount(String status);
+        // Students added on each day (epoch day) of the range that has any, in date order
+        Map<Long, Integer> countByDay(long fromDay, long toDay);
+        ReportEngine.Summary summarize();
+    }
+
+    private final Source source;
+    private Supplier<ReportEngine.Summary> summarySource = () -> null;
+
+    ReportService(StudentStore store) {
+        this(new StoreSource(store));
+    }
+
+    ReportService(Source source) {
+        this.source = source;
+    }
+
+    // Where GPA summaries come from first; a null summary falls back to the column scan
+    void setSummarySource(Supplier<ReportEngine.Summary> summarySource) {
+        this.summarySource = summarySource;
+    }
+
+    // True for the report types built from the GPA summary rather than group sizes or dates
+    static boolean usesSummary(String type) {
+        return GPA_DISTRIBUTION.equals(type) || PROGRAMME_STATISTICS.equals(type) || GPA_RANGE.equals(type);
+    }
+
+    // The report type with the given short name, or null
+    static String typeOf(String key) {
+        int i = KEYS.indexOf(key);
+        return i < 0 ? null : TYPES.get(i);
+    }
+
+    static String keyOf(String type) {
+        return KEYS.get(TYPES.indexOf(type));
+    }
+
+    // The filter values a report type reads, with their defaults: a programme, level or status
+    // ("All"), the start and end dates of a date range (the last month), or none
+    static List<Object> defaultFilters(String type) {
+        switch (type) {
+            case PROGRAMME_LIST:
+            case LEVEL_LIST:
+            case STATUS:
+                return Collections.singletonList("All");
+
+            case DATE_RANGE:
+                return Arrays.asList(LocalDate.now().minusMonths(1), LocalDate.now());
+
+            default:
+                return Collections.emptyList();
+        }
+    }
+
+    // Rows of the report; filters are in the order defaultFilters() gives them
+    List<ReportRow> generate(String type, List<?> filters) {
+        switch (type) {
+            case PROGRAMME_LIST:
+                return programmeReport((String) filters.get(0));
+
+            case LEVEL_LIST:
+                return levelReport((String) filters.get(0));
+
+            case GPA_DISTRIBUTION:
+                return gpaDistribution();
+
+            case STATUS:
+                return statusReport((String) filters.get(0));
+
+            case DATE_RANGE:
+                return dateRangeReport((LocalDate) filters.get(0), (LocalDate) filters.get(1));
+
+            case PROGRAMME_STATISTICS:
+                return programmeStatistics();
+
+            case LEVEL_STATISTICS:
+                return levelStatistics();
+
+            case GPA_RANGE:
+                return gpaRangeAnalysis();
+
+            default:
+                throw new IllegalArgumentException("Unknown report type: " + type);
+        }
+    }
+
+    // The summary every GPA report reads: the summary source's if it has one, otherwise one fused
+    // pass over the Source's GPA/programme/level/status columns
+    ReportEngine.Summary summarize() {
+        ReportEngine.Summary summary = summarySource.get();
+        return summary != null ? summary : source.summarize();
+    }
+
+    private List<ReportRow> programmeReport(String programme) {
+        List<ReportRow> data = new ArrayList<>();
+        // Group sizes are bitmap cardinalities (or precomputed); no pass over the students is needed
+        Map<String, Long> counts = new HashMap<>();
+        if ("All".equals(programme)) {
+            counts.putAll(source.programmeCounts());
+        } else {
+            counts.put(programme, source.programmeCount(programme));
+        }
+
+        long total = counts.values().stream().mapToLong(Long::longValue).sum();
+
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .forEach(entry -> {
+                    String prog = entry.getKey();
+                    long count = entry.getValue();
+                    double percentage = total > 0 ? (count * 100.0 / total) : 0;
+                    data.add(ReportRow.count(prog, count, percentage));
+                });
+
+        if (total > 0) {
+            data.add(ReportRow.count("TOTAL", total, 100));
+        }
+
+        return data;
+    }
+
+    private List<ReportRow> levelReport(String level) {
+        List<ReportRow> data = new ArrayList<>();
+        Map<String, Long> counts = new TreeMap<>(StudentAggregates.LEVEL_ORDER);
+        if ("All".equals(level)) {
+            counts.putAll(source.levelCounts());
+        } else {
+            counts.put(level, source.levelCount(level));
+        }
+
+        long total = counts.values().stream().mapToLong(Long::longValue).sum();
+
+        counts.forEach((lvl, count) -> {
+            double percentage = total > 0 ? (count * 100.0 / total) : 0;
+            data.add(ReportRow.count("Level " + lvl, count, percentage));
+        });
+
+        if (total > 0) {
+            data.add(ReportRow.count("TOTAL", total, 100));
+        }
+
+        return data;
+    }
+
+    private List<ReportRow> gpaDistribution() {
+        List<ReportRow> data = new ArrayList<>();
+        ReportEngine.Summary summary = summarize();
+
+        String[] labels = {"Excellent (3.5 - 4.0)", "Good (3.0 - 3.49)", "Average (2.5 - 2.99)",
+                "Fair (2.0 - 2.49)", "Poor (Below 2.0)"};
+        long total = summary.total;
+
+        if (total > 0) {
+            for (int b = 0; b < labels.length; b++) {
+                long count = summary.distribution[b];
+                data.add(ReportRow.count(labels[b], count, count * 100.0 / total));
+            }
+            data.add(ReportRow.count("TOTAL", total, 100));
+        }
+
+        return data;
+    }
+
+    private List<ReportRow> statusReport(String status) {
+        List<ReportRow> data = new ArrayList<>();
+        long total = source.size();
+
+        if ("All".equals(status)) {
+            long active = source.statusCount("Active");
+            long inactive = source.statusCount("Inactive");
+
+            data.add(ReportRow.count("Active Students", active, total > 0 ? active * 100.0 / total : 0));
+            data.add(ReportRow.count("Inactive Students", inactive, total > 0 ? inactive * 100.0 / total : 0));
+        } else {
+            long count = source.statusCount(status);
+            data.add(ReportRow.count(status + " Students", count, total > 0 ? count * 100.0 / total : 0));
+        }
+
+        if (total > 0) {
+            data.add(ReportRow.count("TOTAL", total, 100));
+        }
+
+        return data;
+    }
+
+    private List<ReportRow> dateRangeReport(LocalDate start, LocalDate end) {
+        List<ReportRow> data = new ArrayList<>();
+
+        if (start == null) start = LocalDate.now().minusMonths(1);
+        if (end == null) end = LocalDate.now();
+
+        // Range scan over the date index; dates were parsed once when the students were stored
+        Map<Long, Integer> dailyCounts = source.countByDay(start.toEpochDay(), end.toEpochDay());
+
+        long total = dailyCounts.values().stream().mapToLong(Integer::longValue).sum();
+
+        dailyCounts.forEach((day, count) ->
+                data.add(ReportRow.count(LocalDate.ofEpochDay(day).toString(), count,
+                        total > 0 ? count * 100.0 / total : 0)));
+
+        if (total > 0) {
+            data.add(ReportRow.count("TOTAL (" + start + " to " + end + ")", total, 100));
+        }
+
+        return data;
+    }
+
+    private List<ReportRow> programmeStatistics() {
+        List<ReportRow> data = new ArrayList<>();
+        ReportEngine.Summary summary = summarize();
+
+        Map<String, Integer> programmes = new TreeMap<>();
+        for (int p = 0; p < summary.programmeNames.size(); p++) {
+            if (summary.programmeCount[p] > 0) {
+                programmes.put(summary.programmeNames.get(p), p);
+            }
+        }
+
+        programmes.forEach((programme, p) -> {
+            long count = summary.programmeCount[p];
+            data.add(ReportRow.count(programme + " - Count", count));
+            data.add(ReportRow.gpa(programme + " - Avg GPA", summary.programmeGpaSum[p] / count));
+            data.add(ReportRow.gpa(programme + " - Max GPA", summary.programmeGpaMax[p]));
+            data.add(ReportRow.gpa(programme + " - Min GPA", summary.programmeGpaMin[p]));
+        });
+
+        return data;
+    }
+
+    private List<ReportRow> levelStatistics() {
+        List<ReportRow> data = new ArrayList<>();
+
+        Map<String, Long> counts = new TreeMap<>(StudentAggregates.LEVEL_ORDER);
+        counts.putAll(source.levelCounts());
+
+        long total = source.size();
+
+        counts.forEach((level, count) -> {
+            double percentage = total > 0 ? (count * 100.0 / total) : 0;
+            data.add(ReportRow.count("Level " + level, count, percentage));
+        });
+
+        return data;
+    }
+
+    private List<ReportRow> gpaRangeAnalysis() {
+        List<ReportRow> data = new ArrayList<>();
+        ReportEngine.Summary summary = summarize();
+
+        double[] ranges = {4.0, 3.5, 3.0, 2.5, 2.0, 1.5, 1.0, 0.5, 0.0};
+        long total = summary.total;
+
+        for (int i = 0; i < ranges.length - 1; i++) {
+            double high = ranges[i];
+            double low = ranges[i + 1];
+            long count = summary.ranges[i];
+
+            String range = String.format("%.1f - %.1f", low, high);
+            data.add(ReportRow.count(range, count, total > 0 ? count * 100.0 / total : Double.NaN));
+        }
+
+        return data;
+    }
+
+    // A live store, through its indexes
+    private static final class StoreSource implements Source {
+        private final StudentStore store;
+
+        StoreSource(StudentStore store) {
+            this.store = store;
+        }
+
+        @Override public long size() { return store.size(); }
+        @Override public Map<String, Long> programmeCounts() { return store.getBitmapIndex().programmeCounts(); }
+        @Override public Map<String, Long> levelCounts() { return store.getBitmapIndex().levelCounts(); }
+        @Override public long programmeCount(String programme) { return store.getBitmapIndex().programmeCount(programme); }
+        @Override public long levelCount(String level) { return store.getBitmapIndex().levelCount(level); }
+        @Override public long statusCount(String status) { return store.getBitmapIndex().statusCount(status); }
+
+        @Override
+        public Map<Long, Integer> countByDay(long fromDay, long toDay) {
+            return store.getDateIndex().countByDay(fromDay, toDay);
+        }
+
+        @Override
+        public ReportEngine.Summary summarize() {
+            return ReportEngine.summarize(ReportEngine.Columns.of(store.getTable()));
+        }
+    }
+
+    // A read-only roster, summarised once when constructed: the GPA summary is aggregated a chunk
+    // at a time and the students per day counted in one pass over the date column. Both scan the
+    // whole roster, so construct it off the FX thread; reports from it are then cheap.
+    static final class RecordsSource implements Source {
+        private static final long SECONDS_PER_DAY = 86_400L;
+
+        private final int size;
+        private final ReportEngine.Summary summary;
+        private final NavigableMap<Long, Integer> studentsByDay = new TreeMap<>();
+
+        RecordsSource(StudentRecords records) {
+            size = records.size();
+            summary = ReportEngine.summarize(records, size);
+            for (int i = 0; i < size; i++) {
+                long epoch = records.dateAddedEpoch(i);
+                if (epoch != StudentTable.NO_DATE) {
+                    studentsByDay.merge(Math.floorDiv(epoch, SECONDS_PER_DAY), 1, Integer::sum);
+                }
+            }
+        }
+
+        @Override public long size() { return size; }
+
+        @Override
+        public Map<String, Long> programmeCounts() {
+            return counts(summary.programmeNames, summary.programmeCount);
+        }
+
+        @Override
+        public Map<String, Long> levelCounts() {
+            return counts(summary.levelNames, summary.levelCount);
+        }
+
+        @Override public long programmeCount(String programme) { return summary.programmeCount(programme); }
+        @Override public long levelCount(String level) { return summary.levelCount(level); }
+        @Override public long statusCount(String status) { return summary.statusCount(status); }
+
+        @Override
+        public Map<Long, Integer> countByDay(long fromDay, long toDay) {
+            if (fromDay > toDay) return new TreeMap<>();
+            return new TreeMap<>(studentsByDay.subMap(fromDay, true, toDay, true));
+        }
+
+        @Override
+        public ReportEngine.Summary summarize() {
+            return summary;
+        }
+
+        private static Map<String, Long> counts(List<String> names, long[] counts) {
+            Map<String, Long> result = new LinkedHashMap<>();
+            for (int code = 0; code < counts.length; code++) {
+                if (counts[code] > 0) result.put(names.get(code), counts[code]);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+
+// Point-in-time copy of the roster for readers on other threads, such as the HTTP API. Built off
+// the owner thread from a StudentSnapshot, with what those readers need precomputed: an ID
+// index, the report summary and the number of students added per day. None of that changes
+// after construction, so any number of threads can read it without locking; the roster's next
+// state is a new RosterSnapshot rather than an update to this one. The one mutable part is a
+// bounded least-recently-used cache of search results, which has its own lock.
+final class RosterSnapshot implements ReportService.Source {
+
+    private static final long SECONDS_PER_DAY = 86_400L;
+    private static final int SEARCH_CACHE_SIZE = 256;
+
+    private final StudentSnapshot records;
+    private final Map<String, Integer> positionById;
+    private final ReportEngine.Summary summary;
+    private final NavigableMap<Long, Integer> studentsByDay = new TreeMap<>();
+    private final ReportService reports = new ReportService(this);
+    // Recent search results by criteria, least recently used first; guarded by itself. A snapshot
+    // never changes, so results never go stale and only leave by eviction. The first request for
+    // some criteria runs the scan (outside the lock) and any concurrent ones wait for its result.
+    private final Map<String, CompletableFuture<int[]>> searches =
+            new LinkedHashMap<String, CompletableFuture<int[]>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CompletableFuture<int[]>> eldest) {
+                    return size() > SEARCH_CACHE_SIZE;
+                }
+            };
+
+    RosterSnapshot(StudentSnapshot records) {
+        this.records = records;
+        int size = records.size;
+        positionById = new HashMap<>(Math.max(16, (int) (size / 0.75f) + 1));
+        for (int i = 0; i < size; i++) {
+            positionById.put(key(records.studentId[i]), i);
+            long epoch = records.dateAdded[i];
+            if (epoch != StudentTable.NO_DATE) {
+                studentsByDay.merge(Math.floorDiv(epoch, SECONDS_PER_DAY), 1, Integer::sum);
+            }
+        }
+        summary = ReportEngine.summarize(new ReportEngine.Columns(size, records.gpa, records.programme,
+                records.level, records.status, records.programmeNames, records.levelNames, records.statusNames));
+    }
+
+    long getVersion() { return records.version; }
+    StudentSnapshot getRecords() { return records; }
+
+    // Position of the student with this ID (matched case-insensitively, as the store does), or -1
+    int find(String studentId) {
+        Integer position = positionById.get(key(studentId));
+        return position == null ? -1 : position;
+    }
+
+    // Positions of the students the Students tab would list for these criteria, in roster order.
+    // The array is shared between callers and must not be modified.
+    int[] search(StudentSearch.Criteria criteria) {
+        String key = criteria.searchTerm + '\0' + criteria.programme + '\0' + criteria.level + '\0' + criteria.status;
+        CompletableFuture<int[]> result;
+        CompletableFuture<int[]> scan = null;
+        synchronized (searches) {
+            result = searches.get(key);
+            if (result == null) {
+                result = scan = new CompletableFuture<>();
+                searches.put(key, scan);
+            }
+        }
+        if (scan != null) {
+            try {
+                scan.complete(StudentSearch.scan(records, criteria).toArray());
+            } catch (RuntimeException | Error e) {
+                synchronized (searches) {
+                    searches.remove(key, scan);
+                }
+                scan.completeExceptionally(e);
+            }
+        }
+        return result.join();
+    }
+
+    List<ReportRow> report(String type, List<?> filters) {
+        return reports.generate(type, filters);
+    }
+
+    private static String key(String studentId) {
+        return studentId.toLowerCase(Locale.ROOT);
+    }
+
+    // ==================== REPORT SOURCE ====================
+
+    @Override public long size() { return records.size; }
+
+    @Override
+    public Map<String, Long> programmeCounts() {
+        return counts(summary.programmeNames, summary.programmeCount);
+    }
+
+    @Override
+    public Map<String, Long> levelCounts() {
+        return counts(summary.levelNames, summary.levelCount);
+    }
+
+    @Override
+    public long programmeCount(String programme) {
+        return count(summary.programmeNames, summary.programmeCount, programme);
+    }
+
+    @Override
+    public long levelCount(String level) {
+        return count(summary.levelNames, summary.levelCount, level);
+    }
+
+    @Override
+    public long statusCount(String status) {
+        return count(summary.statusNames, summary.statusCount, status);
+    }
+
+    @Override
+    public Map<Long, Integer> countByDay(long fromDay, long toDay) {
+        if (fromDay > toDay) return new TreeMap<>();
+        return new TreeMap<>(studentsByDay.subMap(fromDay, true, toDay, true));
+    }
+
+    @Override
+    public ReportEngine.Summary summarize() {
+        return summary;
+    }
+
+    private static Map<String, Long> counts(List<String> names, long[] counts) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int code = 0; code < counts.length; code++) {
+            if (counts[code] > 0) result.put(names.get(code), counts[code]);
+        }
+        return result;
+    }
+
+    private static long count(List<String> names, long[] counts, String name) {
+        int code = names.indexOf(name);
+        return code < 0 ? 0 : counts[code];
+    }
+}
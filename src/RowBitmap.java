@@ -0,0 +1,371 @@
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+// Compressed set of table rows, in the style of a Roaring bitmap: rows are grouped by their
+// high 16 bits, and each group is stored as a sorted short array while sparse (up to 4096
+// rows) or as a 65536-bit bitmap once dense. Adds, removes and lookups are cheap at any size,
+// and AND / OR / cardinality work a group at a time instead of a row at a time.
+class RowBitmap {
+
+    private static final int ARRAY_LIMIT = 4096;
+    private static final int BITMAP_WORDS = 1 << 10; // 65536 bits
+
+    private char[] keys = new char[0];
+    private Container[] containers = new Container[0];
+    private int size; // number of groups in use
+
+    public void add(int row) {
+        char key = (char) (row >>> 16);
+        int i = indexOf(key);
+        if (i < 0) {
+            i = -i - 1;
+            insertGroup(i, key, new ArrayContainer());
+        }
+        containers[i] = containers[i].add((char) row);
+    }
+
+    public void remove(int row) {
+        int i = indexOf((char) (row >>> 16));
+        if (i < 0) return;
+        Container container = containers[i].remove((char) row);
+        if (container.cardinality() == 0) {
+            removeGroup(i);
+        } else {
+            containers[i] = container;
+        }
+    }
+
+    public boolean contains(int row) {
+        int i = indexOf((char) (row >>> 16));
+        return i >= 0 && containers[i].contains((char) row);
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long cardinality() {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total += containers[i].cardinality();
+        }
+        return total;
+    }
+
+    // Calls the action for every row in ascending order
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            containers[i].forEach(keys[i] << 16, action);
+        }
+    }
+
+    public int[] toArray() {
+        int[] rows = new int[(int) cardinality()];
+        int[] n = {0};
+        forEach(row -> rows[n[0]++] = row);
+        return rows;
+    }
+
+    public RowBitmap copy() {
+        RowBitmap copy = new RowBitmap();
+        copy.keys = Arrays.copyOf(keys, size);
+        copy.containers = new Container[size];
+        for (int i = 0; i < size; i++) {
+            copy.containers[i] = containers[i].copy();
+        }
+        copy.size = size;
+        return copy;
+    }
+
+    public static RowBitmap and(RowBitmap a, RowBitmap b) {
+        RowBitmap result = new RowBitmap();
+        int i = 0, j = 0;
+        while (i < a.size && j < b.size) {
+            if (a.keys[i] < b.keys[j]) {
+                i++;
+            } else if (a.keys[i] > b.keys[j]) {
+                j++;
+            } else {
+                Container c = a.containers[i].and(b.containers[j]);
+                if (c.cardinality() > 0) {
+                    result.appendGroup(a.keys[i], c);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    public static RowBitmap or(RowBitmap a, RowBitmap b) {
+        RowBitmap result = new RowBitmap();
+        int i = 0, j = 0;
+        while (i < a.size || j < b.size) {
+            if (j >= b.size || (i < a.size && a.keys[i] < b.keys[j])) {
+                result.appendGroup(a.keys[i], a.containers[i].copy());
+                i++;
+            } else if (i >= a.size || a.keys[i] > b.keys[j]) {
+                result.appendGroup(b.keys[j], b.containers[j].copy());
+                j++;
+            } else {
+                result.appendGroup(a.keys[i], a.containers[i].or(b.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    // ==================== GROUP MANAGEMENT ====================
+
+    private int indexOf(char key) {
+        int low = 0, high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] < key) low = mid + 1;
+            else if (keys[mid] > key) high = mid - 1;
+            else return mid;
+        }
+        return -(low + 1);
+    }
+
+    private void insertGroup(int at, char key, Container container) {
+        if (size == keys.length) {
+            int capacity = Math.max(4, size * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+        }
+        System.arraycopy(keys, at, keys, at + 1, size - at);
+        System.arraycopy(containers, at, containers, at + 1, size - at);
+        keys[at] = key;
+        containers[at] = container;
+        size++;
+    }
+
+    private void appendGroup(char key, Container container) {
+        insertGroup(size, key, container);
+    }
+
+    private void removeGroup(int at) {
+        System.arraycopy(keys, at + 1, keys, at, size - at - 1);
+        System.arraycopy(containers, at + 1, containers, at, size - at - 1);
+        containers[--size] = null;
+    }
+
+    // ==================== CONTAINERS ====================
+
+    // Holds the low 16 bits of the rows in one group. Mutators return the container to keep
+    // using, which lets a group switch between the array and bitmap representations.
+    private abstract static class Container {
+        abstract Container add(char low);
+        abstract Container remove(char low);
+        abstract boolean contains(char low);
+        abstract int cardinality();
+        abstract void forEach(int high, IntConsumer action);
+        abstract Container copy();
+
+        Container and(Container other) {
+            if (this instanceof BitmapContainer && other instanceof BitmapContainer) {
+                return ((BitmapContainer) this).andBitmap((BitmapContainer) other);
+            }
+            // At least one side is a small array: probe its values against the other side
+            ArrayContainer small = this instanceof ArrayContainer ? (ArrayContainer) this : (ArrayContainer) other;
+            Container large = small == this ? other : this;
+            ArrayContainer result = new ArrayContainer();
+            for (int i = 0; i < small.cardinality; i++) {
+                if (large.contains(small.values[i])) {
+                    result.append(small.values[i]);
+                }
+            }
+            return result;
+        }
+
+        Container or(Container other) {
+            if (this instanceof BitmapContainer) {
+                return ((BitmapContainer) this.copy()).orInPlace(other);
+            }
+            if (other instanceof BitmapContainer) {
+                return ((BitmapContainer) other.copy()).orInPlace(this);
+            }
+            Container result = this.copy();
+            ArrayContainer values = (ArrayContainer) other;
+            for (int i = 0; i < values.cardinality; i++) {
+                result = result.add(values.values[i]);
+            }
+            return result;
+        }
+    }
+
+    private static final class ArrayContainer extends Container {
+        char[] values = new char[4];
+        int cardinality;
+
+        @Override
+        Container add(char low) {
+            int i = search(low);
+            if (i >= 0) return this;
+            if (cardinality == ARRAY_LIMIT) {
+                return toBitmap().add(low);
+            }
+            i = -i - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_LIMIT, cardinality * 2));
+            }
+            System.arraycopy(values, i, values, i + 1, cardinality - i);
+            values[i] = low;
+            cardinality++;
+            return this;
+        }
+
+        // Caller guarantees ascending order
+        void append(char low) {
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, cardinality * 2);
+            }
+            values[cardinality++] = low;
+        }
+
+        @Override
+        Container remove(char low) {
+            int i = search(low);
+            if (i >= 0) {
+                System.arraycopy(values, i + 1, values, i, cardinality - i - 1);
+                cardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        boolean contains(char low) {
+            return search(low) >= 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        void forEach(int high, IntConsumer action) {
+            for (int i = 0; i < cardinality; i++) {
+                action.accept(high | values[i]);
+            }
+        }
+
+        @Override
+        Container copy() {
+            ArrayContainer copy = new ArrayContainer();
+            copy.values = Arrays.copyOf(values, Math.max(4, cardinality));
+            copy.cardinality = cardinality;
+            return copy;
+        }
+
+        private BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < cardinality; i++) {
+                bitmap.add(values[i]);
+            }
+            return bitmap;
+        }
+
+        private int search(char low) {
+            return Arrays.binarySearch(values, 0, cardinality, low);
+        }
+    }
+
+    private static final class BitmapContainer extends Container {
+        final long[] words = new long[BITMAP_WORDS];
+        int cardinality;
+
+        @Override
+        Container add(char low) {
+            long bit = 1L << low;
+            int w = low >>> 6;
+            if ((words[w] & bit) == 0) {
+                words[w] |= bit;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        Container remove(char low) {
+            long bit = 1L << low;
+            int w = low >>> 6;
+            if ((words[w] & bit) != 0) {
+                words[w] &= ~bit;
+                cardinality--;
+                if (cardinality <= ARRAY_LIMIT / 2) {
+                    return toArray();
+                }
+            }
+            return this;
+        }
+
+        @Override
+        boolean contains(char low) {
+            return (words[low >>> 6] & (1L << low)) != 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        void forEach(int high, IntConsumer action) {
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                long word = words[w];
+                while (word != 0) {
+                    action.accept(high | (w << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        @Override
+        Container copy() {
+            BitmapContainer copy = new BitmapContainer();
+            System.arraycopy(words, 0, copy.words, 0, BITMAP_WORDS);
+            copy.cardinality = cardinality;
+            return copy;
+        }
+
+        Container andBitmap(BitmapContainer other) {
+            BitmapContainer result = new BitmapContainer();
+            int count = 0;
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                long word = words[w] & other.words[w];
+                result.words[w] = word;
+                count += Long.bitCount(word);
+            }
+            result.cardinality = count;
+            return count <= ARRAY_LIMIT ? result.toArray() : result;
+        }
+
+        BitmapContainer orInPlace(Container other) {
+            if (other instanceof BitmapContainer) {
+                long[] otherWords = ((BitmapContainer) other).words;
+                int count = 0;
+                for (int w = 0; w < BITMAP_WORDS; w++) {
+                    words[w] |= otherWords[w];
+                    count += Long.bitCount(words[w]);
+                }
+                cardinality = count;
+            } else {
+                ArrayContainer values = (ArrayContainer) other;
+                for (int i = 0; i < values.cardinality; i++) {
+                    add(values.values[i]);
+                }
+            }
+            return this;
+        }
+
+        private ArrayContainer toArray() {
+            ArrayContainer array = new ArrayContainer();
+            array.values = new char[Math.max(4, cardinality)];
+            forEach(0, row -> array.values[array.cardinality++] = (char) row);
+            return array;
+        }
+    }
+}
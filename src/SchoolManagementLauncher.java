@@ -0,0 +1,15 @@
+import javafx.application.Application;
+
+// Entry point. With --batch it runs BatchMode and exits without ever starting the JavaFX toolkit
+// (so it also works on a server with no display); otherwise it launches the desktop application.
+// This has to be a separate class: the java launcher starts the toolkit before calling main() of
+// a class that extends Application.
+public class SchoolManagementLauncher {
+
+    public static void main(String[] args) {
+        if (BatchMode.isRequested(args)) {
+            System.exit(BatchMode.run(args));
+        }
+        Application.launch(SchoolManagementSystem.class, args);
+    }
+}
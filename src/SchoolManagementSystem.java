@@ -1,10 +1,12 @@
 import javafx.application.Application;
 import javafx.application.Platform;
-import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.property.ReadOnlyStringWrapper;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.FilteredList;
 import javafx.collections.transformation.SortedList;
+import javafx.css.PseudoClass;
 import javafx.geometry.Insets;
 import javafx.geometry.Orientation;
 import javafx.geometry.Pos;
@@ -18,22 +20,62 @@ import javafx.stage.Stage;
 import javafx.animation.*;
 import javafx.util.Duration;
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.prefs.Preferences;
 import java.util.stream.Collectors;
 
 public class SchoolManagementSystem extends Application {
 
-    // Data structures
-    private ObservableList<Student> studentData = FXCollections.observableArrayList();
+    // Data structures: the headless engine, owned by the FX thread
+    private final StudentEngine engine = new StudentEngine(Platform::runLater);
+    private final StudentStore studentStore = engine.getStore();
+    private final ObservableList<Student> studentData = studentStore.getStudents();
     private FilteredList<Student> filteredData;
 
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    // Persistence
+    private static final File DATA_DIR = new File(System.getProperty("user.home"), ".school-management-system");
+    private final Preferences preferences = Preferences.userNodeForPackage(SchoolManagementSystem.class);
+    private StudentRepository repository;
+    // Optional disk-backed roster, opened on demand by the Large Roster action. While it is shown,
+    // the Students list and the Reports tab read it through StudentRecords instead of the store,
+    // and imports append to it.
+    private MappedStudentStore largeRoster;
+    private boolean showingLargeRoster;
+    private RecordList largeRosterList;
+    // Reports over the large roster, summarised off the FX thread; null until first needed and
+    // rebuilt whenever the roster has grown since
+    private ReportService largeRosterReports;
+    private int largeRosterReportsSize;
+    // Synthetic test data: the row the next load starts at, or -1 before the first load. Each load
+    // generates with its own SyntheticRoster seeked here, so overlapping loads share no state.
+    private static final long SYNTHETIC_SEED = 20240101L;
+    private long nextSyntheticRow = -1;
+    // Optional read-only HTTP API over the roster, enabled in Settings
+    private static final String DEFAULT_API_ADDRESS = "127.0.0.1:8085";
+    private StudentApiServer apiServer;
+
     // Dashboard components
     private Label totalStudentsLabel, activeStudentsLabel, inactiveStudentsLabel, avgGPALabel;
     private PieChart programmeChart;
     private BarChart<String, Number> levelChart;
+    private final XYChart.Series<String, Number> levelSeries = new XYChart.Series<>();
+    private final Map<String, PieChart.Data> programmeSlices = new HashMap<>();
+    private long lastChartUpdate;
+
+    // Views repainted at most once per pulse after the data changes
+    private final RefreshScheduler refreshScheduler = new RefreshScheduler();
+    private final RefreshScheduler.View dashboardView = refreshScheduler.register(this::updateDashboard);
+    private final RefreshScheduler.View chartsView = refreshScheduler.register(this::updateCharts);
+    private final RefreshScheduler.View statsView = refreshScheduler.register(this::updateStatsLabel);
+    private final RefreshScheduler.View studentListRefresh = refreshScheduler.register(this::updateStudentListView);
 
     // Students screen components - REPLACED TABLE WITH BUTTON AND LISTVIEW
     private Button viewStudentsBtn;
@@ -48,13 +90,21 @@ public class SchoolManagementSystem extends Application {
     private Student currentlyEditingStudent = null;
 
     // Search and filter components
+    private final StudentSearch studentSearch = engine.getSearch();
+    private PauseTransition searchDebounce;
     private TextField searchField;
     private Button clearSearchBtn;
     private ComboBox<String> programmeFilter, levelFilter, statusFilter;
 
     // Reports screen components
+    private final ReportService reportService = engine.getReports();
     private ComboBox<String> reportTypeCombo;
     private TableView<ReportRow> reportTable;
+    private final ReportCache reportCache = new ReportCache(32);
+    // The repository's GPA summary and the store version it was computed at. The query runs in a
+    // background task; reports only use the summary while the store is still at that version.
+    private ReportEngine.Summary repositorySummary;
+    private long repositorySummaryVersion = -1;
     private VBox reportFiltersContainer;
     private DatePicker startDatePicker, endDatePicker;
     private ComboBox<String> reportProgrammeFilter, reportLevelFilter, reportStatusFilter;
@@ -71,16 +121,16 @@ public class SchoolManagementSystem extends Application {
     public void start(Stage primaryStage) {
         primaryStage.setTitle("School Management System");
 
-        // Load sample data
-        loadSampleData();
+        reportService.setSummarySource(this::summarizeStudents);
+
+        // Restore saved students; the very first run starts from the sample data
+        long loadStart = System.nanoTime();
+        openRepository();
 
-        // Debug: Print loaded data to console
+        // Debug: summarise loaded data (listing every student doesn't scale to large rosters)
         System.out.println("=== STUDENT DATA LOADED ===");
-        System.out.println("Total students: " + studentData.size());
-        for (int i = 0; i < studentData.size(); i++) {
-            Student s = studentData.get(i);
-            System.out.println((i+1) + ". " + s.toString());
-        }
+        System.out.printf("Total students: %d (%.0f ms)%n", studentData.size(),
+                (System.nanoTime() - loadStart) / 1e6);
         System.out.println("===========================");
 
         // Create main layout
@@ -111,10 +161,74 @@ public class SchoolManagementSystem extends Application {
         primaryStage.setScene(scene);
         primaryStage.show();
 
+        // Every store change (edits, deletes, streamed import batches) repaints the summaries once per pulse
+        studentData.addListener((javafx.collections.ListChangeListener<Student>) change -> refreshViews());
+
         updateDashboard();
         updateCharts();
         updateStatsLabel();
         updateStatus("Application started successfully");
+        startApiServer();
+    }
+
+    @Override
+    public void stop() {
+        if (apiServer != null) {
+            apiServer.close();
+        }
+        if (repository != null) {
+            repository.close(preferences.getBoolean("autoSaveOnExit", true));
+        }
+        if (largeRoster != null) {
+            try {
+                largeRoster.close();
+            } catch (IOException e) {
+                System.err.println("Could not close the large roster: " + e.getMessage());
+            }
+        }
+    }
+
+    // The change journal by default, or an embedded SQL database when enabled in Settings
+    private void openRepository() {
+        Consumer<Exception> onError = e -> {
+            showAlert(Alert.AlertType.ERROR, "Save Error",
+                    "Changes can no longer be saved: " + e.getMessage());
+            updateStatus("Saving failed: " + e.getMessage());
+        };
+        repository = preferences.getBoolean("useSqlDatabase", false)
+                ? new JdbcStudentRepository(preferences.get("jdbcUrl", defaultJdbcUrl()), onError)
+                : new StudentJournal(DATA_DIR, onError);
+        try {
+            if (!repository.restore(studentStore)) {
+                loadSampleData();
+            }
+        } catch (IOException e) {
+            // Run in memory only rather than risk overwriting data that couldn't be read
+            System.err.println("Could not restore saved students: " + e.getMessage());
+            repository = null;
+            studentStore.removeAll(new ArrayList<>(studentData));
+            loadSampleData();
+        }
+    }
+
+    // Serves the HTTP query API when enabled in Settings
+    private void startApiServer() {
+        if (!preferences.getBoolean("httpApiEnabled", false)) return;
+        String address = preferences.get("httpApiAddress", DEFAULT_API_ADDRESS);
+        StudentApiServer server = new StudentApiServer(studentStore);
+        try {
+            server.start(StudentApiServer.parseAddress(address));
+            apiServer = server;
+            updateStatus("HTTP API listening on http://" + address + "/api/students");
+        } catch (IOException | IllegalArgumentException e) {
+            server.close();
+            showAlert(Alert.AlertType.WARNING, "HTTP API",
+                    "Could not serve the HTTP API on " + address + ": " + e.getMessage());
+        }
+    }
+
+    private static String defaultJdbcUrl() {
+        return "jdbc:h2:file:" + new File(DATA_DIR, "students").getAbsolutePath();
     }
 
     // ==================== TOP TOOLBAR ====================
@@ -136,11 +250,6 @@ public class SchoolManagementSystem extends Application {
         statsLabel.setStyle("-fx-text-fill: white; -fx-font-weight: bold;");
         updateStatsLabel();
 
-        // Add listener to update stats when data changes
-        studentData.addListener((javafx.collections.ListChangeListener<Student>) change -> {
-            updateStatsLabel();
-        });
-
         // Spacer to push items to the right
         Region spacer = new Region();
         HBox.setHgrow(spacer, Priority.ALWAYS);
@@ -150,12 +259,8 @@ public class SchoolManagementSystem extends Application {
         refreshAllBtn.setStyle("-fx-background-color: #27ae60; -fx-text-fill: white; " +
                 "-fx-font-weight: bold; -fx-padding: 5 15;");
         refreshAllBtn.setOnAction(e -> {
-            updateDashboard();
-            updateCharts();
-            if (studentListView != null) {
-                studentListView.setItems(filteredData);
-            }
-            updateStatsLabel();
+            refreshViews();
+            studentListRefresh.markDirty();
             updateStatus("All data refreshed");
         });
 
@@ -171,12 +276,9 @@ public class SchoolManagementSystem extends Application {
 
     private void updateStatsLabel() {
         if (statsLabel != null) {
-            long active = studentData.stream().filter(s -> "Active".equals(s.getStatus())).count();
-            long inactive = studentData.stream().filter(s -> "Inactive".equals(s.getStatus())).count();
-            OptionalDouble avgGPA = studentData.stream().mapToDouble(Student::getGpa).average();
-
+            StudentAggregates stats = studentStore.getAggregates();
             statsLabel.setText(String.format("📊 Total: %d | Active: %d | Inactive: %d | Avg GPA: %.2f",
-                    studentData.size(), active, inactive, avgGPA.orElse(0.0)));
+                    stats.getTotal(), stats.getActive(), stats.getInactive(), stats.getAverageGpa()));
         }
     }
 
@@ -376,14 +478,18 @@ public class SchoolManagementSystem extends Application {
 
         Button refreshBtn = createQuickActionButton("🔄 Refresh",
                 "Refresh dashboard data", "#e67e22", e -> {
-                    updateDashboard();
-                    updateCharts();
-                    if (studentListView != null) {
-                        studentListView.setItems(filteredData);
-                    }
-                    updateStatsLabel();
+                    refreshViews();
+                    studentListRefresh.markDirty();
                 });
 
+        // Row 3
+        Button largeRosterBtn = createQuickActionButton("🗄 Large Roster",
+                "Show a disk-backed roster too large for memory in the Students and Reports tabs",
+                "#16a085", e -> toggleLargeRoster());
+
+        Button syntheticBtn = createQuickActionButton("🧪 Synthetic Data",
+                "Load N synthetic students for testing at scale", "#7f8c8d", e -> loadSyntheticStudents());
+
         // Add buttons to grid
         grid.add(studentsBtn, 0, 0);
         grid.add(reportsBtn, 1, 0);
@@ -391,6 +497,8 @@ public class SchoolManagementSystem extends Application {
         grid.add(exportBtn, 0, 1);
         grid.add(settingsBtn, 1, 1);
         grid.add(refreshBtn, 2, 1);
+        grid.add(largeRosterBtn, 0, 2);
+        grid.add(syntheticBtn, 1, 2);
 
         return grid;
     }
@@ -488,9 +596,12 @@ public class SchoolManagementSystem extends Application {
         searchField.setPromptText("Search by ID, Name, Email, or Programme...");
         searchField.setPrefWidth(400);
         searchField.setStyle("-fx-padding: 8; -fx-background-radius: 5;");
+        // Wait for a pause in typing before searching; the search itself runs off the FX thread
+        searchDebounce = new PauseTransition(Duration.millis(200));
+        searchDebounce.setOnFinished(e -> updateFilter());
         searchField.textProperty().addListener((observable, oldValue, newValue) -> {
             if (filteredData != null) {
-                updateFilter();
+                searchDebounce.playFromStart();
             }
         });
         searchField.setDisable(true); // Disabled until list is visible
@@ -601,57 +712,10 @@ public class SchoolManagementSystem extends Application {
         filteredData = new FilteredList<>(studentData, p -> true);
         listView.setItems(filteredData);
 
-        // Custom cell factory to display student information using toString() format
-        listView.setCellFactory(param -> new ListCell<Student>() {
-            @Override
-            protected void updateItem(Student student, boolean empty) {
-                super.updateItem(student, empty);
-
-                if (empty || student == null) {
-                    setText(null);
-                    setGraphic(null);
-                } else {
-                    // Create a custom HBox for each student item
-                    HBox cellBox = new HBox(10);
-                    cellBox.setPadding(new Insets(8));
-                    cellBox.setAlignment(Pos.CENTER_LEFT);
-
-                    // Status indicator (emoji)
-                    Label statusIcon = new Label();
-                    statusIcon.setStyle("-fx-font-size: 16px;");
-                    if ("Active".equals(student.getStatus())) {
-                        statusIcon.setText("✅");
-                        statusIcon.setStyle(statusIcon.getStyle() + " -fx-text-fill: #27ae60;");
-                    } else {
-                        statusIcon.setText("❌");
-                        statusIcon.setStyle(statusIcon.getStyle() + " -fx-text-fill: #e74c3c;");
-                    }
-
-                    // Student details using the exact toString() format
-                    Label studentLabel = new Label(student.toString());
-                    studentLabel.setStyle("-fx-font-family: monospace; -fx-font-size: 12px;");
-
-                    // Color code based on GPA
-                    if (student.getGpa() >= 3.5) {
-                        studentLabel.setStyle(studentLabel.getStyle() + " -fx-text-fill: #27ae60;");
-                    } else if (student.getGpa() >= 2.5) {
-                        studentLabel.setStyle(studentLabel.getStyle() + " -fx-text-fill: #f39c12;");
-                    } else {
-                        studentLabel.setStyle(studentLabel.getStyle() + " -fx-text-fill: #e74c3c;");
-                    }
-
-                    cellBox.getChildren().addAll(statusIcon, studentLabel);
-
-                    // Add hover effect
-                    cellBox.setOnMouseEntered(e ->
-                            cellBox.setStyle("-fx-background-color: #ecf0f1; -fx-cursor: hand;"));
-                    cellBox.setOnMouseExited(e ->
-                            cellBox.setStyle("-fx-background-color: transparent;"));
-
-                    setGraphic(cellBox);
-                }
-            }
-        });
+        // Cells build their nodes once and are recycled while scrolling; see StudentListCell
+        listView.getStyleClass().add("student-list");
+        listView.getStylesheets().add(StudentListCell.STYLESHEET);
+        listView.setCellFactory(param -> new StudentListCell());
 
         // Add selection listener
         listView.getSelectionModel().selectedItemProperty().addListener(
@@ -664,9 +728,63 @@ public class SchoolManagementSystem extends Application {
         return listView;
     }
 
+    // Student list cell. The icon and label are created once per cell and reused for every student
+    // scrolled through it: an update only swaps the text (the student's cached toString()) and
+    // toggles the pseudo-classes the stylesheet colours by, so steady-state scrolling allocates nothing.
+    private static final class StudentListCell extends ListCell<Student> {
+        private static final PseudoClass ACTIVE = PseudoClass.getPseudoClass("active");
+        private static final PseudoClass GPA_HIGH = PseudoClass.getPseudoClass("gpa-high");
+        private static final PseudoClass GPA_MID = PseudoClass.getPseudoClass("gpa-mid");
+
+        static final String STYLESHEET = "data:text/css;base64," + Base64.getEncoder().encodeToString((
+                ".student-list .student-cell-box:hover { -fx-background-color: #ecf0f1; -fx-cursor: hand; }\n" +
+                ".student-list .status-icon { -fx-font-size: 16px; -fx-text-fill: #e74c3c; }\n" +
+                ".student-list .list-cell:active .status-icon { -fx-text-fill: #27ae60; }\n" +
+                ".student-list .student-label { -fx-font-family: monospace; -fx-font-size: 12px; -fx-text-fill: #e74c3c; }\n" +
+                ".student-list .list-cell:gpa-high .student-label { -fx-text-fill: #27ae60; }\n" +
+                ".student-list .list-cell:gpa-mid .student-label { -fx-text-fill: #f39c12; }\n"
+        ).getBytes(StandardCharsets.UTF_8));
+
+        private final Label statusIcon = new Label();
+        private final Label studentLabel = new Label();
+        private final HBox cellBox = new HBox(10, statusIcon, studentLabel);
+
+        StudentListCell() {
+            statusIcon.getStyleClass().add("status-icon");
+            studentLabel.getStyleClass().add("student-label");
+            cellBox.getStyleClass().add("student-cell-box");
+            cellBox.setPadding(new Insets(8));
+            cellBox.setAlignment(Pos.CENTER_LEFT);
+        }
+
+        @Override
+        protected void updateItem(Student student, boolean empty) {
+            super.updateItem(student, empty);
+
+            if (empty || student == null) {
+                setGraphic(null);
+                pseudoClassStateChanged(ACTIVE, false);
+                pseudoClassStateChanged(GPA_HIGH, false);
+                pseudoClassStateChanged(GPA_MID, false);
+                return;
+            }
+
+            boolean active = "Active".equals(student.getStatus());
+            statusIcon.setText(active ? "✅" : "❌");
+            studentLabel.setText(student.toString());
+
+            // Colour code based on GPA; neither pseudo-class means the low (red) band
+            double gpa = student.getGpa();
+            pseudoClassStateChanged(ACTIVE, active);
+            pseudoClassStateChanged(GPA_HIGH, gpa >= 3.5);
+            pseudoClassStateChanged(GPA_MID, gpa >= 2.5 && gpa < 3.5);
+            setGraphic(cellBox);
+        }
+    }
+
     private void updateStudentListView() {
         if (studentListView != null) {
-            studentListView.setItems(filteredData);
+            studentListView.setItems(showingLargeRoster ? largeRosterList : filteredData);
             studentListView.refresh();
         }
     }
@@ -842,17 +960,8 @@ public class SchoolManagementSystem extends Application {
         typeLabel.setStyle("-fx-font-weight: bold;");
 
         reportTypeCombo = new ComboBox<>();
-        reportTypeCombo.getItems().addAll(
-                "📋 Student List by Programme",
-                "📋 Student List by Level",
-                "📊 GPA Distribution",
-                "✅ Active/Inactive Students",
-                "📅 Students Added This Month",
-                "📈 Programme-wise Statistics",
-                "📊 Level-wise Statistics",
-                "📉 GPA Range Analysis"
-        );
-        reportTypeCombo.setValue("📋 Student List by Programme");
+        reportTypeCombo.getItems().addAll(ReportService.TYPES);
+        reportTypeCombo.setValue(ReportService.PROGRAMME_LIST);
         reportTypeCombo.setPrefWidth(300);
         reportTypeCombo.setOnAction(e -> updateReportFilters());
 
@@ -966,300 +1075,131 @@ public class SchoolManagementSystem extends Application {
         table.setPrefHeight(250);
 
         TableColumn<ReportRow, String> categoryCol = new TableColumn<>("Category");
-        categoryCol.setCellValueFactory(cellData -> cellData.getValue().categoryProperty());
+        categoryCol.setCellValueFactory(cellData -> new ReadOnlyStringWrapper(cellData.getValue().getCategory()));
         categoryCol.setPrefWidth(300);
 
-        TableColumn<ReportRow, String> valueCol = new TableColumn<>("Value");
-        valueCol.setCellValueFactory(cellData -> cellData.getValue().valueProperty());
+        // The numeric columns hold the row itself: cells format its primitives only when shown,
+        // and sorting compares the numbers rather than their text
+        TableColumn<ReportRow, ReportRow> valueCol = new TableColumn<>("Value");
+        valueCol.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue()));
+        valueCol.setCellFactory(column -> formattedReportCell(ReportRow::formatValue));
+        valueCol.setComparator(Comparator.comparingDouble(ReportRow::getSortValue));
         valueCol.setPrefWidth(150);
         valueCol.setStyle("-fx-alignment: CENTER;");
 
-        TableColumn<ReportRow, String> percentageCol = new TableColumn<>("Percentage");
-        percentageCol.setCellValueFactory(cellData -> cellData.getValue().percentageProperty());
+        TableColumn<ReportRow, ReportRow> percentageCol = new TableColumn<>("Percentage");
+        percentageCol.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue()));
+        percentageCol.setCellFactory(column -> formattedReportCell(ReportRow::formatPercentage));
+        percentageCol.setComparator(Comparator.comparingDouble(ReportRow::getPercentage));
         percentageCol.setPrefWidth(150);
         percentageCol.setStyle("-fx-alignment: CENTER;");
 
-        table.getColumns().addAll(categoryCol, valueCol, percentageCol);
+        table.getColumns().addAll(List.of(categoryCol, valueCol, percentageCol));
         return table;
     }
 
-    private void generateReport() {
-        String reportType = reportTypeCombo.getValue();
-        ObservableList<ReportRow> reportData = FXCollections.observableArrayList();
-
-        switch (reportType) {
-            case "📋 Student List by Programme":
-                String programme = reportProgrammeFilter != null ?
-                        reportProgrammeFilter.getValue() : "All";
-                reportData = generateProgrammeReport(programme);
-                break;
-
-            case "📋 Student List by Level":
-                String level = reportLevelFilter != null ?
-                        reportLevelFilter.getValue() : "All";
-                reportData = generateLevelReport(level);
-                break;
-
-            case "📊 GPA Distribution":
-                reportData = generateGPADistribution();
-                break;
-
-            case "✅ Active/Inactive Students":
-                String status = reportStatusFilter != null ?
-                        reportStatusFilter.getValue() : "All";
-                reportData = generateStatusReport(status);
-                break;
-
-            case "📅 Students Added This Month":
-                LocalDate start = startDatePicker != null ? startDatePicker.getValue() : LocalDate.now().minusMonths(1);
-                LocalDate end = endDatePicker != null ? endDatePicker.getValue() : LocalDate.now();
-                reportData = generateDateRangeReport(start, end);
-                break;
-
-            case "📈 Programme-wise Statistics":
-                reportData = generateProgrammeStatistics();
-                break;
-
-            case "📊 Level-wise Statistics":
-                reportData = generateLevelStatistics();
-                break;
-
-            case "📉 GPA Range Analysis":
-                reportData = generateGPARangeAnalysis();
-                break;
-        }
-
-        reportTable.setItems(reportData);
-        reportTitleLabel.setText("Report: " + reportType);
+    private static TableCell<ReportRow, ReportRow> formattedReportCell(Function<ReportRow, String> format) {
+        return new TableCell<ReportRow, ReportRow>() {
+            @Override
+            protected void updateItem(ReportRow row, boolean empty) {
+                super.updateItem(row, empty);
+                setText(empty || row == null ? null : format.apply(row));
+            }
+        };
     }
 
-    private ObservableList<ReportRow> generateProgrammeReport(String programme) {
-        ObservableList<ReportRow> data = FXCollections.observableArrayList();
-
-        Map<String, Long> counts;
-        if ("All".equals(programme)) {
-            counts = studentData.stream()
-                    .collect(Collectors.groupingBy(Student::getProgramme, Collectors.counting()));
-        } else {
-            counts = new HashMap<>();
-            counts.put(programme, studentData.stream()
-                    .filter(s -> s.getProgramme().equals(programme))
-                    .count());
+    private void generateReport() {
+        String reportType = reportTypeCombo.getValue();
+        if (showingLargeRoster) {
+            generateLargeRosterReport(reportType);
+            return;
         }
-
-        long total = counts.values().stream().mapToLong(Long::longValue).sum();
-
-        counts.entrySet().stream()
-                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
-                .forEach(entry -> {
-                    String prog = entry.getKey();
-                    long count = entry.getValue();
-                    double percentage = total > 0 ? (count * 100.0 / total) : 0;
-                    data.add(new ReportRow(prog, String.valueOf(count), String.format("%.1f%%", percentage)));
-                });
-
-        if (total > 0) {
-            data.add(new ReportRow("TOTAL", String.valueOf(total), "100%"));
+        long version = studentStore.getVersion();
+        if (repository != null && ReportService.usesSummary(reportType) && repositorySummaryVersion != version
+                && !reportCache.contains(reportType, reportFilters(reportType), version)) {
+            summarizeInRepository(reportType);
+            return;
         }
-
-        return data;
+        showReport(reportType);
     }
 
-    private ObservableList<ReportRow> generateLevelReport(String level) {
-        ObservableList<ReportRow> data = FXCollections.observableArrayList();
-
-        Map<String, Long> counts;
-        if ("All".equals(level)) {
-            counts = studentData.stream()
-                    .collect(Collectors.groupingBy(Student::getLevel,
-                            () -> new TreeMap<>(Comparator.comparingInt(Integer::parseInt)),
-                            Collectors.counting()));
-        } else {
-            counts = new TreeMap<>(Comparator.comparingInt(Integer::parseInt));
-            counts.put(level, studentData.stream()
-                    .filter(s -> s.getLevel().equals(level))
-                    .count());
-        }
-
-        long total = counts.values().stream().mapToLong(Long::longValue).sum();
-
-        counts.forEach((lvl, count) -> {
-            double percentage = total > 0 ? (count * 100.0 / total) : 0;
-            data.add(new ReportRow("Level " + lvl, String.valueOf(count), String.format("%.1f%%", percentage)));
-        });
-
-        if (total > 0) {
-            data.add(new ReportRow("TOTAL", String.valueOf(total), "100%"));
-        }
-
-        return data;
+    private void showReport(String reportType) {
+        reportTable.setItems(FXCollections.observableArrayList(reportRows(reportType)));
+        reportTitleLabel.setText("Report: " + reportType);
+        updateStatus(String.format("Report generated (cache: %d hits, %d misses)",
+                reportCache.getHits(), reportCache.getMisses()));
     }
 
-    private ObservableList<ReportRow> generateGPADistribution() {
-        ObservableList<ReportRow> data = FXCollections.observableArrayList();
-
-        long excellent = studentData.stream().filter(s -> s.getGpa() >= 3.5).count();
-        long good = studentData.stream().filter(s -> s.getGpa() >= 3.0 && s.getGpa() < 3.5).count();
-        long average = studentData.stream().filter(s -> s.getGpa() >= 2.5 && s.getGpa() < 3.0).count();
-        long fair = studentData.stream().filter(s -> s.getGpa() >= 2.0 && s.getGpa() < 2.5).count();
-        long poor = studentData.stream().filter(s -> s.getGpa() < 2.0).count();
-
-        long total = studentData.size();
-
-        if (total > 0) {
-            data.add(new ReportRow("Excellent (3.5 - 4.0)", String.valueOf(excellent),
-                    String.format("%.1f%%", excellent * 100.0 / total)));
-            data.add(new ReportRow("Good (3.0 - 3.49)", String.valueOf(good),
-                    String.format("%.1f%%", good * 100.0 / total)));
-            data.add(new ReportRow("Average (2.5 - 2.99)", String.valueOf(average),
-                    String.format("%.1f%%", average * 100.0 / total)));
-            data.add(new ReportRow("Fair (2.0 - 2.49)", String.valueOf(fair),
-                    String.format("%.1f%%", fair * 100.0 / total)));
-            data.add(new ReportRow("Poor (Below 2.0)", String.valueOf(poor),
-                    String.format("%.1f%%", poor * 100.0 / total)));
-            data.add(new ReportRow("TOTAL", String.valueOf(total), "100%"));
-        }
-
-        return data;
+    // Runs the repository's GPA summary (an SQL GROUP BY) off the FX thread, then shows the report.
+    // If the query can't run yet, fails, or the store changes meanwhile, the report falls back to
+    // the in-memory summary, which gives the same figures.
+    private void summarizeInRepository(String reportType) {
+        StudentRepository source = repository;
+        long version = studentStore.getVersion();
+        javafx.concurrent.Task<ReportEngine.Summary> task = new javafx.concurrent.Task<>() {
+            @Override
+            protected ReportEngine.Summary call() throws IOException {
+                return source.summarize();
+            }
+        };
+        task.setOnSucceeded(e -> {
+            if (task.getValue() != null && studentStore.getVersion() == version) {
+                repositorySummary = task.getValue();
+                repositorySummaryVersion = version;
+            }
+            if (!showingLargeRoster) showReport(reportType);
+        });
+        task.setOnFailed(e -> {
+            if (showingLargeRoster) return;
+            showReport(reportType);
+            updateStatus("Report query failed, used in-memory data: " + task.getException().getMessage());
+        });
+        updateStatus("Running the report query...");
+        Thread worker = new Thread(task, "report-query");
+        worker.setDaemon(true);
+        worker.start();
     }
 
-    private ObservableList<ReportRow> generateStatusReport(String status) {
-        ObservableList<ReportRow> data = FXCollections.observableArrayList();
-
-        long total = studentData.size();
-
-        if ("All".equals(status)) {
-            long active = studentData.stream().filter(s -> "Active".equals(s.getStatus())).count();
-            long inactive = studentData.stream().filter(s -> "Inactive".equals(s.getStatus())).count();
-
-            data.add(new ReportRow("Active Students", String.valueOf(active),
-                    String.format("%.1f%%", total > 0 ? active * 100.0 / total : 0)));
-            data.add(new ReportRow("Inactive Students", String.valueOf(inactive),
-                    String.format("%.1f%%", total > 0 ? inactive * 100.0 / total : 0)));
-        } else {
-            long count = studentData.stream().filter(s -> status.equals(s.getStatus())).count();
-            data.add(new ReportRow(status + " Students", String.valueOf(count),
-                    String.format("%.1f%%", total > 0 ? count * 100.0 / total : 0)));
-        }
-
-        if (total > 0) {
-            data.add(new ReportRow("TOTAL", String.valueOf(total), "100%"));
-        }
-
-        return data;
+    // Rows of the report for the current filter values; served from the cache unless the roster
+    // has changed since the same report was last generated
+    private List<ReportRow> reportRows(String reportType) {
+        List<Object> filters = reportFilters(reportType);
+        return reportCache.get(reportType, filters, studentStore.getVersion(),
+                () -> reportService.generate(reportType, filters));
     }
 
-    private ObservableList<ReportRow> generateDateRangeReport(LocalDate start, LocalDate end) {
-        ObservableList<ReportRow> data = FXCollections.observableArrayList();
-
-        if (start == null) start = LocalDate.now().minusMonths(1);
-        if (end == null) end = LocalDate.now();
-
-        LocalDate finalStart = start;
-        LocalDate finalEnd = end;
-
-        Map<LocalDate, Long> dailyCounts = studentData.stream()
-                .filter(s -> {
-                    try {
-                        LocalDate added = LocalDate.parse(s.getDateAdded().substring(0, 10));
-                        return !added.isBefore(finalStart) && !added.isAfter(finalEnd);
-                    } catch (Exception e) {
-                        return false;
-                    }
-                })
-                .collect(Collectors.groupingBy(
-                        s -> {
-                            try {
-                                return LocalDate.parse(s.getDateAdded().substring(0, 10));
-                            } catch (Exception e) {
-                                return LocalDate.now();
-                            }
-                        },
-                        TreeMap::new,
-                        Collectors.counting()
-                ));
-
-        long total = dailyCounts.values().stream().mapToLong(Long::longValue).sum();
-
-        dailyCounts.forEach((date, count) ->
-                data.add(new ReportRow(date.toString(), String.valueOf(count),
-                        String.format("%.1f%%", total > 0 ? count * 100.0 / total : 0))));
-
-        if (total > 0) {
-            data.add(new ReportRow("TOTAL (" + finalStart + " to " + finalEnd + ")",
-                    String.valueOf(total), "100%"));
+    // The filter values a report type depends on, in the order ReportService.generate() reads them
+    private List<Object> reportFilters(String reportType) {
+        switch (reportType) {
+            case ReportService.PROGRAMME_LIST:
+                return Collections.singletonList(reportProgrammeFilter != null ?
+                        reportProgrammeFilter.getValue() : "All");
+
+            case ReportService.LEVEL_LIST:
+                return Collections.singletonList(reportLevelFilter != null ?
+                        reportLevelFilter.getValue() : "All");
+
+            case ReportService.STATUS:
+                return Collections.singletonList(reportStatusFilter != null ?
+                        reportStatusFilter.getValue() : "All");
+
+            case ReportService.DATE_RANGE:
+                // Defaults resolved here so the cache key names the actual range
+                LocalDate start = startDatePicker != null ? startDatePicker.getValue() : null;
+                LocalDate end = endDatePicker != null ? endDatePicker.getValue() : null;
+                return Arrays.asList(start != null ? start : LocalDate.now().minusMonths(1),
+                        end != null ? end : LocalDate.now());
+
+            default:
+                return Collections.emptyList();
         }
-
-        return data;
-    }
-
-    private ObservableList<ReportRow> generateProgrammeStatistics() {
-        ObservableList<ReportRow> data = FXCollections.observableArrayList();
-
-        Map<String, DoubleSummaryStatistics> stats = studentData.stream()
-                .collect(Collectors.groupingBy(
-                        Student::getProgramme,
-                        Collectors.summarizingDouble(Student::getGpa)
-                ));
-
-        stats.entrySet().stream()
-                .sorted(Map.Entry.comparingByKey())
-                .forEach(entry -> {
-                    String programme = entry.getKey();
-                    DoubleSummaryStatistics stat = entry.getValue();
-                    data.add(new ReportRow(programme + " - Count", String.valueOf((long) stat.getCount()), ""));
-                    data.add(new ReportRow(programme + " - Avg GPA",
-                            String.format("%.2f", stat.getAverage()), ""));
-                    data.add(new ReportRow(programme + " - Max GPA",
-                            String.format("%.2f", stat.getMax()), ""));
-                    data.add(new ReportRow(programme + " - Min GPA",
-                            String.format("%.2f", stat.getMin()), ""));
-                });
-
-        return data;
     }
 
-    private ObservableList<ReportRow> generateLevelStatistics() {
-        ObservableList<ReportRow> data = FXCollections.observableArrayList();
-
-        Map<String, Long> counts = studentData.stream()
-                .collect(Collectors.groupingBy(Student::getLevel,
-                        () -> new TreeMap<>(Comparator.comparingInt(Integer::parseInt)),
-                        Collectors.counting()));
-
-        long total = counts.values().stream().mapToLong(Long::longValue).sum();
-
-        counts.forEach((level, count) -> {
-            double percentage = total > 0 ? (count * 100.0 / total) : 0;
-            data.add(new ReportRow("Level " + level, String.valueOf(count),
-                    String.format("%.1f%%", percentage)));
-        });
-
-        return data;
-    }
-
-    private ObservableList<ReportRow> generateGPARangeAnalysis() {
-        ObservableList<ReportRow> data = FXCollections.observableArrayList();
-
-        double[] ranges = {4.0, 3.5, 3.0, 2.5, 2.0, 1.5, 1.0, 0.5, 0.0};
-        long total = studentData.size();
-
-        for (int i = 0; i < ranges.length - 1; i++) {
-            double high = ranges[i];
-            double low = ranges[i + 1];
-            double finalLow = low;
-            double finalHigh = high;
-            long count = studentData.stream()
-                    .filter(s -> s.getGpa() <= finalHigh && s.getGpa() > finalLow)
-                    .count();
-
-            String range = String.format("%.1f - %.1f", low, high);
-            double percentage = total > 0 ? count * 100.0 / total : 0;
-            data.add(new ReportRow(range, String.valueOf(count),
-                    total > 0 ? String.format("%.1f%%", percentage) : ""));
-        }
-
-        return data;
+    // GPA summaries for the report service: the repository's, if summarizeInRepository() computed
+    // one at the current store version; null leaves the service to scan the in-memory columns.
+    // Never waits on the database.
+    private ReportEngine.Summary summarizeStudents() {
+        return repositorySummaryVersion == studentStore.getVersion() ? repositorySummary : null;
     }
 
     // ==================== CRUD OPERATIONS ====================
@@ -1268,10 +1208,7 @@ public class SchoolManagementSystem extends Application {
         if (!validateForm()) return;
 
         // Check for duplicate ID
-        boolean duplicate = studentData.stream()
-                .anyMatch(s -> s.getStudentId().equalsIgnoreCase(idField.getText().trim()));
-
-        if (duplicate) {
+        if (studentStore.containsId(idField.getText().trim())) {
             showAlert(Alert.AlertType.ERROR, "Duplicate ID",
                     "Student ID already exists! Please use a unique ID.");
             return;
@@ -1285,22 +1222,14 @@ public class SchoolManagementSystem extends Application {
                 Double.parseDouble(gpaField.getText().trim()),
                 emailField.getText().trim(),
                 phoneField.getText().trim(),
-                LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")),
+                LocalDateTime.now().format(TIMESTAMP_FORMAT),
                 statusCombo.getValue()
         );
 
-        studentData.add(student);
+        studentStore.add(student);
         clearForm();
-        updateDashboard();
-        updateCharts();
-        updateStatsLabel();
         updateStatus("Student added successfully!");
 
-        // Update list view if visible
-        if (studentListView != null) {
-            studentListView.setItems(filteredData);
-        }
-
         showAlert(Alert.AlertType.INFORMATION, "Success", "Student added successfully!");
     }
 
@@ -1312,22 +1241,32 @@ public class SchoolManagementSystem extends Application {
 
         if (!validateForm()) return;
 
-        currentlyEditingStudent.setStudentId(idField.getText().trim());
-        currentlyEditingStudent.setFullName(nameField.getText().trim());
-        currentlyEditingStudent.setProgramme(progField.getText().trim());
-        currentlyEditingStudent.setLevel(levelField.getText().trim());
-        currentlyEditingStudent.setGpa(Double.parseDouble(gpaField.getText().trim()));
-        currentlyEditingStudent.setEmail(emailField.getText().trim());
-        currentlyEditingStudent.setPhoneNumber(phoneField.getText().trim());
-        currentlyEditingStudent.setStatus(statusCombo.getValue());
-
-        if (studentListView != null) {
-            studentListView.refresh();
+        String name = nameField.getText().trim();
+        String programme = progField.getText().trim();
+        String level = levelField.getText().trim();
+        double gpa = Double.parseDouble(gpaField.getText().trim());
+        String email = emailField.getText().trim();
+        String phone = phoneField.getText().trim();
+        String status = statusCombo.getValue();
+
+        // One update carries both the (possibly unchanged) ID and the other fields
+        boolean updated = studentStore.update(currentlyEditingStudent, idField.getText().trim(), s -> {
+            s.setFullName(name);
+            s.setProgramme(programme);
+            s.setLevel(level);
+            s.setGpa(gpa);
+            s.setEmail(email);
+            s.setPhoneNumber(phone);
+            s.setStatus(status);
+        });
+        if (!updated) {
+            showAlert(Alert.AlertType.ERROR, "Duplicate ID",
+                    "Student ID already exists! Please use a unique ID.");
+            return;
         }
+
+        studentListRefresh.markDirty();
         clearForm();
-        updateDashboard();
-        updateCharts();
-        updateStatsLabel();
         updateStatus("Student updated successfully!");
 
         showAlert(Alert.AlertType.INFORMATION, "Success", "Student updated successfully!");
@@ -1347,17 +1286,9 @@ public class SchoolManagementSystem extends Application {
 
         Optional<ButtonType> result = confirm.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK) {
-            studentData.remove(selected);
+            studentStore.remove(selected);
             clearForm();
-            updateDashboard();
-            updateCharts();
-            updateStatsLabel();
             updateStatus("Student deleted successfully!");
-
-            // Update list view
-            if (studentListView != null) {
-                studentListView.setItems(filteredData);
-            }
         }
     }
 
@@ -1374,8 +1305,9 @@ public class SchoolManagementSystem extends Application {
         statusCombo.setValue(student.getStatus());
 
         addBtn.setDisable(true);
-        editBtn.setDisable(false);
-        deleteBtn.setDisable(false);
+        // The large roster is append-only, so its students are shown but not edited
+        editBtn.setDisable(showingLargeRoster);
+        deleteBtn.setDisable(showingLargeRoster);
 
         // Disable ID field when editing
         idField.setDisable(true);
@@ -1394,7 +1326,7 @@ public class SchoolManagementSystem extends Application {
         currentlyEditingStudent = null;
         studentListView.getSelectionModel().clearSelection();
 
-        addBtn.setDisable(false);
+        addBtn.setDisable(showingLargeRoster);
         editBtn.setDisable(true);
         deleteBtn.setDisable(true);
 
@@ -1403,142 +1335,140 @@ public class SchoolManagementSystem extends Application {
     }
 
     private boolean validateForm() {
-        if (idField.getText().trim().isEmpty()) {
-            showAlert(Alert.AlertType.ERROR, "Validation Error", "Student ID is required!");
+        String error = StudentEngine.validationError(idField.getText(), nameField.getText(),
+                progField.getText(), levelField.getText(), gpaField.getText(), emailField.getText());
+        if (error != null) {
+            showAlert(Alert.AlertType.ERROR, "Validation Error", error);
             return false;
         }
+        return true;
+    }
 
-        if (nameField.getText().trim().isEmpty()) {
-            showAlert(Alert.AlertType.ERROR, "Validation Error", "Full Name is required!");
-            return false;
-        }
+    private void updateFilter() {
+        if (filteredData == null) return;
+        if (searchDebounce != null) searchDebounce.stop();
 
-        if (progField.getText().trim().isEmpty()) {
-            showAlert(Alert.AlertType.ERROR, "Validation Error", "Programme is required!");
-            return false;
-        }
+        StudentSearch.Criteria criteria = new StudentSearch.Criteria(
+                searchField != null ? searchField.getText() : "",
+                selectedFilter(programmeFilter, "All Programmes"),
+                selectedFilter(levelFilter, "All Levels"),
+                selectedFilter(statusFilter, "All Status"));
 
-        if (levelField.getText().trim().isEmpty()) {
-            showAlert(Alert.AlertType.ERROR, "Validation Error", "Level is required!");
-            return false;
+        if (showingLargeRoster) {
+            filterLargeRoster(criteria);
+            return;
         }
 
-        if (gpaField.getText().trim().isEmpty()) {
-            showAlert(Alert.AlertType.ERROR, "Validation Error", "GPA is required!");
-            return false;
+        if (criteria.matchesAll()) {
+            studentSearch.cancel();
+            filteredData.setPredicate(null);
+            updateFilterStatus();
+            return;
         }
 
-        if (emailField.getText().trim().isEmpty()) {
-            showAlert(Alert.AlertType.ERROR, "Validation Error", "Email is required!");
-            return false;
-        }
+        // Superseded queries are cancelled; only the latest result reaches applySearchResult()
+        studentSearch.search(criteria, this::applySearchResult);
+    }
 
-        try {
-            double gpa = Double.parseDouble(gpaField.getText().trim());
-            if (gpa < 0 || gpa > 4.0) {
-                showAlert(Alert.AlertType.ERROR, "Validation Error", "GPA must be between 0.0 and 4.0!");
-                return false;
-            }
-        } catch (NumberFormatException e) {
-            showAlert(Alert.AlertType.ERROR, "Validation Error", "GPA must be a valid number!");
-            return false;
-        }
+    // The result re-tests students changed while the query ran, so it applies as is even if the
+    // store has moved on (e.g. an import adding batches); re-running it would never settle
+    private void applySearchResult(StudentSearch.Result result) {
+        filteredData.setPredicate(result);
+        result.expire();
+        updateFilterStatus();
+    }
 
-        // Email validation (simple)
-        String email = emailField.getText().trim();
-        if (!email.contains("@") || !email.contains(".")) {
-            showAlert(Alert.AlertType.ERROR, "Validation Error", "Please enter a valid email address!");
-            return false;
+    private String selectedFilter(ComboBox<String> filter, String allValue) {
+        if (filter == null || filter.getValue() == null || allValue.equals(filter.getValue())) {
+            return null;
         }
-
-        return true;
+        return filter.getValue();
     }
 
-    private void updateFilter() {
-        if (filteredData == null) return;
-
-        filteredData.setPredicate(student -> {
-            // Search filter
-            if (searchField != null && !searchField.getText().isEmpty()) {
-                String searchTerm = searchField.getText().toLowerCase();
-                boolean matches = student.getStudentId().toLowerCase().contains(searchTerm) ||
-                        student.getFullName().toLowerCase().contains(searchTerm) ||
-                        student.getEmail().toLowerCase().contains(searchTerm) ||
-                        student.getProgramme().toLowerCase().contains(searchTerm);
-                if (!matches) return false;
-            }
-
-            // Programme filter
-            if (programmeFilter != null && !"All Programmes".equals(programmeFilter.getValue())) {
-                if (!student.getProgramme().equals(programmeFilter.getValue())) {
-                    return false;
-                }
-            }
-
-            // Level filter
-            if (levelFilter != null && !"All Levels".equals(levelFilter.getValue())) {
-                if (!student.getLevel().equals(levelFilter.getValue())) {
-                    return false;
-                }
-            }
-
-            // Status filter
-            if (statusFilter != null && !"All Status".equals(statusFilter.getValue())) {
-                if (!student.getStatus().equals(statusFilter.getValue())) {
-                    return false;
-                }
-            }
-
-            return true;
-        });
-
+    private void updateFilterStatus() {
         // Update filter count
+        if (showingLargeRoster) {
+            updateStatus(String.format("Showing %,d of %,d students in the large roster",
+                    largeRosterList.size(), largeRoster.size()));
+            return;
+        }
         long filteredCount = filteredData.size();
         updateStatus("Showing " + filteredCount + " of " + studentData.size() + " students");
     }
 
     // ==================== UTILITY METHODS ====================
 
+    // Marks the dashboard, charts and stats label dirty; the scheduler repaints them on the next pulse
+    private void refreshViews() {
+        dashboardView.markDirty();
+        chartsView.markDirty();
+        statsView.markDirty();
+    }
+
     private void updateDashboard() {
         if (totalStudentsLabel != null) {
-            int total = studentData.size();
-            long active = studentData.stream().filter(s -> "Active".equals(s.getStatus())).count();
-            long inactive = studentData.stream().filter(s -> "Inactive".equals(s.getStatus())).count();
+            // Running totals maintained by the store; O(1) regardless of roster size
+            StudentAggregates stats = studentStore.getAggregates();
 
-            totalStudentsLabel.setText(String.valueOf(total));
-            activeStudentsLabel.setText(String.valueOf(active));
-            inactiveStudentsLabel.setText(String.valueOf(inactive));
+            totalStudentsLabel.setText(String.valueOf(stats.getTotal()));
+            activeStudentsLabel.setText(String.valueOf(stats.getActive()));
+            inactiveStudentsLabel.setText(String.valueOf(stats.getInactive()));
 
-            OptionalDouble avgGPA = studentData.stream().mapToDouble(Student::getGpa).average();
-            avgGPALabel.setText(String.format("%.2f", avgGPA.orElse(0.0)));
+            avgGPALabel.setText(String.format("%.2f", stats.getAverageGpa()));
         }
     }
 
+    // Diffs the chart data in place: existing slices and bars get new values, and only groups that
+    // appeared or disappeared are added or removed. Animation is skipped while updates arrive in
+    // quick succession (e.g. during an import) so transitions don't pile up.
     private void updateCharts() {
         if (programmeChart != null && levelChart != null) {
-            // Update Programme Pie Chart
-            Map<String, Long> programmeCounts = studentData.stream()
-                    .collect(Collectors.groupingBy(Student::getProgramme, Collectors.counting()));
-
-            ObservableList<PieChart.Data> pieData = FXCollections.observableArrayList();
-            programmeCounts.forEach((prog, count) ->
-                    pieData.add(new PieChart.Data(prog + " (" + count + ")", count)));
-            programmeChart.setData(pieData);
-
-            // Update Level Bar Chart
-            Map<String, Long> levelCounts = studentData.stream()
-                    .collect(Collectors.groupingBy(Student::getLevel,
-                            () -> new TreeMap<>(Comparator.comparingInt(Integer::parseInt)),
-                            Collectors.counting()));
-
-            XYChart.Series<String, Number> series = new XYChart.Series<>();
-            series.setName("Students by Level");
-
-            levelCounts.forEach((level, count) ->
-                    series.getData().add(new XYChart.Data<>(level, count)));
+            StudentAggregates stats = studentStore.getAggregates();
+            long now = System.nanoTime();
+            boolean animate = now - lastChartUpdate > 500_000_000L;
+            lastChartUpdate = now;
+            programmeChart.setAnimated(animate);
+            levelChart.setAnimated(animate);
 
-            levelChart.getData().clear();
-            levelChart.getData().add(series);
+            // Update Programme Pie Chart
+            Map<String, Long> programmeCounts = stats.getProgrammeCounts();
+            programmeSlices.entrySet().removeIf(slice -> {
+                if (programmeCounts.containsKey(slice.getKey())) return false;
+                programmeChart.getData().remove(slice.getValue());
+                return true;
+            });
+            programmeCounts.forEach((prog, count) -> {
+                PieChart.Data slice = programmeSlices.get(prog);
+                if (slice == null) {
+                    slice = new PieChart.Data(prog + " (" + count + ")", count);
+                    programmeSlices.put(prog, slice);
+                    programmeChart.getData().add(slice);
+                } else if (slice.getPieValue() != count) {
+                    slice.setPieValue(count);
+                    slice.setName(prog + " (" + count + ")");
+                }
+            });
+
+            // Update Level Bar Chart; levels arrive in display order, so a level missing at
+            // its position is a new one
+            Map<String, Long> levelCounts = stats.getLevelCounts();
+            if (levelChart.getData().isEmpty()) {
+                levelSeries.setName("Students by Level");
+                levelChart.getData().add(levelSeries);
+            }
+            ObservableList<XYChart.Data<String, Number>> bars = levelSeries.getData();
+            bars.removeIf(bar -> !levelCounts.containsKey(bar.getXValue()));
+            int i = 0;
+            for (Map.Entry<String, Long> entry : levelCounts.entrySet()) {
+                if (i < bars.size() && bars.get(i).getXValue().equals(entry.getKey())) {
+                    if (bars.get(i).getYValue().longValue() != entry.getValue()) {
+                        bars.get(i).setYValue(entry.getValue());
+                    }
+                } else {
+                    bars.add(i, new XYChart.Data<>(entry.getKey(), entry.getValue()));
+                }
+                i++;
+            }
         }
     }
 
@@ -1555,11 +1485,11 @@ public class SchoolManagementSystem extends Application {
 
         Label timeLabel = new Label();
         timeLabel.setStyle("-fx-text-fill: white;");
-        timeLabel.setText(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+        timeLabel.setText(LocalDateTime.now().format(TIMESTAMP_FORMAT));
 
         // Update time every second
         Timeline timeline = new Timeline(new KeyFrame(Duration.seconds(1), ev -> {
-            timeLabel.setText(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+            timeLabel.setText(LocalDateTime.now().format(TIMESTAMP_FORMAT));
         }));
         timeline.setCycleCount(Animation.INDEFINITE);
         timeline.play();
@@ -1568,10 +1498,10 @@ public class SchoolManagementSystem extends Application {
         recordCountLabel.setStyle("-fx-text-fill: white; -fx-font-weight: bold;");
         recordCountLabel.setText("Total Records: " + studentData.size());
 
-        // Update count when data changes
-        studentData.addListener((javafx.collections.ListChangeListener<Student>) change -> {
-            recordCountLabel.setText("Total Records: " + studentData.size());
-        });
+        // Update count when data changes, at most once per pulse
+        RefreshScheduler.View recordCountView = refreshScheduler.register(() ->
+                recordCountLabel.setText("Total Records: " + studentData.size()));
+        studentData.addListener((javafx.collections.ListChangeListener<Student>) change -> recordCountView.markDirty());
 
         Separator separator = new Separator(Orientation.VERTICAL);
         separator.setStyle("-fx-background-color: white;");
@@ -1604,86 +1534,94 @@ public class SchoolManagementSystem extends Application {
         fileChooser.setInitialDirectory(new File(System.getProperty("user.home")));
 
         File file = fileChooser.showOpenDialog(null);
-        if (file != null) {
-            try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-                String line;
-                int count = 0;
-                int skipped = 0;
-
-                // Read all lines
-                while ((line = reader.readLine()) != null) {
-                    if (line.trim().isEmpty()) continue;
-
-                    try {
-                        Student student = parseCSVLine(line);
-                        if (student != null) {
-                            // Check for duplicate ID
-                            boolean duplicate = studentData.stream()
-                                    .anyMatch(s -> s.getStudentId().equalsIgnoreCase(student.getStudentId()));
-
-                            if (!duplicate) {
-                                studentData.add(student);
-                                count++;
-                            } else {
-                                skipped++;
-                            }
-                        } else {
-                            skipped++;
-                        }
-                    } catch (Exception e) {
-                        skipped++;
-                    }
-                }
+        if (file != null && showingLargeRoster) {
+            appendToLargeRoster(file);
+        } else if (file != null) {
+            CsvImportTask task = new CsvImportTask(file, CsvImporter::parseStudent,
+                    batch -> studentStore.addAll(batch).size());
+            Stage progressStage = createProgressStage("Import Student Data", "Importing " + file.getName(), task);
+
+            // Every batch of the import is saved as one change, ended on the repository it began on
+            StudentRepository bulkRepository = repository;
+            if (bulkRepository != null) bulkRepository.beginBulkChange();
+            task.setOnSucceeded(e -> finishImport(progressStage, task, bulkRepository, "Import Successful"));
+            task.setOnCancelled(e -> finishImport(progressStage, task, bulkRepository, "Import Cancelled"));
+            task.setOnFailed(e -> {
+                if (bulkRepository != null) bulkRepository.endBulkChange();
+                progressStage.close();
+                Throwable error = task.getException();
+                showAlert(Alert.AlertType.ERROR, "Import Error",
+                        "Error importing file: " + (error != null ? error.getMessage() : "unknown error"));
+            });
+
+            Thread worker = new Thread(task, "csv-import");
+            worker.setDaemon(true);
+            worker.start();
+            progressStage.show();
+            updateStatus("Importing " + file.getName() + "...");
+        }
+    }
 
-                updateDashboard();
-                updateCharts();
-                updateStatsLabel();
+    // Small window showing a background task's progress and message, with a Cancel button
+    private Stage createProgressStage(String windowTitle, String heading, javafx.concurrent.Task<?> task) {
+        Label titleLabel = new Label(heading);
+        titleLabel.setStyle("-fx-font-size: 14px; -fx-font-weight: bold; -fx-text-fill: #2c3e50;");
 
-                if (studentListView != null) {
-                    studentListView.setItems(filteredData);
-                }
+        ProgressBar progressBar = new ProgressBar();
+        progressBar.setPrefWidth(360);
+        progressBar.progressProperty().bind(task.progressProperty());
 
-                String message = count + " students imported successfully.";
-                if (skipped > 0) {
-                    message += " " + skipped + " entries skipped (duplicates or errors).";
-                }
+        Label rateLabel = new Label("Starting...");
+        rateLabel.setStyle("-fx-text-fill: #7f8c8d;");
+        rateLabel.textProperty().bind(task.messageProperty());
 
-                showAlert(Alert.AlertType.INFORMATION, "Import Successful", message);
-                updateStatus(message);
+        Button cancelBtn = new Button("Cancel");
+        cancelBtn.setStyle("-fx-background-color: #e74c3c; -fx-text-fill: white; -fx-font-weight: bold; -fx-padding: 5 15;");
+        cancelBtn.setOnAction(e -> task.cancel());
 
-            } catch (IOException e) {
-                showAlert(Alert.AlertType.ERROR, "Import Error",
-                        "Error importing file: " + e.getMessage());
-            }
-        }
+        VBox content = new VBox(10, titleLabel, progressBar, rateLabel, cancelBtn);
+        content.setPadding(new Insets(20));
+        content.setAlignment(Pos.CENTER_LEFT);
+
+        Stage stage = new Stage();
+        stage.setTitle(windowTitle);
+        stage.setScene(new Scene(content));
+        stage.setResizable(false);
+        stage.setOnCloseRequest(e -> task.cancel());
+        return stage;
     }
 
-    private Student parseCSVLine(String line) {
-        String[] data = line.split(",");
-        if (data.length >= 8) {
-            try {
-                String id = data[0].trim();
-                String name = data[1].trim();
-                String programme = data[2].trim();
-                String level = data[3].trim();
-                double gpa = Double.parseDouble(data[4].trim());
-                String email = data[5].trim();
-                String phone = data[6].trim();
-                String date = data.length > 7 ? data[7].trim() :
-                        LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
-                String status = data.length > 8 ? data[8].trim() : "Active";
-
-                // Validate status
-                if (!status.equals("Active") && !status.equals("Inactive")) {
-                    status = "Active";
-                }
+    private void finishImport(Stage progressStage, CsvImportTask task, StudentRepository bulkRepository, String title) {
+        if (bulkRepository != null) bulkRepository.endBulkChange();
+        progressStage.close();
 
-                return new Student(id, name, programme, level, gpa, email, phone, date, status);
-            } catch (Exception e) {
-                return null;
-            }
+        String message = task.getImported() + " students imported successfully.";
+        if (task.getSkipped() > 0) {
+            message += " " + task.getSkipped() + " entries skipped (duplicates or errors).";
+        }
+        if (task.isCancelled()) {
+            message = "Import cancelled. " + message;
+        }
+
+        updateStatus(message);
+        if (!task.getProblems().isEmpty()) {
+            message += "\n\n" + describeProblems(task.getProblems());
         }
-        return null;
+        showAlert(Alert.AlertType.INFORMATION, title, message);
+    }
+
+    // The first few malformed rows of an import, one per line
+    private static String describeProblems(List<String> problems) {
+        int shown = Math.min(problems.size(), 10);
+        StringBuilder text = new StringBuilder("Malformed rows:");
+        for (int i = 0; i < shown; i++) {
+            text.append("\n").append(problems.get(i));
+        }
+        if (problems.size() > shown) {
+            text.append("\n... and ").append(problems.size() - shown).append(" more");
+            if (problems.size() == CsvImporter.MAX_PROBLEMS) text.append(" (list truncated)");
+        }
+        return text.toString();
     }
 
     private void exportData() {
@@ -1697,23 +1635,33 @@ public class SchoolManagementSystem extends Application {
 
         File file = fileChooser.showSaveDialog(null);
         if (file != null) {
-            try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
-                // Write header
-                writer.write("ID,Name,Programme,Level,GPA,Email,Phone,Date Added,Status");
-                writer.newLine();
-
-                for (Student student : studentData) {
-                    writer.write(student.toFileString());
-                    writer.newLine();
-                }
-
-                showAlert(Alert.AlertType.INFORMATION, "Export Successful",
-                        studentData.size() + " students exported successfully to:\n" + file.getAbsolutePath());
-
-            } catch (IOException e) {
+            // The snapshot fixes the rows being written; edits made during the export don't affect it
+            CsvExportTask task = new CsvExportTask(file, StudentSnapshot.of(studentStore));
+            Stage progressStage = createProgressStage("Export Student Data", "Exporting to " + file.getName(), task);
+
+            task.setOnSucceeded(e -> {
+                progressStage.close();
+                String message = String.format("%,d students exported successfully to:%n%s",
+                        task.getValue(), file.getAbsolutePath());
+                showAlert(Alert.AlertType.INFORMATION, "Export Successful", message);
+                updateStatus("Exported " + task.getValue() + " students to " + file.getName());
+            });
+            task.setOnCancelled(e -> {
+                progressStage.close();
+                updateStatus("Export cancelled");
+            });
+            task.setOnFailed(e -> {
+                progressStage.close();
+                Throwable error = task.getException();
                 showAlert(Alert.AlertType.ERROR, "Export Error",
-                        "Error exporting file: " + e.getMessage());
-            }
+                        "Error exporting file: " + (error != null ? error.getMessage() : "unknown error"));
+            });
+
+            Thread worker = new Thread(task, "csv-export");
+            worker.setDaemon(true);
+            worker.start();
+            progressStage.show();
+            updateStatus("Exporting to " + file.getName() + "...");
         }
     }
 
@@ -1731,17 +1679,19 @@ public class SchoolManagementSystem extends Application {
             try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
                 writer.write("Report: " + reportTypeCombo.getValue());
                 writer.newLine();
-                writer.write("Generated: " + LocalDateTime.now().format(
-                        DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+                writer.write("Generated: " + LocalDateTime.now().format(TIMESTAMP_FORMAT));
                 writer.newLine();
                 writer.newLine();
                 writer.write("Category,Value,Percentage");
                 writer.newLine();
 
-                for (ReportRow row : reportTable.getItems()) {
+                // Same rows the Generate button produced, unless the roster has changed since; the
+                // large roster's report is the one on screen, as regenerating it means a full scan
+                List<ReportRow> rows = showingLargeRoster ? reportTable.getItems() : reportRows(reportTypeCombo.getValue());
+                for (ReportRow row : rows) {
                     writer.write(row.getCategory() + "," +
-                            row.getValue() + "," +
-                            row.getPercentage());
+                            row.formatValue() + "," +
+                            row.formatPercentage());
                     writer.newLine();
                 }
 
@@ -1755,6 +1705,184 @@ public class SchoolManagementSystem extends Application {
         }
     }
 
+    // ==================== SYNTHETIC DATA ====================
+
+    // Generates realistic students on a background thread and bulk-loads them in one change.
+    // The sequence is seeded, so the same loads always produce the same students; it starts after
+    // the current roster size so the generated IDs don't collide with students already there.
+    private void loadSyntheticStudents() {
+        TextInputDialog dialog = new TextInputDialog("100000");
+        dialog.setTitle("Load Synthetic Students");
+        dialog.setHeaderText("Generate realistic test students");
+        dialog.setContentText("Number of students:");
+        Optional<String> answer = dialog.showAndWait();
+        if (!answer.isPresent()) return;
+
+        int count;
+        try {
+            count = Integer.parseInt(answer.get().trim().replace(",", ""));
+        } catch (NumberFormatException e) {
+            count = 0;
+        }
+        if (count <= 0) {
+            showAlert(Alert.AlertType.ERROR, "Invalid Number", "Please enter a positive whole number of students.");
+            return;
+        }
+
+        // Rows depend only on their position, so a later load claims the rows after this one's
+        // even while this one is still generating
+        if (nextSyntheticRow < 0) {
+            nextSyntheticRow = studentStore.size();
+        }
+        SyntheticRoster roster = new SyntheticRoster(SYNTHETIC_SEED);
+        roster.seek(nextSyntheticRow);
+        nextSyntheticRow += count;
+        int requested = count;
+        javafx.concurrent.Task<StudentSnapshot> task = new javafx.concurrent.Task<>() {
+            @Override
+            protected StudentSnapshot call() {
+                return roster.nextSnapshot(requested);
+            }
+        };
+        long startNanos = System.nanoTime();
+        task.setOnSucceeded(e -> {
+            int accepted = studentStore.addAll(task.getValue()).size();
+            String message = String.format("%,d synthetic students loaded in %,d ms", accepted,
+                    (System.nanoTime() - startNanos) / 1_000_000);
+            if (accepted < requested) {
+                message += String.format(" (%,d IDs already taken)", requested - accepted);
+            }
+            updateStatus(message);
+        });
+        task.setOnFailed(e -> showAlert(Alert.AlertType.ERROR, "Synthetic Data",
+                "Error generating students: " + task.getException().getMessage()));
+
+        updateStatus(String.format("Generating %,d synthetic students...", requested));
+        Thread worker = new Thread(task, "synthetic-roster");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    // ==================== LARGE ROSTER ====================
+
+    // Switches the Students list and the Reports tab between the in-memory store and the
+    // memory-mapped roster. The list materialises only the visible students and reports are
+    // aggregated a chunk at a time, so the heap stays small at any roster size.
+    private void toggleLargeRoster() {
+        if (!showingLargeRoster) {
+            try {
+                if (largeRoster == null) {
+                    largeRoster = MappedStudentStore.open(new File(DATA_DIR, "roster").toPath());
+                }
+            } catch (IOException e) {
+                showAlert(Alert.AlertType.ERROR, "Large Roster", "Could not open the roster: " + e.getMessage());
+                return;
+            }
+            largeRosterList = new RecordList(largeRoster);
+        } else {
+            largeRosterList = null;
+        }
+        showingLargeRoster = !showingLargeRoster;
+        studentSearch.cancel();
+        clearForm();
+        reportTable.getItems().clear();
+        reportTitleLabel.setText(showingLargeRoster ? "Generate Reports (large roster)" : "Generate Reports");
+        updateStudentListView();
+        updateFilter();
+        if (showingLargeRoster) {
+            tabPane.getSelectionModel().select(1);
+            if (!isListViewVisible) toggleStudentListView();
+            updateStatus(String.format("Showing the large roster (%,d students); Import appends to it",
+                    largeRoster.size()));
+        } else {
+            updateStatus("Showing the in-memory roster");
+        }
+    }
+
+    // Search and filters over the large roster scan it in the background; each result is shown
+    // as a new list of the matching positions
+    private void filterLargeRoster(StudentSearch.Criteria criteria) {
+        if (criteria.matchesAll()) {
+            studentSearch.cancel();
+            showLargeRosterList(new RecordList(largeRoster));
+            return;
+        }
+        updateStatus("Searching the large roster...");
+        studentSearch.search(largeRoster, criteria, rows -> {
+            if (showingLargeRoster) showLargeRosterList(new RecordList(largeRoster, rows.toArray()));
+        });
+    }
+
+    private void showLargeRosterList(RecordList list) {
+        largeRosterList = list;
+        studentListView.setItems(list);
+        updateFilterStatus();
+    }
+
+    // Streams the file into the large roster on a background thread; appended students appear in
+    // the list as they are flushed
+    private void appendToLargeRoster(File file) {
+        MappedImportTask task = new MappedImportTask(file, CsvImporter::parseStudent, largeRoster);
+        Stage progressStage = createProgressStage("Append to Large Roster", "Appending " + file.getName(), task);
+        // The task reports progress right after each flush
+        task.messageProperty().addListener((obs, oldMessage, newMessage) -> {
+            if (largeRosterList != null) largeRosterList.refresh();
+        });
+        Runnable finish = () -> {
+            progressStage.close();
+            if (largeRosterList != null) largeRosterList.refresh();
+            String message = String.format("%,d students appended, %,d rows skipped",
+                    task.getImported(), task.getSkipped());
+            updateStatus(message);
+            if (!task.getProblems().isEmpty()) {
+                message += "\n\n" + describeProblems(task.getProblems());
+            }
+            showAlert(Alert.AlertType.INFORMATION, "Large Roster", message);
+        };
+        task.setOnSucceeded(e -> finish.run());
+        task.setOnCancelled(e -> finish.run());
+        task.setOnFailed(e -> {
+            progressStage.close();
+            if (largeRosterList != null) largeRosterList.refresh();
+            showAlert(Alert.AlertType.ERROR, "Large Roster",
+                    "Error appending file: " + task.getException().getMessage());
+        });
+        Thread worker = new Thread(task, "roster-import");
+        worker.setDaemon(true);
+        worker.start();
+        progressStage.show();
+        updateStatus("Appending " + file.getName() + " to the large roster...");
+    }
+
+    // Reports over the large roster. Summarising it is a full scan, so it runs in the background
+    // and is reused until the roster grows.
+    private void generateLargeRosterReport(String reportType) {
+        List<Object> filters = reportFilters(reportType);
+        MappedStudentStore roster = largeRoster;
+        ReportService reports = largeRosterReportsSize == roster.size() ? largeRosterReports : null;
+        javafx.concurrent.Task<ReportService> task = new javafx.concurrent.Task<>() {
+            @Override
+            protected ReportService call() {
+                return reports != null ? reports : new ReportService(new ReportService.RecordsSource(roster));
+            }
+        };
+        int size = roster.size();
+        task.setOnSucceeded(e -> {
+            largeRosterReports = task.getValue();
+            largeRosterReportsSize = size;
+            if (!showingLargeRoster) return;
+            reportTable.setItems(FXCollections.observableArrayList(largeRosterReports.generate(reportType, filters)));
+            reportTitleLabel.setText("Report: " + reportType + " (large roster)");
+            updateStatus("Report generated from the large roster");
+        });
+        task.setOnFailed(e -> showAlert(Alert.AlertType.ERROR, "Large Roster",
+                "Could not summarise the roster: " + task.getException().getMessage()));
+        updateStatus("Summarising the large roster...");
+        Thread worker = new Thread(task, "roster-summary");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
     private void showSettings() {
         Dialog<ButtonType> dialog = new Dialog<>();
         dialog.setTitle("Settings");
@@ -1767,12 +1895,33 @@ public class SchoolManagementSystem extends Application {
         VBox content = new VBox(15);
         content.setPadding(new Insets(20));
 
+        CheckBox autoSaveCheck = new CheckBox("Auto-save on exit");
+        autoSaveCheck.setSelected(preferences.getBoolean("autoSaveOnExit", true));
+        autoSaveCheck.setTooltip(new Tooltip("Compact the change journal into a snapshot when the application closes"));
+
+        CheckBox sqlDatabaseCheck = new CheckBox("Store students in an SQL database");
+        sqlDatabaseCheck.setSelected(preferences.getBoolean("useSqlDatabase", false));
+        sqlDatabaseCheck.setTooltip(new Tooltip("Use an embedded H2 database instead of the change journal "
+                + "(takes effect on restart; students are not copied between the two). "
+                + "Other databases, such as SQLite, need their JDBC driver added to the classpath."));
+        TextField jdbcUrlField = new TextField(preferences.get("jdbcUrl", defaultJdbcUrl()));
+        jdbcUrlField.setPromptText("JDBC URL, e.g. jdbc:h2:file:/path/students");
+        jdbcUrlField.disableProperty().bind(sqlDatabaseCheck.selectedProperty().not());
+
+        CheckBox httpApiCheck = new CheckBox("Serve the HTTP query API");
+        httpApiCheck.setSelected(preferences.getBoolean("httpApiEnabled", false));
+        httpApiCheck.setTooltip(new Tooltip("Read-only JSON lookup, search and reports under /api "
+                + "(takes effect on restart; only this computer can connect unless the address is changed)"));
+        TextField httpApiAddressField = new TextField(preferences.get("httpApiAddress", DEFAULT_API_ADDRESS));
+        httpApiAddressField.setPromptText("host:port, e.g. " + DEFAULT_API_ADDRESS);
+        httpApiAddressField.disableProperty().bind(httpApiCheck.selectedProperty().not());
+
         TitledPane generalPane = new TitledPane("General Settings", new VBox(10) {{
             setPadding(new Insets(10));
-            CheckBox autoSaveCheck = new CheckBox("Auto-save on exit");
             CheckBox confirmDeleteCheck = new CheckBox("Confirm before delete");
             CheckBox showWelcomeCheck = new CheckBox("Show welcome message on startup");
-            getChildren().addAll(autoSaveCheck, confirmDeleteCheck, showWelcomeCheck);
+            getChildren().addAll(autoSaveCheck, confirmDeleteCheck, showWelcomeCheck, sqlDatabaseCheck, jdbcUrlField,
+                    httpApiCheck, httpApiAddressField);
         }});
         generalPane.setExpanded(true);
 
@@ -1797,118 +1946,42 @@ public class SchoolManagementSystem extends Application {
         content.getChildren().addAll(generalPane, displayPane, exportPane);
         dialogPane.setContent(content);
 
-        dialog.showAndWait();
+        Optional<ButtonType> result = dialog.showAndWait();
+        if (result.isPresent() && result.get() == ButtonType.OK) {
+            preferences.putBoolean("autoSaveOnExit", autoSaveCheck.isSelected());
+            preferences.putBoolean("useSqlDatabase", sqlDatabaseCheck.isSelected());
+            preferences.put("jdbcUrl", jdbcUrlField.getText().trim());
+            preferences.putBoolean("httpApiEnabled", httpApiCheck.isSelected());
+            preferences.put("httpApiAddress", httpApiAddressField.getText().trim());
+        }
     }
 
     private void loadSampleData() {
-        studentData.add(new Student("S001", "John Doe", "Computer Science", "300", 3.8,
-                "john.doe@email.com", "123-456-7890", "2024-01-15 10:30:00", "Active"));
-        studentData.add(new Student("S002", "Jane Smith", "Engineering", "200", 3.5,
-                "jane.smith@email.com", "234-567-8901", "2024-01-20 14:20:00", "Active"));
-        studentData.add(new Student("S003", "Bob Johnson", "Business", "400", 3.2,
-                "bob.johnson@email.com", "345-678-9012", "2024-02-01 09:15:00", "Active"));
-        studentData.add(new Student("S004", "Alice Brown", "Medicine", "500", 3.9,
-                "alice.brown@email.com", "456-789-0123", "2024-02-10 11:45:00", "Active"));
-        studentData.add(new Student("S005", "Charlie Wilson", "Arts", "100", 2.8,
-                "charlie.wilson@email.com", "567-890-1234", "2024-02-15 16:30:00", "Inactive"));
-        studentData.add(new Student("S006", "Diana Prince", "Computer Science", "200", 3.7,
-                "diana.prince@email.com", "678-901-2345", "2024-02-20 13:15:00", "Active"));
-        studentData.add(new Student("S007", "Bruce Wayne", "Business", "300", 3.1,
-                "bruce.wayne@email.com", "789-012-3456", "2024-03-01 10:00:00", "Active"));
-        studentData.add(new Student("S008", "Clark Kent", "Engineering", "400", 3.4,
-                "clark.kent@email.com", "890-123-4567", "2024-03-05 15:30:00", "Inactive"));
-        studentData.add(new Student("S009", "Peter Parker", "Computer Science", "100", 3.6,
-                "peter.parker@email.com", "901-234-5678", "2024-03-10 09:45:00", "Active"));
-        studentData.add(new Student("S010", "Tony Stark", "Engineering", "500", 3.2,
-                "tony.stark@email.com", "012-345-6789", "2024-03-15 14:00:00", "Active"));
+        studentStore.addAll(Arrays.asList(
+                new Student("S001", "John Doe", "Computer Science", "300", 3.8,
+                        "john.doe@email.com", "123-456-7890", "2024-01-15 10:30:00", "Active"),
+                new Student("S002", "Jane Smith", "Engineering", "200", 3.5,
+                        "jane.smith@email.com", "234-567-8901", "2024-01-20 14:20:00", "Active"),
+                new Student("S003", "Bob Johnson", "Business", "400", 3.2,
+                        "bob.johnson@email.com", "345-678-9012", "2024-02-01 09:15:00", "Active"),
+                new Student("S004", "Alice Brown", "Medicine", "500", 3.9,
+                        "alice.brown@email.com", "456-789-0123", "2024-02-10 11:45:00", "Active"),
+                new Student("S005", "Charlie Wilson", "Arts", "100", 2.8,
+                        "charlie.wilson@email.com", "567-890-1234", "2024-02-15 16:30:00", "Inactive"),
+                new Student("S006", "Diana Prince", "Computer Science", "200", 3.7,
+                        "diana.prince@email.com", "678-901-2345", "2024-02-20 13:15:00", "Active"),
+                new Student("S007", "Bruce Wayne", "Business", "300", 3.1,
+                        "bruce.wayne@email.com", "789-012-3456", "2024-03-01 10:00:00", "Active"),
+                new Student("S008", "Clark Kent", "Engineering", "400", 3.4,
+                        "clark.kent@email.com", "890-123-4567", "2024-03-05 15:30:00", "Inactive"),
+                new Student("S009", "Peter Parker", "Computer Science", "100", 3.6,
+                        "peter.parker@email.com", "901-234-5678", "2024-03-10 09:45:00", "Active"),
+                new Student("S010", "Tony Stark", "Engineering", "500", 3.2,
+                        "tony.stark@email.com", "012-345-6789", "2024-03-15 14:00:00", "Active")
+        ));
     }
 
     public static void main(String[] args) {
         launch(args);
     }
-}
-
-// Enhanced Student class
-class Student {
-    private String studentId;
-    private String fullName;
-    private String programme;
-    private String level;
-    private double gpa;
-    private String email;
-    private String phoneNumber;
-    private String dateAdded;
-    private String status;
-
-    public Student(String studentId, String fullName, String programme,
-                   String level, double gpa, String email, String phoneNumber,
-                   String dateAdded, String status) {
-        this.studentId = studentId;
-        this.fullName = fullName;
-        this.programme = programme;
-        this.level = level;
-        this.gpa = gpa;
-        this.email = email;
-        this.phoneNumber = phoneNumber;
-        this.dateAdded = dateAdded;
-        this.status = status;
-    }
-
-    // Getters
-    public String getStudentId() { return studentId; }
-    public String getFullName() { return fullName; }
-    public String getProgramme() { return programme; }
-    public String getLevel() { return level; }
-    public double getGpa() { return gpa; }
-    public String getEmail() { return email; }
-    public String getPhoneNumber() { return phoneNumber; }
-    public String getDateAdded() { return dateAdded; }
-    public String getStatus() { return status; }
-
-    // Setters
-    public void setStudentId(String studentId) { this.studentId = studentId; }
-    public void setFullName(String fullName) { this.fullName = fullName; }
-    public void setProgramme(String programme) { this.programme = programme; }
-    public void setLevel(String level) { this.level = level; }
-    public void setGpa(double gpa) { this.gpa = gpa; }
-    public void setEmail(String email) { this.email = email; }
-    public void setPhoneNumber(String phoneNumber) { this.phoneNumber = phoneNumber; }
-    public void setDateAdded(String dateAdded) { this.dateAdded = dateAdded; }
-    public void setStatus(String status) { this.status = status; }
-
-    @Override
-    public String toString() {
-        return String.format(
-                "ID: %s | Name: %s | Programme: %s | Level: %s | GPA: %.2f | Email: %s | Status: %s",
-                studentId, fullName, programme, level, gpa, email, status
-        );
-    }
-
-    public String toFileString() {
-        return String.join(",",
-                studentId, fullName, programme, level,
-                String.valueOf(gpa), email, phoneNumber, dateAdded, status
-        );
-    }
-}
-
-// Report Row class for table display
-class ReportRow {
-    private final SimpleStringProperty category;
-    private final SimpleStringProperty value;
-    private final SimpleStringProperty percentage;
-
-    public ReportRow(String category, String value, String percentage) {
-        this.category = new SimpleStringProperty(category);
-        this.value = new SimpleStringProperty(value);
-        this.percentage = new SimpleStringProperty(percentage);
-    }
-
-    public String getCategory() { return category.get(); }
-    public String getValue() { return value.get(); }
-    public String getPercentage() { return percentage.get(); }
-
-    public SimpleStringProperty categoryProperty() { return category; }
-    public SimpleStringProperty valueProperty() { return value; }
-    public SimpleStringProperty percentageProperty() { return percentage; }
 }
\ No newline at end of file
@@ -0,0 +1,314 @@
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32C;
+
+// Columnar binary snapshot of a student set. Programme, level and status are stored as
+// dictionary codes, GPA and date as fixed-width columns, and the text fields as a length column
+// plus one UTF-8 blob each, so loading is one bulk read of the file and a handful of bulk copies
+// out of it rather than a parse per field. The file is read into the heap rather than mapped, so
+// nothing keeps it open afterwards and compaction can replace it (which Windows refuses while a
+// mapping is live).
+//
+// Layout (little-endian): [int magic][int version][long sequence][int count][int reserved], then
+// sections, each [long byteLength][payload padded to 8 bytes] so every column stays aligned:
+//   programme / level / status dictionaries, programme / level / status codes (int[count]),
+//   gpa (double[count]), dateAdded epoch seconds (long[count]), raw dates ([int n] then n x
+//   [int position][string]), and studentId / fullName / email / phoneNumber as [int[count]
+//   byte lengths, -1 for null][UTF-8 bytes].
+// A CRC32C of everything before it closes the file.
+final class SnapshotFile {
+
+    static final int MAGIC = 0x534D5353; // "SMSS"
+    static final int VERSION = 2;
+    private static final int HEADER_BYTES = 24;
+    private static final int BUFFER_BYTES = 1 << 20;
+    private static final int DECODE_CHUNK = 1 << 14;
+
+    // Snapshot contents plus the journal sequence number it covers
+    static final class Contents {
+        final long sequence;
+        final StudentSnapshot students;
+
+        Contents(long sequence, StudentSnapshot students) {
+            this.sequence = sequence;
+            this.students = students;
+        }
+    }
+
+    private SnapshotFile() {}
+
+    // ==================== WRITE ====================
+
+    static void write(Path file, StudentSnapshot snapshot, long sequence) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            Writer out = new Writer(channel);
+            int n = snapshot.size;
+            out.buffer(HEADER_BYTES).putInt(MAGIC).putInt(VERSION).putLong(sequence).putInt(n).putInt(0);
+
+            for (List<String> names : List.of(snapshot.programmeNames, snapshot.levelNames, snapshot.statusNames)) {
+                List<byte[]> encoded = new ArrayList<>(names.size());
+                long length = 4;
+                for (String name : names) {
+                    byte[] bytes = utf8(name);
+                    encoded.add(bytes);
+                    length += 4 + (bytes == null ? 0 : bytes.length);
+                }
+                out.beginSection(length);
+                out.buffer(4).putInt(names.size());
+                for (byte[] bytes : encoded) out.putString(bytes);
+                out.endSection(length);
+            }
+
+            for (int[] codes : new int[][]{snapshot.programme, snapshot.level, snapshot.status}) {
+                out.beginSection(4L * n);
+                for (int i = 0; i < n; i++) out.buffer(4).putInt(codes[i]);
+                out.endSection(4L * n);
+            }
+            out.beginSection(8L * n);
+            for (int i = 0; i < n; i++) out.buffer(8).putDouble(snapshot.gpa[i]);
+            out.endSection(8L * n);
+            out.beginSection(8L * n);
+            for (int i = 0; i < n; i++) out.buffer(8).putLong(snapshot.dateAdded[i]);
+            out.endSection(8L * n);
+
+            long rawLength = 4;
+            Map<Integer, byte[]> rawDates = new HashMap<>();
+            for (Map.Entry<Integer, String> entry : snapshot.rawDates.entrySet()) {
+                byte[] bytes = utf8(entry.getValue());
+                rawDates.put(entry.getKey(), bytes);
+                rawLength += 8 + (bytes == null ? 0 : bytes.length);
+            }
+            out.beginSection(rawLength);
+            out.buffer(4).putInt(rawDates.size());
+            for (Map.Entry<Integer, byte[]> entry : rawDates.entrySet()) {
+                out.buffer(4).putInt(entry.getKey());
+                out.putString(entry.getValue());
+            }
+            out.endSection(rawLength);
+
+            for (String[] column : new String[][]{snapshot.studentId, snapshot.fullName, snapshot.email, snapshot.phoneNumber}) {
+                writeStringColumn(out, column, n);
+            }
+
+            out.flush();
+            ByteBuffer trailer = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt((int) out.crc.getValue());
+            trailer.flip();
+            while (trailer.hasRemaining()) channel.write(trailer);
+            channel.force(true);
+        }
+    }
+
+    private static void writeStringColumn(Writer out, String[] column, int n) throws IOException {
+        byte[][] encoded = new byte[n][];
+        long blobLength = 0;
+        for (int i = 0; i < n; i++) {
+            encoded[i] = utf8(column[i]);
+            if (encoded[i] != null) blobLength += encoded[i].length;
+        }
+        long length = 4L * n + blobLength;
+        out.beginSection(length);
+        for (int i = 0; i < n; i++) out.buffer(4).putInt(encoded[i] == null ? -1 : encoded[i].length);
+        for (int i = 0; i < n; i++) {
+            if (encoded[i] != null) out.putBytes(encoded[i]);
+        }
+        out.endSection(length);
+    }
+
+    // Buffered little-endian channel writer that checksums everything it writes
+    private static final class Writer {
+        final FileChannel channel;
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        final CRC32C crc = new CRC32C();
+
+        Writer(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        // The buffer, with room for at least `bytes` more
+        ByteBuffer buffer(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) flush();
+            return buffer;
+        }
+
+        void beginSection(long length) throws IOException {
+            buffer(8).putLong(length);
+        }
+
+        void endSection(long length) throws IOException {
+            for (long pad = padding(length); pad > 0; pad--) buffer(1).put((byte) 0);
+        }
+
+        void putString(byte[] bytes) throws IOException {
+            buffer(4).putInt(bytes == null ? -1 : bytes.length);
+            if (bytes != null) putBytes(bytes);
+        }
+
+        void putBytes(byte[] bytes) throws IOException {
+            int offset = 0;
+            while (offset < bytes.length) {
+                int chunk = Math.min(bytes.length - offset, buffer(1).remaining());
+                buffer.put(bytes, offset, chunk);
+                offset += chunk;
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            crc.update(buffer.duplicate());
+            while (buffer.hasRemaining()) channel.write(buffer);
+            buffer.clear();
+        }
+    }
+
+    // ==================== READ ====================
+
+    static Contents read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize > Integer.MAX_VALUE - 8) {
+                throw new IOException(file + " is too large to load");
+            }
+            if (fileSize < HEADER_BYTES + 4) {
+                throw new IOException(file + " is truncated");
+            }
+            ByteBuffer contents = ByteBuffer.allocate((int) fileSize).order(ByteOrder.LITTLE_ENDIAN);
+            while (contents.hasRemaining()) {
+                if (channel.read(contents) < 0) throw new IOException(file + " is truncated");
+            }
+            contents.flip();
+
+            int crcAt = (int) fileSize - 4;
+            CRC32C crc = new CRC32C();
+            crc.update(contents.array(), 0, crcAt);
+            if ((int) crc.getValue() != contents.getInt(crcAt)) {
+                throw new IOException(file + " is corrupt (checksum mismatch)");
+            }
+
+            ByteBuffer in = contents.limit(crcAt);
+            if (in.getInt() != MAGIC) throw new IOException(file + " is not a student snapshot");
+            int version = in.getInt();
+            if (version != VERSION) throw new IOException(file + " has unsupported snapshot version " + version);
+            long sequence = in.getLong();
+            int n = in.getInt();
+            in.getInt(); // reserved
+            if (n < 0) throw new IOException(file + " is corrupt (negative count)");
+
+            List<String> programmeNames = readDictionary(section(in));
+            List<String> levelNames = readDictionary(section(in));
+            List<String> statusNames = readDictionary(section(in));
+            int[] programme = readInts(section(in), n, programmeNames.size());
+            int[] level = readInts(section(in), n, levelNames.size());
+            int[] status = readInts(section(in), n, statusNames.size());
+            double[] gpa = new double[n];
+            section(in).asDoubleBuffer().get(gpa);
+            long[] dateAdded = new long[n];
+            section(in).asLongBuffer().get(dateAdded);
+
+            ByteBuffer raw = section(in);
+            int rawCount = raw.getInt();
+            Map<Integer, String> rawDates = new HashMap<>(rawCount * 2);
+            for (int i = 0; i < rawCount; i++) {
+                rawDates.put(raw.getInt(), readString(raw));
+            }
+
+            String[] studentId = readStringColumn(section(in), n);
+            String[] fullName = readStringColumn(section(in), n);
+            String[] email = readStringColumn(section(in), n);
+            String[] phoneNumber = readStringColumn(section(in), n);
+
+            return new Contents(sequence, new StudentSnapshot(sequence, n, studentId, fullName, email,
+                    phoneNumber, gpa, programme, level, status, dateAdded, rawDates,
+                    programmeNames, levelNames, statusNames));
+        } catch (IndexOutOfBoundsException | BufferUnderflowException e) {
+            throw new IOException(file + " is corrupt (section overruns the file)", e);
+        }
+    }
+
+    // Slices the next section's payload out of the buffer and skips past its padding
+    private static ByteBuffer section(ByteBuffer in) throws IOException {
+        long length = in.getLong();
+        if (length < 0 || length > in.remaining()) {
+            throw new IOException("Snapshot section length " + length + " overruns the file");
+        }
+        ByteBuffer payload = in.slice(in.position(), (int) length).order(ByteOrder.LITTLE_ENDIAN);
+        in.position((int) Math.min(in.limit(), in.position() + length + padding(length)));
+        return payload;
+    }
+
+    private static List<String> readDictionary(ByteBuffer in) {
+        int count = in.getInt();
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) values.add(readString(in));
+        return values;
+    }
+
+    private static int[] readInts(ByteBuffer in, int n, int limit) throws IOException {
+        int[] values = new int[n];
+        in.asIntBuffer().get(values);
+        for (int value : values) {
+            if (value < 0 || value >= limit) throw new IOException("Snapshot dictionary code out of range");
+        }
+        return values;
+    }
+
+    private static String[] readStringColumn(ByteBuffer in, int n) throws IOException {
+        int[] lengths = new int[n];
+        in.asIntBuffer().get(lengths);
+        in.position(4 * n);
+        // Decode each value straight out of the heap array the file was read into
+        byte[] blob = in.array();
+        int blobStart = in.arrayOffset() + in.position();
+        int blobLength = in.remaining();
+        // Chunk start offsets are known up front, so the chunks decode in parallel
+        int chunks = (n + DECODE_CHUNK - 1) / DECODE_CHUNK;
+        int[] chunkOffset = new int[chunks + 1];
+        long offset = 0;
+        for (int i = 0; i < n; i++) {
+            if (i % DECODE_CHUNK == 0) chunkOffset[i / DECODE_CHUNK] = blobStart + (int) offset;
+            if (lengths[i] > 0) offset += lengths[i];
+        }
+        if (offset > blobLength) {
+            throw new IOException("Snapshot string column overruns its section");
+        }
+        String[] values = new String[n];
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            int position = chunkOffset[chunk];
+            for (int i = chunk * DECODE_CHUNK, end = Math.min(n, i + DECODE_CHUNK); i < end; i++) {
+                int length = lengths[i];
+                if (length >= 0) {
+                    values[i] = new String(blob, position, length, StandardCharsets.UTF_8);
+                    position += length;
+                }
+            }
+        });
+        return values;
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) return null;
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static long padding(long length) {
+        return (8 - (length & 7)) & 7;
+    }
+}
@@ -0,0 +1,59 @@
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Maps low-cardinality strings (programme, level, status) to dense int codes and back.
+// Codes are never reused, so a code stays valid for the lifetime of the dictionary.
+// One thread encodes; any thread may decode. Each new value publishes a fresh copy of the value
+// array, so readers on other threads (e.g. browsing a roster that is still being imported) never
+// see it mid-growth. Values are few, so the copies are cheap.
+class StringDictionary {
+
+    // Only touched by the encoding thread
+    private final Map<String, Integer> codes = new HashMap<>();
+    private volatile String[] values = new String[0];
+    private final List<String> liveValues = new AbstractList<String>() {
+        @Override public String get(int code) { return values[code]; }
+        @Override public int size() { return values.length; }
+    };
+
+    public int encode(String value) {
+        Integer code = codes.get(value);
+        if (code == null) {
+            String[] current = values;
+            code = current.length;
+            String[] grown = Arrays.copyOf(current, code + 1);
+            grown[code] = value;
+            codes.put(value, code);
+            values = grown;
+        }
+        return code;
+    }
+
+    // Returns -1 if the value has never been encoded; encoding thread only
+    public int codeOf(String value) {
+        Integer code = codes.get(value);
+        return code != null ? code : -1;
+    }
+
+    public String decode(int code) {
+        return values[code];
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    // Live read-only view, indexed by code
+    public List<String> values() {
+        return liveValues;
+    }
+
+    // The values encoded so far; never changes, so it can be handed to other threads
+    public List<String> snapshot() {
+        return Collections.unmodifiableList(Arrays.asList(values));
+    }
+}
@@ -0,0 +1,132 @@
+// Enhanced Student class.
+// While a student belongs to a StudentStore it is a lightweight view over one row of the
+// store's columnar StudentTable; otherwise (freshly parsed, or removed) it holds its own values.
+class Student {
+    private StudentTable table;
+    private int row = -1;
+    private Detached detached;
+    // toString() result, kept until the next edit so list cells don't reformat on every redraw
+    private String display;
+
+    public Student(String studentId, String fullName, String programme,
+                   String level, double gpa, String email, String phoneNumber,
+                   String dateAdded, String status) {
+        this.detached = new Detached(studentId, fullName, programme, level, gpa,
+                email, phoneNumber, dateAdded, status);
+    }
+
+    // View over an existing table row (bulk loads fill the row directly)
+    Student(StudentTable table, int row) {
+        this.table = table;
+        this.row = row;
+    }
+
+    // Getters
+    public String getStudentId() { return detached != null ? detached.studentId : table.getStudentId(row); }
+    public String getFullName() { return detached != null ? detached.fullName : table.getFullName(row); }
+    public String getProgramme() { return detached != null ? detached.programme : table.getProgramme(row); }
+    public String getLevel() { return detached != null ? detached.level : table.getLevel(row); }
+    public double getGpa() { return detached != null ? detached.gpa : table.getGpa(row); }
+    public String getEmail() { return detached != null ? detached.email : table.getEmail(row); }
+    public String getPhoneNumber() { return detached != null ? detached.phoneNumber : table.getPhoneNumber(row); }
+    public String getDateAdded() { return detached != null ? detached.dateAdded : table.getDateAdded(row); }
+    public String getStatus() { return detached != null ? detached.status : table.getStatus(row); }
+
+    // Setters
+    public void setStudentId(String studentId) {
+        if (detached != null) detached.studentId = studentId; else table.setStudentId(row, studentId);
+        display = null;
+    }
+    public void setFullName(String fullName) {
+        if (detached != null) detached.fullName = fullName; else table.setFullName(row, fullName);
+        display = null;
+    }
+    public void setProgramme(String programme) {
+        if (detached != null) detached.programme = programme; else table.setProgramme(row, programme);
+        display = null;
+    }
+    public void setLevel(String level) {
+        if (detached != null) detached.level = level; else table.setLevel(row, level);
+        display = null;
+    }
+    public void setGpa(double gpa) {
+        if (detached != null) detached.gpa = gpa; else table.setGpa(row, gpa);
+        display = null;
+    }
+    public void setEmail(String email) {
+        if (detached != null) detached.email = email; else table.setEmail(row, email);
+        display = null;
+    }
+    public void setPhoneNumber(String phoneNumber) {
+        if (detached != null) detached.phoneNumber = phoneNumber; else table.setPhoneNumber(row, phoneNumber);
+        display = null;
+    }
+    public void setDateAdded(String dateAdded) {
+        if (detached != null) detached.dateAdded = dateAdded; else table.setDateAdded(row, dateAdded);
+        display = null;
+    }
+    public void setStatus(String status) {
+        if (detached != null) detached.status = status; else table.setStatus(row, status);
+        display = null;
+    }
+
+    // Row in the owning StudentTable, or -1 while detached
+    int getRow() { return row; }
+
+    void attachTo(StudentTable table, int row) {
+        this.table = table;
+        this.row = row;
+        this.detached = null;
+    }
+
+    void detachFrom(Detached values) {
+        this.detached = values;
+        this.table = null;
+        this.row = -1;
+    }
+
+    @Override
+    public String toString() {
+        if (display == null) {
+            display = String.format(
+                    "ID: %s | Name: %s | Programme: %s | Level: %s | GPA: %.2f | Email: %s | Status: %s",
+                    getStudentId(), getFullName(), getProgramme(), getLevel(), getGpa(), getEmail(), getStatus()
+            );
+        }
+        return display;
+    }
+
+    public String toFileString() {
+        return String.join(",",
+                getStudentId(), getFullName(), getProgramme(), getLevel(),
+                String.valueOf(getGpa()), getEmail(), getPhoneNumber(), getDateAdded(), getStatus()
+        );
+    }
+
+    // Values of a student that is not stored in a table
+    static final class Detached {
+        String studentId;
+        String fullName;
+        String programme;
+        String level;
+        double gpa;
+        String email;
+        String phoneNumber;
+        String dateAdded;
+        String status;
+
+        Detached(String studentId, String fullName, String programme,
+                 String level, double gpa, String email, String phoneNumber,
+                 String dateAdded, String status) {
+            this.studentId = studentId;
+            this.fullName = fullName;
+            this.programme = programme;
+            this.level = level;
+            this.gpa = gpa;
+            this.email = email;
+            this.phoneNumber = phoneNumber;
+            this.dateAdded = dateAdded;
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Running dashboard statistics, adjusted by delta on every store mutation so the
+// dashboard, stats label and charts never have to rescan the student list.
+class StudentAggregates implements StudentStore.Listener {
+
+    // Numeric levels sort numerically ("100" < "200"); anything else falls back to text order after them
+    static final Comparator<String> LEVEL_ORDER = (a, b) -> {
+        int x = StudentTable.parseLevelNumber(a), y = StudentTable.parseLevelNumber(b);
+        boolean xNumeric = x != StudentTable.NO_LEVEL, yNumeric = y != StudentTable.NO_LEVEL;
+        if (xNumeric && yNumeric) return Integer.compare(x, y);
+        if (xNumeric) return -1;
+        if (yNumeric) return 1;
+        return a.compareTo(b);
+    };
+
+    private long total;
+    private long active;
+    private long inactive;
+    private double gpaSum;
+    private final Map<String, Long> programmeCounts = new HashMap<>();
+    private final Map<String, Long> levelCounts = new TreeMap<>(LEVEL_ORDER);
+
+    public long getTotal() { return total; }
+    public long getActive() { return active; }
+    public long getInactive() { return inactive; }
+    public double getAverageGpa() { return total > 0 ? gpaSum / total : 0.0; }
+
+    // Live read-only views, keyed by programme / level (levels in LEVEL_ORDER)
+    public Map<String, Long> getProgrammeCounts() { return Collections.unmodifiableMap(programmeCounts); }
+    public Map<String, Long> getLevelCounts() { return Collections.unmodifiableMap(levelCounts); }
+
+    @Override
+    public void studentsAdded(List<Student> added) {
+        apply(added, 1);
+    }
+
+    @Override
+    public void studentsRemoved(List<Student> removed) {
+        apply(removed, -1);
+    }
+
+    @Override
+    public void studentsUpdating(Collection<Student> students) {
+        apply(students, -1);
+    }
+
+    @Override
+    public void studentsUpdated(Collection<Student> students) {
+        apply(students, 1);
+    }
+
+    private void apply(Collection<Student> students, int sign) {
+        // Count the batch into small local maps first, so large batches touch the (ordered)
+        // group maps once per distinct programme / level instead of once per student
+        Map<String, Long> programmes = new HashMap<>();
+        Map<String, Long> levels = new HashMap<>();
+        for (Student student : students) {
+            String status = student.getStatus();
+            if ("Active".equals(status)) {
+                active += sign;
+            } else if ("Inactive".equals(status)) {
+                inactive += sign;
+            }
+            gpaSum += sign * student.getGpa();
+            programmes.merge(student.getProgramme(), 1L, Long::sum);
+            levels.merge(student.getLevel(), 1L, Long::sum);
+        }
+        total += sign * (long) students.size();
+        if (total == 0) {
+            gpaSum = 0.0; // drop accumulated rounding error
+        }
+        programmes.forEach((programme, count) -> adjust(programmeCounts, programme, sign * count));
+        levels.forEach((level, count) -> adjust(levelCounts, level, sign * count));
+    }
+
+    private static void adjust(Map<String, Long> counts, String key, long delta) {
+        // Remove groups that drop to zero so charts don't show empty slices
+        counts.merge(key, delta, (a, b) -> a + b == 0 ? null : a + b);
+    }
+}
@@ -0,0 +1,392 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Read-only JSON API over the roster, for other tools, on the JDK's built-in HTTP server:
+//   GET /api/students/{id}    one student
+//   GET /api/students?search=&programme=&level=&status=&offset=&limit=
+//                             the students the Students tab would list for that search and filters
+//   GET /api/reports          the report types
+//   GET /api/reports/{key}?programme=&level=&status=&from=&to=
+//                             one report's rows
+// Requests never touch the store. They read the latest RosterSnapshot, an immutable copy held in
+// a volatile field: after the store changes, the owner thread copies its columns (at most every
+// PUBLISH_DELAY_MS) and a background thread indexes the copy and swaps it in. Readers therefore
+// take no locks and never wait on, or hold up, the UI; they may see data up to about
+// PUBLISH_DELAY_MS old. Each request runs on its own virtual thread when the JVM has them
+// (Java 21+).
+class StudentApiServer implements StudentStore.Listener, AutoCloseable {
+
+    static final int PUBLISH_DELAY_MS = 500;
+    private static final int DEFAULT_LIMIT = 100;
+    private static final int MAX_LIMIT = 10_000;
+
+    private final StudentStore store;
+    private final Executor ownerThread;
+    private final ScheduledExecutorService publisher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "api-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService requests = requestExecutor();
+    private volatile RosterSnapshot snapshot;
+    private HttpServer server;
+    // Owner thread only
+    private boolean publishScheduled;
+    private boolean closed;
+
+    // The store must have an owner thread (e.g. the FX thread) for snapshots to be taken on
+    StudentApiServer(StudentStore store) {
+        if (store.getOwnerThread() == null) {
+            throw new IllegalArgumentException("The API server needs a store with an owner thread");
+        }
+        this.store = store;
+        this.ownerThread = store.getOwnerThread();
+    }
+
+    // Starts serving and publishes the current roster; call on the owner thread. Requests get
+    // 503 until that first snapshot is in.
+    void start(InetSocketAddress address) throws IOException {
+        store.addListener(this);
+        server = HttpServer.create(address, 0);
+        server.createContext("/api/students", exchange -> handle(exchange, this::students));
+        server.createContext("/api/reports", exchange -> handle(exchange, this::reports));
+        server.setExecutor(requests);
+        server.start();
+        publish();
+    }
+
+    InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    // Call on the owner thread
+    @Override
+    public void close() {
+        closed = true;
+        store.removeListener(this);
+        if (server != null) server.stop(0);
+        publisher.shutdownNow();
+        requests.shutdownNow();
+    }
+
+    // "host:port", or just a port for every interface
+    static InetSocketAddress parseAddress(String text) {
+        String value = text.trim();
+        int colon = value.lastIndexOf(':');
+        try {
+            int port = Integer.parseInt(value.substring(colon + 1));
+            return colon < 0 ? new InetSocketAddress(port) : new InetSocketAddress(value.substring(0, colon), port);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Not a host:port address: " + text);
+        }
+    }
+
+    // One virtual thread per request on Java 21+. Looked up reflectively, as the build still
+    // targets Java 17; older JVMs get a pool of platform threads instead.
+    private static ExecutorService requestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(r -> {
+                Thread thread = new Thread(r, "api-request");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    // ==================== PUBLISHING ====================
+
+    @Override public void studentsAdded(List<Student> added) { changed(); }
+    @Override public void studentsRemoved(List<Student> removed) { changed(); }
+    @Override public void studentsUpdated(Collection<Student> students) { changed(); }
+
+    // On the owner thread: coalesces the changes of the next PUBLISH_DELAY_MS into one copy
+    private void changed() {
+        if (publishScheduled || closed) return;
+        publishScheduled = true;
+        publisher.schedule(() -> ownerThread.execute(this::publish), PUBLISH_DELAY_MS, TimeUnit.MILLISECONDS);
+    }
+
+    // On the owner thread: copies the columns, leaving the indexing to the publisher thread
+    private void publish() {
+        publishScheduled = false;
+        if (closed) return;
+        StudentSnapshot copy = StudentSnapshot.of(store);
+        publisher.execute(() -> snapshot = new RosterSnapshot(copy));
+    }
+
+    // ==================== ENDPOINTS ====================
+
+    // Thrown by an endpoint to answer with an error status
+    private static final class ApiException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        final int status;
+
+        ApiException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    private interface Endpoint {
+        String respond(RosterSnapshot roster, String path, Map<String, String> query);
+    }
+
+    private void handle(HttpExchange exchange, Endpoint endpoint) throws IOException {
+        int status = 200;
+        String body;
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "GET");
+                throw new ApiException(405, "Only GET is supported");
+            }
+            RosterSnapshot roster = snapshot;
+            if (roster == null) throw new ApiException(503, "The roster is still loading");
+            body = endpoint.respond(roster, exchange.getRequestURI().getPath(),
+                    parseQuery(exchange.getRequestURI().getRawQuery()));
+        } catch (ApiException e) {
+            status = e.status;
+            body = error(e.getMessage());
+        } catch (RuntimeException e) {
+            status = 500;
+            body = error("Internal error: " + e);
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private String students(RosterSnapshot roster, String path, Map<String, String> query) {
+        String id = subPath(path, "/api/students");
+        StudentSnapshot records = roster.getRecords();
+        if (!id.isEmpty()) {
+            int position = roster.find(id);
+            if (position < 0) throw new ApiException(404, "No student with ID " + id);
+            StringBuilder json = new StringBuilder(256);
+            appendStudent(json, records, position);
+            return json.toString();
+        }
+
+        // The same criteria updateFilter() builds; "All" (or the filter boxes' "All ..." labels) means no filter
+        StudentSearch.Criteria criteria = new StudentSearch.Criteria(query.get("search"),
+                filterValue(query.get("programme"), "All Programmes"),
+                filterValue(query.get("level"), "All Levels"),
+                filterValue(query.get("status"), "All Status"));
+        int offset = intParameter(query, "offset", 0, Integer.MAX_VALUE);
+        int limit = intParameter(query, "limit", DEFAULT_LIMIT, MAX_LIMIT);
+        int[] matches = roster.search(criteria);
+
+        StringBuilder json = new StringBuilder(128 + 200 * Math.min(limit, matches.length));
+        json.append("{\"version\":").append(roster.getVersion())
+                .append(",\"total\":").append(matches.length)
+                .append(",\"offset\":").append(offset)
+                .append(",\"limit\":").append(limit)
+                .append(",\"students\":[");
+        int end = (int) Math.min(matches.length, (long) offset + limit);
+        for (int i = offset; i < end; i++) {
+            if (i > offset) json.append(',');
+            appendStudent(json, records, matches[i]);
+        }
+        return json.append("]}").toString();
+    }
+
+    private String reports(RosterSnapshot roster, String path, Map<String, String> query) {
+        String key = subPath(path, "/api/reports");
+        if (key.isEmpty()) {
+            StringBuilder json = new StringBuilder("{\"reports\":[");
+            for (int i = 0; i < ReportService.KEYS.size(); i++) {
+                if (i > 0) json.append(',');
+                json.append("{\"key\":");
+                appendString(json, ReportService.KEYS.get(i));
+                json.append(",\"name\":");
+                appendString(json, ReportService.TYPES.get(i));
+                json.append('}');
+            }
+            return json.append("]}").toString();
+        }
+
+        String type = ReportService.typeOf(key);
+        if (type == null) throw new ApiException(404, "No report called " + key);
+        List<ReportRow> rows = roster.report(type, reportFilters(type, query));
+
+        StringBuilder json = new StringBuilder(128 + 64 * rows.size());
+        json.append("{\"version\":").append(roster.getVersion()).append(",\"report\":");
+        appendString(json, key);
+        json.append(",\"name\":");
+        appendString(json, type);
+        json.append(",\"rows\":[");
+        for (int i = 0; i < rows.size(); i++) {
+            ReportRow row = rows.get(i);
+            if (i > 0) json.append(',');
+            json.append("{\"category\":");
+            appendString(json, row.getCategory());
+            if (row.isGpaRow()) {
+                json.append(",\"gpa\":");
+                appendNumber(json, row.getGpa());
+            } else {
+                json.append(",\"count\":").append(row.getCount());
+            }
+            json.append(",\"percentage\":");
+            appendNumber(json, row.getPercentage());
+            json.append('}');
+        }
+        return json.append("]}").toString();
+    }
+
+    // A report's filter values from the query, defaulting as ReportService.defaultFilters() does
+    private static List<Object> reportFilters(String type, Map<String, String> query) {
+        switch (type) {
+            case ReportService.PROGRAMME_LIST:
+                return Collections.singletonList(query.getOrDefault("programme", "All"));
+            case ReportService.LEVEL_LIST:
+                return Collections.singletonList(query.getOrDefault("level", "All"));
+            case ReportService.STATUS:
+                return Collections.singletonList(query.getOrDefault("status", "All"));
+            case ReportService.DATE_RANGE:
+                return Arrays.asList(dateParameter(query, "from", LocalDate.now().minusMonths(1)),
+                        dateParameter(query, "to", LocalDate.now()));
+            default:
+                return ReportService.defaultFilters(type);
+        }
+    }
+
+    // ==================== REQUEST PARSING ====================
+
+    // What follows "base/" in the (decoded) path; empty for the base itself
+    private static String subPath(String path, String base) {
+        if (path.equals(base) || path.equals(base + "/")) return "";
+        if (!path.startsWith(base + "/")) throw new ApiException(404, "Not found: " + path);
+        return path.substring(base.length() + 1);
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        if (rawQuery == null || rawQuery.isEmpty()) return Collections.emptyMap();
+        Map<String, String> query = new HashMap<>();
+        for (String pair : rawQuery.split("&")) {
+            int equals = pair.indexOf('=');
+            String name = equals < 0 ? pair : pair.substring(0, equals);
+            String value = equals < 0 ? "" : pair.substring(equals + 1);
+            try {
+                query.putIfAbsent(URLDecoder.decode(name, StandardCharsets.UTF_8),
+                        URLDecoder.decode(value, StandardCharsets.UTF_8));
+            } catch (IllegalArgumentException e) {
+                throw new ApiException(400, "Malformed query string");
+            }
+        }
+        return query;
+    }
+
+    private static String filterValue(String value, String allLabel) {
+        if (value == null || value.isEmpty() || value.equals("All") || value.equals(allLabel)) return null;
+        return value;
+    }
+
+    private static int intParameter(Map<String, String> query, String name, int defaultValue, int max) {
+        String value = query.get(name);
+        if (value == null || value.isEmpty()) return defaultValue;
+        try {
+            int number = Integer.parseInt(value);
+            if (number >= 0) return Math.min(number, max);
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new ApiException(400, name + " must be a non-negative whole number, not " + value);
+    }
+
+    private static LocalDate dateParameter(Map<String, String> query, String name, LocalDate defaultValue) {
+        String value = query.get(name);
+        if (value == null || value.isEmpty()) return defaultValue;
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new ApiException(400, name + " must be a date such as 2024-09-01, not " + value);
+        }
+    }
+
+    // ==================== JSON ====================
+
+    private static void appendStudent(StringBuilder json, StudentSnapshot records, int i) {
+        json.append("{\"id\":");
+        appendString(json, records.getStudentId(i));
+        json.append(",\"name\":");
+        appendString(json, records.getFullName(i));
+        json.append(",\"programme\":");
+        appendString(json, records.getProgramme(i));
+        json.append(",\"level\":");
+        appendString(json, records.getLevel(i));
+        json.append(",\"gpa\":");
+        appendNumber(json, records.getGpa(i));
+        json.append(",\"email\":");
+        appendString(json, records.getEmail(i));
+        json.append(",\"phone\":");
+        appendString(json, records.getPhoneNumber(i));
+        json.append(",\"dateAdded\":");
+        appendString(json, records.getDateAdded(i));
+        json.append(",\"status\":");
+        appendString(json, records.getStatus(i));
+        json.append('}');
+    }
+
+    private static String error(String message) {
+        StringBuilder json = new StringBuilder("{\"error\":");
+        appendString(json, message);
+        return json.append('}').toString();
+    }
+
+    private static void appendNumber(StringBuilder json, double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            json.append("null");
+        } else {
+            json.append(value);
+        }
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        if (value == null) {
+            json.append("null");
+            return;
+        }
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': json.append("\\\""); break;
+                case '\\': json.append("\\\\"); break;
+                case '\n': json.append("\\n"); break;
+                case '\r': json.append("\\r"); break;
+                case '\t': json.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        json.append('"');
+    }
+}
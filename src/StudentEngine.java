@@ -0,0 +1,125 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+// The application without its UI: the student store, search over it, the report generators and
+// CSV import / export, usable from the JavaFX client, a command line or a server alike. Like the
+// store, an engine is driven from one owner thread. A headless engine (no owner thread) does all
+// its work on the calling thread and needs no display.
+class StudentEngine {
+
+    private static final int IMPORT_BATCH = 50_000;
+
+    private final StudentStore store;
+    private final StudentSearch search;
+    private final ReportService reports;
+
+    StudentEngine() {
+        this(null);
+    }
+
+    // ownerThread is where background work hands its results back to, e.g. Platform::runLater
+    StudentEngine(Executor ownerThread) {
+        this.store = new StudentStore(ownerThread);
+        this.search = new StudentSearch(store);
+        this.reports = new ReportService(store);
+    }
+
+    StudentStore getStore() { return store; }
+    StudentSearch getSearch() { return search; }
+    ReportService getReports() { return reports; }
+
+    // ==================== QUERIES ====================
+
+    Student findById(String studentId) {
+        return store.findById(studentId);
+    }
+
+    // The rows matching the search term and filters, computed synchronously
+    StudentSearch.Result query(StudentSearch.Criteria criteria) {
+        return search.query(criteria);
+    }
+
+    // The matching students, in table order
+    List<Student> find(StudentSearch.Criteria criteria) {
+        List<Student> found = new ArrayList<>();
+        String[] ids = store.getTable().studentIdColumn();
+        query(criteria).forEachRow(row -> found.add(store.findById(ids[row])));
+        return found;
+    }
+
+    List<ReportRow> report(String type, List<?> filters) {
+        return reports.generate(type, filters);
+    }
+
+    // ==================== IMPORT / EXPORT ====================
+
+    // What an import did: students added, rows rejected by the store (duplicate IDs) and
+    // malformed rows, with the first few problems
+    static final class ImportSummary {
+        final long imported;
+        final long rejected;
+        final long malformed;
+        final List<String> problems;
+
+        ImportSummary(long imported, long rejected, long malformed, List<String> problems) {
+            this.imported = imported;
+            this.rejected = rejected;
+            this.malformed = malformed;
+            this.problems = problems;
+        }
+    }
+
+    // Reads the CSV into the store, a batch at a time
+    ImportSummary importCsv(Path file) throws IOException {
+        long imported = 0, rejected = 0;
+        try (CsvImporter importer = new CsvImporter(file)) {
+            List<Student> batch = new ArrayList<>(IMPORT_BATCH);
+            boolean more = true;
+            while (more) {
+                batch.clear();
+                more = importer.readBatch(batch, IMPORT_BATCH);
+                int accepted = store.addAll(batch).size();
+                imported += accepted;
+                rejected += batch.size() - accepted;
+            }
+            return new ImportSummary(imported, rejected, importer.getMalformed(),
+                    Collections.unmodifiableList(importer.getProblems()));
+        }
+    }
+
+    // Writes every student to the file; returns how many were written
+    long exportCsv(Path file) throws IOException {
+        return CsvWriter.writeFile(file, StudentSnapshot.of(store), (written, size) -> true);
+    }
+
+    // ==================== VALIDATION ====================
+
+    // What is wrong with a student form's values, or null if they are acceptable
+    static String validationError(String studentId, String fullName, String programme, String level,
+                                  String gpaText, String email) {
+        if (studentId.trim().isEmpty()) return "Student ID is required!";
+        if (fullName.trim().isEmpty()) return "Full Name is required!";
+        if (programme.trim().isEmpty()) return "Programme is required!";
+        if (level.trim().isEmpty()) return "Level is required!";
+        if (gpaText.trim().isEmpty()) return "GPA is required!";
+        if (email.trim().isEmpty()) return "Email is required!";
+
+        try {
+            double gpa = Double.parseDouble(gpaText.trim());
+            if (gpa < 0 || gpa > 4.0) return "GPA must be between 0.0 and 4.0!";
+        } catch (NumberFormatException e) {
+            return "GPA must be a valid number!";
+        }
+
+        // Email validation (simple)
+        String trimmedEmail = email.trim();
+        if (!trimmedEmail.contains("@") || !trimmedEmail.contains(".")) {
+            return "Please enter a valid email address!";
+        }
+        return null;
+    }
+}
@@ -0,0 +1,439 @@
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+// Write-ahead journal of every store mutation, plus a snapshot it is periodically compacted into.
+// As a store listener it encodes each add / update / delete batch on the store's owner thread and
+// hands the bytes to a writer thread, which appends whatever has queued up and fsyncs once per batch
+// (group commit), so the owner thread never waits on the disk. On startup, restore() loads the
+// snapshot and replays the journal after it, dropping a torn or corrupt tail left by a crash.
+//
+// Journal: header, then records of [int length][int crc32][payload], where the payload is
+// [long sequence][byte type][int count][entries]. The snapshot is a SnapshotFile; records at or
+// below its sequence number are already part of it.
+class StudentJournal implements StudentRepository {
+
+    private static final int JOURNAL_MAGIC = 0x534D534A; // "SMSJ"
+    // Row-per-student snapshots written before the columnar SnapshotFile format (big-endian)
+    private static final int LEGACY_SNAPSHOT_MAGIC = 0x534D5353; // "SMSS"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 8;
+    private static final int MAX_RECORD_BYTES = 256 << 20;
+    // Journal size that triggers compaction into a fresh snapshot
+    private static final long COMPACT_THRESHOLD = 32L << 20;
+
+    private static final byte ADD = 1;
+    private static final byte UPDATE = 2;
+    private static final byte DELETE = 3;
+
+    private final Path journalFile;
+    private final Path snapshotFile;
+    private final Consumer<Exception> onError;
+    // byte[] records, Compactions, or CLOSE
+    private final BlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+    private static final Object CLOSE = new Object();
+    private Thread writer;
+
+    // Owner thread state
+    private StudentStore store;
+    private Executor ownerThread;
+    private long sequence;
+    private final Map<Student, String> idsBeforeUpdate = new IdentityHashMap<>();
+
+    // Writer thread state
+    private FileChannel channel;
+    private boolean compactionRequested;
+    private volatile IOException failure;
+    // Headless only: the journal is due for compaction, requested by the next append
+    private volatile boolean compactionDue;
+
+    // Snapshot of the store taken right after the record with this sequence number was queued
+    private static final class Compaction {
+        final StudentSnapshot snapshot;
+        final long sequence;
+
+        Compaction(StudentSnapshot snapshot, long sequence) {
+            this.snapshot = snapshot;
+            this.sequence = sequence;
+        }
+    }
+
+    // onError is called on the store's owner thread (or, headless, the writer thread) if the
+    // journal can no longer be written
+    StudentJournal(File directory, Consumer<Exception> onError) {
+        this.journalFile = directory.toPath().resolve("students.journal");
+        this.snapshotFile = directory.toPath().resolve("students.snapshot");
+        this.onError = onError;
+    }
+
+    // Loads the snapshot and replays the journal into the (empty) store, then starts journaling
+    // its mutations. Returns false if there was nothing to restore.
+    @Override
+    public boolean restore(StudentStore store) throws IOException {
+        Files.createDirectories(journalFile.getParent());
+        boolean found = Files.exists(snapshotFile) || Files.exists(journalFile);
+        long snapshotSequence = Files.exists(snapshotFile) ? readSnapshot(store) : 0;
+        sequence = Math.max(snapshotSequence, replayJournal(store, snapshotSequence));
+
+        channel = FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        if (channel.size() < HEADER_BYTES) {
+            writeHeader(channel, JOURNAL_MAGIC);
+        }
+        channel.position(channel.size());
+
+        this.store = store;
+        this.ownerThread = store.getOwnerThread();
+        store.addListener(this);
+        writer = new Thread(this::writeLoop, "student-journal");
+        writer.setDaemon(true);
+        writer.start();
+        return found;
+    }
+
+    // Flushes everything queued so far, optionally compacts, and stops the writer. Called on the
+    // owner thread when the application exits; waits (briefly) for the disk.
+    @Override
+    public void close(boolean compact) {
+        if (writer == null) return;
+        if (compact && failure == null) {
+            queue.add(new Compaction(StudentSnapshot.of(store), sequence));
+        }
+        queue.add(CLOSE);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ==================== LISTENER (OWNER THREAD) ====================
+
+    @Override
+    public void studentsAdded(List<Student> added) {
+        append(ADD, added, null);
+    }
+
+    @Override
+    public void studentsRemoved(List<Student> removed) {
+        append(DELETE, removed, null);
+    }
+
+    @Override
+    public void studentsUpdating(Collection<Student> students) {
+        for (Student student : students) {
+            idsBeforeUpdate.put(student, student.getStudentId());
+        }
+    }
+
+    @Override
+    public void studentsUpdated(Collection<Student> students) {
+        append(UPDATE, students, idsBeforeUpdate);
+        idsBeforeUpdate.keySet().removeAll(students);
+    }
+
+    private void append(byte type, Collection<Student> students, Map<Student, String> oldIds) {
+        if (failure != null) return;
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + students.size() * 128);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(0); // length and checksum, filled in below
+            out.writeInt(0);
+            out.writeLong(++sequence);
+            out.writeByte(type);
+            out.writeInt(students.size());
+            for (Student student : students) {
+                if (type == DELETE) {
+                    writeString(out, student.getStudentId());
+                } else {
+                    if (type == UPDATE) {
+                        writeString(out, oldIds.get(student));
+                    }
+                    writeStudent(out, student.getStudentId(), student.getFullName(), student.getProgramme(),
+                            student.getLevel(), student.getGpa(), student.getEmail(), student.getPhoneNumber(),
+                            student.getDateAdded(), student.getStatus());
+                }
+            }
+            out.flush();
+            byte[] record = bytes.toByteArray();
+            CRC32 crc = new CRC32();
+            crc.update(record, 8, record.length - 8);
+            ByteBuffer.wrap(record).putInt(record.length - 8).putInt((int) crc.getValue());
+            queue.add(record);
+            if (compactionDue) {
+                compactionDue = false;
+                requestCompaction();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // in-memory stream; cannot happen
+        }
+    }
+
+    private void requestCompaction() {
+        if (failure != null) return;
+        // Everything journaled so far is queued ahead of the snapshot, so it covers exactly
+        // the records up to the current sequence
+        queue.add(new Compaction(StudentSnapshot.of(store), sequence));
+    }
+
+    // ==================== WRITER THREAD ====================
+
+    private void writeLoop() {
+        List<Object> batch = new ArrayList<>();
+        try {
+            while (true) {
+                batch.add(queue.take());
+                queue.drainTo(batch);
+                boolean dirty = false;
+                for (Object item : batch) {
+                    if (item == CLOSE) {
+                        if (dirty) channel.force(false);
+                        channel.close();
+                        return;
+                    }
+                    if (item instanceof Compaction) {
+                        compact((Compaction) item);
+                        compactionRequested = false;
+                        dirty = false;
+                    } else {
+                        ByteBuffer record = ByteBuffer.wrap((byte[]) item);
+                        while (record.hasRemaining()) {
+                            channel.write(record);
+                        }
+                        dirty = true;
+                    }
+                }
+                if (dirty) {
+                    channel.force(false);
+                }
+                batch.clear();
+                if (channel.size() > COMPACT_THRESHOLD && !compactionRequested) {
+                    compactionRequested = true;
+                    // The snapshot must be taken on the owner thread; headless, the next append does it
+                    if (ownerThread != null) {
+                        ownerThread.execute(this::requestCompaction);
+                    } else {
+                        compactionDue = true;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            failure = e;
+            if (ownerThread != null) {
+                ownerThread.execute(() -> onError.accept(e));
+            } else {
+                onError.accept(e);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Writes the snapshot beside the old one, swaps it in, then empties the journal
+    private void compact(Compaction compaction) throws IOException {
+        channel.force(false);
+        Path temp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        SnapshotFile.write(temp, compaction.snapshot, compaction.sequence);
+        Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        // A crash before this truncation is harmless: replay skips records the snapshot covers
+        channel.truncate(HEADER_BYTES);
+        channel.position(HEADER_BYTES);
+        channel.force(true);
+    }
+
+    // ==================== RESTORE ====================
+
+    private long readSnapshot(StudentStore store) throws IOException {
+        if (!isLegacySnapshot()) {
+            SnapshotFile.Contents contents = SnapshotFile.read(snapshotFile);
+            store.addAll(contents.students);
+            return contents.sequence;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotFile), 1 << 16))) {
+            checkHeader(in, LEGACY_SNAPSHOT_MAGIC, snapshotFile);
+            long snapshotSequence = in.readLong();
+            int count = in.readInt();
+            List<Student> students = new ArrayList<>(Math.min(count, 1 << 20));
+            for (int i = 0; i < count; i++) {
+                students.add(readStudent(in));
+            }
+            store.addAll(students);
+            return snapshotSequence;
+        }
+    }
+
+    private boolean isLegacySnapshot() throws IOException {
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(snapshotFile))) {
+            return in.readInt() == LEGACY_SNAPSHOT_MAGIC && in.readInt() == FORMAT_VERSION;
+        } catch (EOFException e) {
+            return false;
+        }
+    }
+
+    // Applies the records after the snapshot; returns the last sequence number seen
+    private long replayJournal(StudentStore store, long snapshotSequence) throws IOException {
+        if (!Files.exists(journalFile)) return snapshotSequence;
+        long lastSequence = snapshotSequence;
+        long validLength = HEADER_BYTES;
+        long fileLength = Files.size(journalFile);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(journalFile), 1 << 16))) {
+            if (fileLength < HEADER_BYTES) {
+                validLength = 0; // crashed while creating the file; start it again
+            } else {
+                checkHeader(in, JOURNAL_MAGIC, journalFile);
+                while (true) {
+                    byte[] payload = readRecord(in, fileLength - validLength);
+                    if (payload == null) break;
+                    DataInputStream record = new DataInputStream(new ByteArrayInputStream(payload));
+                    long recordSequence = record.readLong();
+                    if (recordSequence > snapshotSequence) {
+                        apply(store, record);
+                    }
+                    lastSequence = Math.max(lastSequence, recordSequence);
+                    validLength += 8 + payload.length;
+                }
+            }
+        }
+        if (validLength < fileLength) {
+            // Torn or corrupt tail from a crash mid-write: everything after it is unreliable
+            System.err.println("Journal: discarding " + (fileLength - validLength) + " bytes of incomplete records");
+            try (FileChannel truncate = FileChannel.open(journalFile, StandardOpenOption.WRITE)) {
+                truncate.truncate(validLength);
+                truncate.force(true);
+            }
+        }
+        return lastSequence;
+    }
+
+    // Next record's payload, or null at the end of the valid records
+    private static byte[] readRecord(DataInputStream in, long remaining) throws IOException {
+        if (remaining < 8) return null;
+        int length = in.readInt();
+        int checksum = in.readInt();
+        if (length <= 0 || length > MAX_RECORD_BYTES || length > remaining - 8) return null;
+        byte[] payload = new byte[length];
+        in.readFully(payload);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue() == checksum ? payload : null;
+    }
+
+    private static void apply(StudentStore store, DataInputStream record) throws IOException {
+        byte type = record.readByte();
+        int count = record.readInt();
+        switch (type) {
+            case ADD: {
+                List<Student> added = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) added.add(readStudent(record));
+                store.addAll(added);
+                break;
+            }
+            case DELETE: {
+                List<Student> removed = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    Student student = store.findById(readString(record));
+                    if (student != null) removed.add(student);
+                }
+                store.removeAll(removed);
+                break;
+            }
+            case UPDATE:
+                for (int i = 0; i < count; i++) {
+                    String oldId = readString(record);
+                    Student values = readStudent(record);
+                    Student student = store.findById(oldId);
+                    if (student == null) continue;
+                    store.update(student, values.getStudentId(), s -> {
+                        s.setFullName(values.getFullName());
+                        s.setProgramme(values.getProgramme());
+                        s.setLevel(values.getLevel());
+                        s.setGpa(values.getGpa());
+                        s.setEmail(values.getEmail());
+                        s.setPhoneNumber(values.getPhoneNumber());
+                        s.setDateAdded(values.getDateAdded());
+                        s.setStatus(values.getStatus());
+                    });
+                }
+                break;
+            default:
+                throw new IOException("Unknown journal record type " + type);
+        }
+    }
+
+    // ==================== ENCODING ====================
+
+    private static void writeHeader(FileChannel channel, int magic) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(magic).putInt(FORMAT_VERSION);
+        header.flip();
+        channel.truncate(0);
+        channel.position(0);
+        while (header.hasRemaining()) channel.write(header);
+        channel.force(true);
+    }
+
+    private static void checkHeader(DataInputStream in, int magic, Path file) throws IOException {
+        if (in.readInt() != magic) throw new IOException(file + " is not a student data file");
+        int version = in.readInt();
+        if (version != FORMAT_VERSION) throw new IOException(file + " has unsupported format version " + version);
+    }
+
+    private static void writeStudent(DataOutputStream out, String studentId, String fullName, String programme,
+                                     String level, double gpa, String email, String phoneNumber,
+                                     String dateAdded, String status) throws IOException {
+        writeString(out, studentId);
+        writeString(out, fullName);
+        writeString(out, programme);
+        writeString(out, level);
+        out.writeDouble(gpa);
+        writeString(out, email);
+        writeString(out, phoneNumber);
+        writeString(out, dateAdded);
+        writeString(out, status);
+    }
+
+    private static Student readStudent(DataInputStream in) throws IOException {
+        return new Student(readString(in), readString(in), readString(in), readString(in), in.readDouble(),
+                readString(in), readString(in), readString(in), readString(in));
+    }
+
+    // Length-prefixed UTF-8; length -1 encodes null
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) return null;
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,116 @@
+import javafx.collections.ModifiableObservableListBase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+// Observable list backing StudentStore. Adds the bulk operations ObservableList lacks,
+// each reported to listeners as a single change no matter how many rows it touches.
+// Keeps each student's position, so reporting an edit costs O(edited) rather than a full scan.
+class StudentList extends ModifiableObservableListBase<Student> {
+
+    private final ArrayList<Student> delegate = new ArrayList<>();
+    private final Map<Student, Integer> positions = new IdentityHashMap<>();
+
+    @Override
+    public Student get(int index) {
+        return delegate.get(index);
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    protected void doAdd(int index, Student element) {
+        delegate.add(index, element);
+        reindexFrom(index);
+    }
+
+    @Override
+    protected Student doSet(int index, Student element) {
+        Student old = delegate.set(index, element);
+        positions.remove(old, index);
+        positions.put(element, index);
+        return old;
+    }
+
+    @Override
+    protected Student doRemove(int index) {
+        Student old = delegate.remove(index);
+        positions.remove(old, index);
+        reindexFrom(index);
+        return old;
+    }
+
+    // Appends all students as one change
+    void appendAll(Collection<Student> students) {
+        if (students.isEmpty()) return;
+        delegate.ensureCapacity(delegate.size() + students.size());
+        beginChange();
+        try {
+            int from = delegate.size();
+            delegate.addAll(students);
+            reindexFrom(from);
+            nextAdd(from, delegate.size());
+        } finally {
+            endChange();
+        }
+    }
+
+    // Removes every student contained in the (identity) set in one compacting pass and one change
+    int removeMatching(Set<Student> students) {
+        if (students.isEmpty()) return 0;
+        int size = delegate.size();
+        int write = 0;
+        beginChange();
+        try {
+            for (int read = 0; read < size; read++) {
+                Student student = delegate.get(read);
+                if (students.contains(student)) {
+                    // Index is relative to the list with earlier removals already applied
+                    positions.remove(student);
+                    nextRemove(write, student);
+                } else {
+                    if (write != read) positions.put(student, write);
+                    delegate.set(write++, student);
+                }
+            }
+            delegate.subList(write, size).clear();
+        } finally {
+            endChange();
+        }
+        return size - write;
+    }
+
+    // Reports in-place edits of the given students as one update change; students not in the
+    // list are ignored
+    void fireUpdated(Collection<Student> students) {
+        int[] rows = new int[students.size()];
+        int count = 0;
+        for (Student student : students) {
+            Integer position = positions.get(student);
+            if (position != null) rows[count++] = position;
+        }
+        if (count == 0) return;
+        Arrays.sort(rows, 0, count);
+        beginChange();
+        try {
+            for (int i = 0; i < count; i++) {
+                if (i == 0 || rows[i] != rows[i - 1]) nextUpdate(rows[i]);
+            }
+        } finally {
+            endChange();
+        }
+    }
+
+    private void reindexFrom(int index) {
+        for (int i = index; i < delegate.size(); i++) {
+            positions.put(delegate.get(i), i);
+        }
+    }
+}
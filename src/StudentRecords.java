@@ -0,0 +1,37 @@
+import java.util.List;
+
+// Read-only, position-indexed access to a roster, independent of where it is held (a heap
+// snapshot, memory-mapped files). Programme, level and status are also exposed as dictionary
+// codes so aggregation never has to decode strings.
+interface StudentRecords {
+
+    int size();
+
+    String getStudentId(int i);
+    String getFullName(int i);
+    String getProgramme(int i);
+    String getLevel(int i);
+    double getGpa(int i);
+    String getEmail(int i);
+    String getPhoneNumber(int i);
+    String getDateAdded(int i);
+    String getStatus(int i);
+
+    int programmeCode(int i);
+    int levelCode(int i);
+    int statusCode(int i);
+
+    // Date added in epoch seconds, or StudentTable.NO_DATE if it isn't a date
+    long dateAddedEpoch(int i);
+
+    // Indexed by code
+    List<String> programmeNames();
+    List<String> levelNames();
+    List<String> statusNames();
+
+    // A new, detached Student holding the values at position i
+    default Student toStudent(int i) {
+        return new Student(getStudentId(i), getFullName(i), getProgramme(i), getLevel(i), getGpa(i),
+                getEmail(i), getPhoneNumber(i), getDateAdded(i), getStatus(i));
+    }
+}
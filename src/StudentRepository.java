@@ -0,0 +1,29 @@
+import java.io.IOException;
+
+// Durable storage behind the student store. A repository fills the store on startup and then,
+// as a store listener, persists every add / update / delete batch the CRUD actions and imports
+// make, so the UI code never talks to the storage format directly.
+interface StudentRepository extends StudentStore.Listener {
+
+    // Loads the saved students into the (empty) store and starts persisting its mutations.
+    // Returns false if there was nothing saved yet.
+    boolean restore(StudentStore store) throws IOException;
+
+    // The summary-based reports, computed by the storage itself; null if this repository
+    // can't aggregate right now (or at all) and the caller should scan the in-memory columns
+    // instead. May block on the storage, so it is called from a background thread, never the
+    // owner thread; it must still not wait behind pending writes.
+    default ReportEngine.Summary summarize() throws IOException {
+        return null;
+    }
+
+    // Bracket a change made of many store batches, such as an import, on the store's owner
+    // thread. A repository with transactions may commit the whole change once, at the end.
+    // Brackets nest (two imports may overlap), so every begin needs exactly one end.
+    default void beginBulkChange() {}
+    default void endBulkChange() {}
+
+    // Persists anything still pending and releases the storage. compact asks for the storage to
+    // be left in its most compact form, where the repository has one.
+    void close(boolean compact);
+}
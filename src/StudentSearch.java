@@ -0,0 +1,368 @@
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+
+// Evaluates the Students tab search and filters on a background thread. A query scans the
+// table's searchable columns in place, without copying them; as a store listener the search
+// records which rows change while the query runs, and the result re-tests just those rows, so it
+// is exact when it reaches the FX thread even if the store kept changing (e.g. during an import).
+// Starting a new query cancels the previous one, and only the latest query's result is handed
+// back. Filters are answered by the store's bitmap indexes, and search terms of three or more
+// characters are narrowed through its trigram index, so usually only candidate rows are verified.
+// A query with filters but no search term needs no scan at all. query() answers the same
+// question synchronously, for headless callers and stores without an owner thread. A read-only
+// roster (StudentRecords) has no indexes, so searching one scans it in the background.
+class StudentSearch implements StudentStore.Listener {
+
+    private static final int CANCEL_CHECK_INTERVAL = 4096;
+
+    private final StudentStore store;
+    private final AtomicLong generation = new AtomicLong();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "student-search");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Rows added, removed or edited since the latest background query started; null when no
+    // query is outstanding. Owner thread only.
+    private RowBitmap changedRows;
+
+    StudentSearch(StudentStore store) {
+        this.store = store;
+        store.addListener(this);
+    }
+
+    // Search term and filter values; null filter values mean "all"
+    static final class Criteria {
+        final String searchTerm;
+        final String programme;
+        final String level;
+        final String status;
+
+        Criteria(String searchTerm, String programme, String level, String status) {
+            this.searchTerm = searchTerm == null ? "" : searchTerm.toLowerCase(Locale.ROOT);
+            this.programme = programme;
+            this.level = level;
+            this.status = status;
+        }
+
+        boolean matchesAll() {
+            return searchTerm.isEmpty() && programme == null && level == null && status == null;
+        }
+
+        boolean matches(Student student) {
+            if (!searchTerm.isEmpty()) {
+                boolean matches = contains(student.getStudentId()) ||
+                        contains(student.getFullName()) ||
+                        contains(student.getEmail()) ||
+                        contains(student.getProgramme());
+                if (!matches) return false;
+            }
+            if (programme != null && !programme.equals(student.getProgramme())) return false;
+            if (level != null && !level.equals(student.getLevel())) return false;
+            return status == null || status.equals(student.getStatus());
+        }
+
+        private boolean contains(String value) {
+            return value != null && value.toLowerCase(Locale.ROOT).contains(searchTerm);
+        }
+    }
+
+    // Finished query. Serves the FilteredList's full re-filter from the precomputed row set,
+    // except for rows that changed while the query ran, which are checked against the criteria
+    // directly; after expire(), so are students added or edited later.
+    static final class Result implements Predicate<Student> {
+        private final Criteria criteria;
+        private final long version;
+        private volatile RowBitmap rows;
+        // Rows the precomputed set may be wrong about; null if none
+        private volatile RowBitmap changed;
+
+        Result(Criteria criteria, long version, RowBitmap rows, RowBitmap changed) {
+            this.criteria = criteria;
+            this.version = version;
+            this.rows = rows;
+            this.changed = changed;
+        }
+
+        // Store version the scan started at
+        long getVersion() { return version; }
+
+        // Number of matching students as of getVersion(); only until expire()
+        long count() { return rows.cardinality(); }
+
+        // Visits the rows matching as of getVersion() in table order; only until expire()
+        void forEachRow(IntConsumer action) { rows.forEach(action); }
+
+        void expire() {
+            rows = null;
+            changed = null;
+        }
+
+        @Override
+        public boolean test(Student student) {
+            RowBitmap precomputed = rows;
+            RowBitmap stale = changed;
+            int row = student.getRow();
+            if (precomputed != null && row >= 0 && (stale == null || !stale.contains(row))) {
+                return precomputed.contains(row);
+            }
+            return criteria.matches(student);
+        }
+    }
+
+    // Starts a query, superseding any query still running. onResult runs on the FX thread, and
+    // only if no newer query has been started in the meantime. A headless store has no owner
+    // thread to hand back to, so there the query runs synchronously.
+    void search(Criteria criteria, Consumer<Result> onResult) {
+        long myGeneration = generation.incrementAndGet();
+        Executor ownerThread = store.getOwnerThread();
+        RowBitmap filtered = store.getBitmapIndex().select(criteria.programme, criteria.level, criteria.status);
+        if (ownerThread == null || (criteria.searchTerm.isEmpty() && filtered != null)) {
+            onResult.accept(query(criteria, filtered));
+            return;
+        }
+
+        RowBitmap changed = new RowBitmap();
+        changedRows = changed;
+        Snapshot snapshot = new Snapshot(store.getTable(), store.getVersion(), candidates(criteria, filtered));
+        executor.execute(() -> {
+            if (generation.get() != myGeneration) return;
+            RowBitmap rows = snapshot.scan(criteria, () -> generation.get() != myGeneration);
+            if (rows == null) return;
+            ownerThread.execute(() -> {
+                if (generation.get() == myGeneration) {
+                    // Rows stop being tracked once the result is delivered; the caller expires it
+                    changedRows = null;
+                    onResult.accept(new Result(criteria, snapshot.version, rows, changed.isEmpty() ? null : changed));
+                }
+            });
+        });
+    }
+
+    // Runs a query to completion on the calling thread, which must be the store's owner. The
+    // scan reads the table in place instead of copying it.
+    Result query(Criteria criteria) {
+        return query(criteria, store.getBitmapIndex().select(criteria.programme, criteria.level, criteria.status));
+    }
+
+    private Result query(Criteria criteria, RowBitmap filtered) {
+        if (criteria.searchTerm.isEmpty() && filtered != null) {
+            // The filter bitmaps are exact, so the intersection is the answer
+            return new Result(criteria, store.getVersion(), filtered, null);
+        }
+        Snapshot columns = new Snapshot(store.getTable(), store.getVersion(), candidates(criteria, filtered));
+        return new Result(criteria, columns.version, columns.scan(criteria, () -> false), null);
+    }
+
+    // Positions in the snapshot matching the criteria, found by a scan on the calling thread.
+    // For readers that work from a published copy of the roster instead of the store.
+    static RowBitmap scan(StudentSnapshot records, Criteria criteria) {
+        return new Snapshot(records).scan(criteria, () -> false);
+    }
+
+    // Starts a query over a read-only roster (such as the memory-mapped one), superseding any
+    // query still running. onResult gets the matching positions on the owner thread, and only if
+    // no newer query has been started in the meantime; headless, the query runs synchronously.
+    void search(StudentRecords records, Criteria criteria, Consumer<RowBitmap> onResult) {
+        long myGeneration = generation.incrementAndGet();
+        Executor ownerThread = store.getOwnerThread();
+        if (ownerThread == null) {
+            onResult.accept(scan(records, criteria, () -> false));
+            return;
+        }
+        executor.execute(() -> {
+            if (generation.get() != myGeneration) return;
+            RowBitmap rows = scan(records, criteria, () -> generation.get() != myGeneration);
+            if (rows == null) return;
+            ownerThread.execute(() -> {
+                if (generation.get() == myGeneration) {
+                    onResult.accept(rows);
+                }
+            });
+        });
+    }
+
+    // Positions in the records matching the criteria, or null if the query was cancelled
+    // part-way. The filters compare codes, so strings are decoded only for rows they leave.
+    static RowBitmap scan(StudentRecords records, Criteria criteria, BooleanSupplier cancelled) {
+        // Records may still be appended; names read after the size cover every code within it
+        int size = records.size();
+        List<String> programmeNames = records.programmeNames();
+        int programmeCode = criteria.programme == null ? -1 : programmeNames.indexOf(criteria.programme);
+        int levelCode = criteria.level == null ? -1 : records.levelNames().indexOf(criteria.level);
+        int statusCode = criteria.status == null ? -1 : records.statusNames().indexOf(criteria.status);
+        RowBitmap matches = new RowBitmap();
+        if ((criteria.programme != null && programmeCode < 0) || (criteria.level != null && levelCode < 0)
+                || (criteria.status != null && statusCode < 0)) {
+            return matches;
+        }
+
+        String term = criteria.searchTerm;
+        boolean[] programmeMatchesTerm = new boolean[programmeNames.size()];
+        for (int p = 0; p < programmeMatchesTerm.length; p++) {
+            String name = programmeNames.get(p);
+            programmeMatchesTerm[p] = name != null && name.toLowerCase(Locale.ROOT).contains(term);
+        }
+
+        for (int i = 0; i < size; i++) {
+            if ((i & (CANCEL_CHECK_INTERVAL - 1)) == 0 && cancelled.getAsBoolean()) return null;
+            int programme = records.programmeCode(i);
+            if (programmeCode >= 0 && programme != programmeCode) continue;
+            if (levelCode >= 0 && records.levelCode(i) != levelCode) continue;
+            if (statusCode >= 0 && records.statusCode(i) != statusCode) continue;
+            if (!term.isEmpty() && !programmeMatchesTerm[programme]
+                    && !Snapshot.contains(records.getStudentId(i), term)
+                    && !Snapshot.contains(records.getFullName(i), term)
+                    && !Snapshot.contains(records.getEmail(i), term)) {
+                continue;
+            }
+            matches.add(i);
+        }
+        return matches;
+    }
+
+    // Rows that can match: the filter intersection narrowed by the trigram index, or null for all
+    private int[] candidates(Criteria criteria, RowBitmap filtered) {
+        RowBitmap candidates = filtered;
+        RowBitmap textCandidates = store.getTrigramIndex().candidates(criteria.searchTerm);
+        if (textCandidates != null) {
+            // The trigram index covers ID, name and email; a term inside a programme name
+            // matches that whole programme
+            RowBitmap termRows = RowBitmap.or(textCandidates, store.getBitmapIndex().programmesContaining(criteria.searchTerm));
+            candidates = candidates == null ? termRows : RowBitmap.and(candidates, termRows);
+        }
+        return candidates == null ? null : candidates.toArray();
+    }
+
+    // Cancels any running query without starting a new one
+    void cancel() {
+        generation.incrementAndGet();
+        changedRows = null;
+    }
+
+    // ==================== CHANGE TRACKING ====================
+
+    @Override
+    public void studentsAdded(List<Student> added) {
+        markChanged(added);
+    }
+
+    @Override
+    public void studentsRemoved(List<Student> removed) {
+        markChanged(removed);
+    }
+
+    @Override
+    public void studentsUpdating(Collection<Student> students) {
+        markChanged(students);
+    }
+
+    private void markChanged(Collection<Student> students) {
+        RowBitmap changed = changedRows;
+        if (changed == null) return;
+        for (Student student : students) {
+            changed.add(student.getRow());
+        }
+    }
+
+    // The searchable columns as of a query's start. The column arrays are shared with the table,
+    // not copied: rows the owner thread writes while a background scan reads them are recorded
+    // in changedRows and re-tested by the Result. Covers either every row up to the high-water
+    // mark, or only the given candidate rows. Dictionary names are copied, as they are few.
+    private static final class Snapshot {
+        final long version;
+        final int size;
+        final int[] rows;
+        final String[] studentId;
+        final String[] fullName;
+        final String[] email;
+        final int[] programme;
+        final int[] level;
+        final int[] status;
+        final List<String> programmeNames;
+        final List<String> levelNames;
+        final List<String> statusNames;
+
+        Snapshot(StudentTable table, long version, int[] rows) {
+            this.version = version;
+            this.rows = rows;
+            size = rows == null ? table.highWater() : rows.length;
+            studentId = table.studentIdColumn();
+            fullName = table.fullNameColumn();
+            email = table.emailColumn();
+            programme = table.programmeColumn();
+            level = table.levelColumn();
+            status = table.statusColumn();
+            programmeNames = new ArrayList<>(table.programmeNames());
+            levelNames = new ArrayList<>(table.levelNames());
+            statusNames = new ArrayList<>(table.statusNames());
+        }
+
+        // Returns the matching rows, or null if the query was cancelled part-way
+        RowBitmap scan(Criteria criteria, BooleanSupplier cancelled) {
+            String term = criteria.searchTerm;
+            int programmeCode = criteria.programme == null ? -1 : programmeNames.indexOf(criteria.programme);
+            int levelCode = criteria.level == null ? -1 : levelNames.indexOf(criteria.level);
+            int statusCode = criteria.status == null ? -1 : statusNames.indexOf(criteria.status);
+            RowBitmap matches = new RowBitmap();
+            if ((criteria.programme != null && programmeCode < 0) || (criteria.level != null && levelCode < 0)
+                    || (criteria.status != null && statusCode < 0)) {
+                return matches;
+            }
+
+            // Programme names are few, so test the search term against each name once
+            boolean[] programmeMatchesTerm = new boolean[programmeNames.size()];
+            for (int p = 0; p < programmeMatchesTerm.length; p++) {
+                programmeMatchesTerm[p] = programmeNames.get(p).toLowerCase(Locale.ROOT).contains(term);
+            }
+
+            for (int i = 0; i < size; i++) {
+                if ((i & (CANCEL_CHECK_INTERVAL - 1)) == 0 && cancelled.getAsBoolean()) return null;
+                int row = rows == null ? i : rows[i];
+                if (status[row] < 0) continue; // free row
+                int p = programme[row];
+                if (programmeCode >= 0 && p != programmeCode) continue;
+                if (levelCode >= 0 && level[row] != levelCode) continue;
+                if (statusCode >= 0 && status[row] != statusCode) continue;
+                // A row edited mid-scan may have a programme newer than the names; it is re-tested anyway
+                if (!term.isEmpty() && !(p < programmeMatchesTerm.length && programmeMatchesTerm[p])
+                        && !contains(studentId[row], term) && !contains(fullName[row], term)
+                        && !contains(email[row], term)) {
+                    continue;
+                }
+                matches.add(row);
+            }
+            return matches;
+        }
+
+        // Shares the snapshot's arrays; positions stand in for rows
+        Snapshot(StudentSnapshot records) {
+            version = records.version;
+            rows = null;
+            size = records.size;
+            studentId = records.studentId;
+            fullName = records.fullName;
+            email = records.email;
+            programme = records.programme;
+            level = records.level;
+            status = records.status;
+            programmeNames = records.programmeNames;
+            levelNames = records.levelNames;
+            statusNames = records.statusNames;
+        }
+
+        private static boolean contains(String value, String term) {
+            return value != null && value.toLowerCase(Locale.ROOT).contains(term);
+        }
+    }
+}
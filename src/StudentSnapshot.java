@@ -0,0 +1,125 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Point-in-time copy of a store's students in list order, taken on the FX thread so background
+// work (persistence, export) can read it while the store keeps changing. Capturing copies the
+// table's columns rather than building one object per student; values are decoded when read.
+final class StudentSnapshot implements StudentRecords {
+
+    // Columns are indexed by list position; programme, level and status hold codes into the name lists
+    final long version;
+    final int size;
+    final String[] studentId;
+    final String[] fullName;
+    final String[] email;
+    final String[] phoneNumber;
+    final double[] gpa;
+    final int[] programme;
+    final int[] level;
+    final int[] status;
+    final long[] dateAdded;
+    // Position -> original text, for dates that don't round-trip through the epoch column
+    final Map<Integer, String> rawDates;
+    final List<String> programmeNames;
+    final List<String> levelNames;
+    final List<String> statusNames;
+
+    // Wraps already-decoded columns, e.g. read back from a snapshot file
+    StudentSnapshot(long version, int size, String[] studentId, String[] fullName, String[] email,
+                    String[] phoneNumber, double[] gpa, int[] programme, int[] level, int[] status,
+                    long[] dateAdded, Map<Integer, String> rawDates, List<String> programmeNames,
+                    List<String> levelNames, List<String> statusNames) {
+        this.version = version;
+        this.size = size;
+        this.studentId = studentId;
+        this.fullName = fullName;
+        this.email = email;
+        this.phoneNumber = phoneNumber;
+        this.gpa = gpa;
+        this.programme = programme;
+        this.level = level;
+        this.status = status;
+        this.dateAdded = dateAdded;
+        this.rawDates = rawDates;
+        this.programmeNames = programmeNames;
+        this.levelNames = levelNames;
+        this.statusNames = statusNames;
+    }
+
+    private StudentSnapshot(StudentStore store) {
+        StudentTable table = store.getTable();
+        List<Student> students = store.getStudents();
+        version = store.getVersion();
+        size = students.size();
+
+        int[] rows = new int[size];
+        int[] positionOfRow = new int[table.highWater()];
+        for (int i = 0; i < size; i++) {
+            rows[i] = students.get(i).getRow();
+            positionOfRow[rows[i]] = i;
+        }
+        studentId = gather(table.studentIdColumn(), rows);
+        fullName = gather(table.fullNameColumn(), rows);
+        email = gather(table.emailColumn(), rows);
+        phoneNumber = gather(table.phoneNumberColumn(), rows);
+        programme = gather(table.programmeColumn(), rows);
+        level = gather(table.levelColumn(), rows);
+        status = gather(table.statusColumn(), rows);
+        gpa = new double[size];
+        dateAdded = new long[size];
+        double[] gpaColumn = table.gpaColumn();
+        long[] dateColumn = table.dateAddedColumn();
+        for (int i = 0; i < size; i++) {
+            gpa[i] = gpaColumn[rows[i]];
+            dateAdded[i] = dateColumn[rows[i]];
+        }
+        rawDates = new HashMap<>();
+        table.rawDates().forEach((row, text) -> rawDates.put(positionOfRow[row], text));
+        programmeNames = new ArrayList<>(table.programmeNames());
+        levelNames = new ArrayList<>(table.levelNames());
+        statusNames = new ArrayList<>(table.statusNames());
+    }
+
+    // Must be called on the thread that mutates the store (the FX thread)
+    static StudentSnapshot of(StudentStore store) {
+        return new StudentSnapshot(store);
+    }
+
+    @Override public int size() { return size; }
+    @Override public String getStudentId(int i) { return studentId[i]; }
+    @Override public String getFullName(int i) { return fullName[i]; }
+    @Override public String getProgramme(int i) { return programmeNames.get(programme[i]); }
+    @Override public String getLevel(int i) { return levelNames.get(level[i]); }
+    @Override public double getGpa(int i) { return gpa[i]; }
+    @Override public String getEmail(int i) { return email[i]; }
+    @Override public String getPhoneNumber(int i) { return phoneNumber[i]; }
+    @Override public String getStatus(int i) { return statusNames.get(status[i]); }
+
+    @Override
+    public String getDateAdded(int i) {
+        String raw = rawDates.get(i);
+        return raw != null ? raw : StudentTable.formatDateAdded(dateAdded[i]);
+    }
+
+    @Override public int programmeCode(int i) { return programme[i]; }
+    @Override public int levelCode(int i) { return level[i]; }
+    @Override public int statusCode(int i) { return status[i]; }
+    @Override public long dateAddedEpoch(int i) { return dateAdded[i]; }
+    @Override public List<String> programmeNames() { return programmeNames; }
+    @Override public List<String> levelNames() { return levelNames; }
+    @Override public List<String> statusNames() { return statusNames; }
+
+    private static String[] gather(String[] column, int[] rows) {
+        String[] values = new String[rows.length];
+        for (int i = 0; i < rows.length; i++) values[i] = column[rows[i]];
+        return values;
+    }
+
+    private static int[] gather(int[] column, int[] rows) {
+        int[] values = new int[rows.length];
+        for (int i = 0; i < rows.length; i++) values[i] = column[rows[i]];
+        return values;
+    }
+}
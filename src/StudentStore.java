@@ -0,0 +1,275 @@
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+// Owns the student list and its columnar StudentTable, and keeps a case-insensitive ID index in sync,
+// so duplicate checks and ID lookups are O(1) instead of a scan over every student.
+// Bulk operations apply a whole batch as one list change, so downstream FilteredLists
+// and views recompute once per batch rather than once per row.
+// The store is not thread-safe: one owner thread (the FX thread in the app) makes every call.
+class StudentStore {
+
+    // Notified of every mutation before the observable list fires its change, so derived
+    // state (aggregates, secondary indexes) is already current when UI listeners run.
+    interface Listener {
+        default void studentsAdded(List<Student> added) {}
+        default void studentsRemoved(List<Student> removed) {}
+        // Called with the students' old values, just before an in-place edit
+        default void studentsUpdating(Collection<Student> students) {}
+        // Called with the new values, after the edit
+        default void studentsUpdated(Collection<Student> students) {}
+    }
+
+    private final StudentTable table = new StudentTable();
+    private final StudentList students = new StudentList();
+    private final ObservableList<Student> readOnlyStudents = FXCollections.unmodifiableObservableList(students);
+    private final Map<String, Student> idIndex = new HashMap<>();
+    private final List<Listener> listeners = new ArrayList<>();
+    // Incremented on every mutation, so derived results can tell whether they are stale
+    private long version;
+    private final StudentAggregates aggregates = new StudentAggregates();
+    private final DateIndex dateIndex = new DateIndex(table);
+    private final TrigramIndex trigramIndex;
+    private final BitmapIndex bitmapIndex = new BitmapIndex(table);
+    private final Executor ownerThread;
+
+    // Owned by the calling thread, for headless use; background work finishes before returning
+    StudentStore() {
+        this(null);
+    }
+
+    // ownerThread runs work handed back from background threads (e.g. a finished index build) on
+    // the owner thread, such as Platform::runLater
+    StudentStore(Executor ownerThread) {
+        this.ownerThread = ownerThread;
+        this.trigramIndex = new TrigramIndex(table, ownerThread);
+        addListener(aggregates);
+        addListener(dateIndex);
+        addListener(trigramIndex);
+        addListener(bitmapIndex);
+    }
+
+    // Read-only view; all mutations must go through the store so the index stays consistent
+    public ObservableList<Student> getStudents() {
+        return readOnlyStudents;
+    }
+
+    // Columnar storage behind the attached students, for scan-heavy code such as reports
+    public StudentTable getTable() {
+        return table;
+    }
+
+    public StudentAggregates getAggregates() {
+        return aggregates;
+    }
+
+    public DateIndex getDateIndex() {
+        return dateIndex;
+    }
+
+    public TrigramIndex getTrigramIndex() {
+        return trigramIndex;
+    }
+
+    public BitmapIndex getBitmapIndex() {
+        return bitmapIndex;
+    }
+
+    // Null for a headless store
+    public Executor getOwnerThread() {
+        return ownerThread;
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return students.size();
+    }
+
+    public boolean containsId(String studentId) {
+        return studentId != null && idIndex.containsKey(key(studentId));
+    }
+
+    public Student findById(String studentId) {
+        return studentId == null ? null : idIndex.get(key(studentId));
+    }
+
+    // Returns false (and adds nothing) if the ID is already taken
+    public boolean add(Student student) {
+        String key = key(student.getStudentId());
+        if (idIndex.putIfAbsent(key, student) != null) {
+            return false;
+        }
+        table.attach(student);
+        version++;
+        List<Student> added = Collections.singletonList(student);
+        listeners.forEach(l -> l.studentsAdded(added));
+        students.add(student);
+        return true;
+    }
+
+    // Adds every student whose ID is not taken (including by an earlier row in the same batch)
+    // as a single change; returns the students that were accepted
+    public List<Student> addAll(Collection<Student> batch) {
+        List<Student> accepted = new ArrayList<>(batch.size());
+        for (Student student : batch) {
+            if (idIndex.putIfAbsent(key(student.getStudentId()), student) == null) {
+                table.attach(student);
+                accepted.add(student);
+            }
+        }
+        if (!accepted.isEmpty()) {
+            version++;
+            listeners.forEach(l -> l.studentsAdded(accepted));
+            students.appendAll(accepted);
+        }
+        return accepted;
+    }
+
+    // Bulk-loads a snapshot (e.g. one restored from disk) as a single change, skipping IDs that
+    // are already taken; returns the students that were accepted
+    public List<Student> addAll(StudentSnapshot snapshot) {
+        // Accepted students get consecutive rows starting at the table's high-water mark
+        int firstRow = table.highWater();
+        int[] positions = new int[snapshot.size];
+        List<Student> accepted = new ArrayList<>(snapshot.size);
+        for (int i = 0; i < snapshot.size; i++) {
+            Student student = new Student(table, firstRow + accepted.size());
+            if (idIndex.putIfAbsent(key(snapshot.studentId[i]), student) == null) {
+                positions[accepted.size()] = i;
+                accepted.add(student);
+            }
+        }
+        table.appendAll(snapshot, Arrays.copyOf(positions, accepted.size()));
+        if (!accepted.isEmpty()) {
+            version++;
+            listeners.forEach(l -> l.studentsAdded(accepted));
+            students.appendAll(accepted);
+        }
+        return accepted;
+    }
+
+    public boolean remove(Student student) {
+        return removeAll(Collections.singletonList(student)) == 1;
+    }
+
+    // Removes all given students as a single change; returns how many were present
+    public int removeAll(Collection<Student> batch) {
+        Set<Student> toRemove = identitySet(batch.size());
+        List<Student> removed = new ArrayList<>(batch.size());
+        for (Student student : batch) {
+            if (contains(student) && toRemove.add(student)) {
+                removed.add(student);
+            }
+        }
+        if (removed.isEmpty()) {
+            return 0;
+        }
+        for (Student student : removed) {
+            idIndex.remove(key(student.getStudentId()));
+        }
+        version++;
+        listeners.forEach(l -> l.studentsRemoved(removed));
+        students.removeMatching(toRemove);
+        // Removed students keep their values but give their rows back to the table
+        removed.forEach(table::detach);
+        return removed.size();
+    }
+
+    // Applies an in-place edit and notifies listeners. Edits must not change the student ID;
+    // use update(student, newId, edit) or changeId() for that so the index is re-keyed.
+    public void update(Student student, Consumer<Student> edit) {
+        updateAll(Collections.singletonList(student), edit);
+    }
+
+    // Applies the same in-place edit to every student and reports it as a single update change
+    public void updateAll(Collection<Student> batch, Consumer<Student> edit) {
+        // Students that are not (or no longer) in the store are edited but not reported
+        List<Student> members = new ArrayList<>(batch.size());
+        for (Student student : batch) {
+            if (contains(student)) {
+                members.add(student);
+            } else {
+                edit.accept(student);
+            }
+        }
+        if (members.isEmpty()) return;
+        version++;
+        listeners.forEach(l -> l.studentsUpdating(members));
+        members.forEach(edit);
+        listeners.forEach(l -> l.studentsUpdated(members));
+        students.fireUpdated(members);
+    }
+
+    // Re-keys a student in the index; returns false if another student already owns the new ID
+    public boolean changeId(Student student, String newId) {
+        if (newId.equals(student.getStudentId())) {
+            return true;
+        }
+        return update(student, newId, s -> {});
+    }
+
+    // Changes the student ID and applies an in-place edit as a single update change, re-keying the
+    // index; returns false (and changes nothing) if another student already owns the new ID
+    public boolean update(Student student, String newId, Consumer<Student> edit) {
+        if (!contains(student)) {
+            student.setStudentId(newId);
+            edit.accept(student);
+            return true;
+        }
+        String oldKey = key(student.getStudentId());
+        String newKey = key(newId);
+        if (!oldKey.equals(newKey)) {
+            Student owner = idIndex.get(newKey);
+            if (owner != null && owner != student) {
+                return false;
+            }
+            idIndex.remove(oldKey, student);
+            idIndex.put(newKey, student);
+        }
+        // The index is already re-keyed, so notify listeners directly rather than via updateAll()
+        version++;
+        List<Student> changed = Collections.singletonList(student);
+        listeners.forEach(l -> l.studentsUpdating(changed));
+        student.setStudentId(newId);
+        edit.accept(student);
+        listeners.forEach(l -> l.studentsUpdated(changed));
+        students.fireUpdated(changed);
+        return true;
+    }
+
+    // The index holds exactly the students in the list, so it doubles as a membership test
+    private boolean contains(Student student) {
+        return idIndex.get(key(student.getStudentId())) == student;
+    }
+
+    private static Set<Student> identitySet(int expectedSize) {
+        return Collections.newSetFromMap(new IdentityHashMap<>(expectedSize * 2));
+    }
+
+    private static String key(String studentId) {
+        return studentId.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,337 @@
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Columnar backing store for the students that belong to a StudentStore. Each attached
+// Student is a view over one row. Programme, level and status are dictionary-encoded,
+// GPA and level are primitive columns, and dateAdded is kept as epoch seconds, so scans
+// read dense arrays instead of following pointers through one object per student.
+class StudentTable {
+
+    // Status code of a row that is not in use
+    static final int FREE = -1;
+    // Level number for levels that are not plain integers
+    static final int NO_LEVEL = Integer.MIN_VALUE;
+    // Epoch value for dates that could not be parsed
+    static final long NO_DATE = Long.MIN_VALUE;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final StringDictionary programmes = new StringDictionary();
+    private final StringDictionary levels = new StringDictionary();
+    private final StringDictionary statuses = new StringDictionary();
+
+    private String[] studentId = new String[INITIAL_CAPACITY];
+    private String[] fullName = new String[INITIAL_CAPACITY];
+    private String[] email = new String[INITIAL_CAPACITY];
+    private String[] phoneNumber = new String[INITIAL_CAPACITY];
+    private int[] programme = new int[INITIAL_CAPACITY];
+    private int[] level = new int[INITIAL_CAPACITY];
+    private int[] levelNumber = new int[INITIAL_CAPACITY];
+    private int[] status = new int[INITIAL_CAPACITY];
+    private double[] gpa = new double[INITIAL_CAPACITY];
+    private long[] dateAdded = new long[INITIAL_CAPACITY];
+    // Original text for the few dates that don't round-trip through the epoch column
+    private final Map<Integer, String> rawDates = new HashMap<>();
+
+    // Rows [0, highWater) have been handed out at least once; freed rows are reused first
+    private int highWater;
+    private int[] freeRows = new int[16];
+    private int freeCount;
+
+    // ==================== ATTACH / DETACH ====================
+
+    // Moves a detached student's values into a new row and points the student at it
+    void attach(Student student) {
+        int row = allocate();
+        studentId[row] = student.getStudentId();
+        fullName[row] = student.getFullName();
+        email[row] = student.getEmail();
+        phoneNumber[row] = student.getPhoneNumber();
+        gpa[row] = student.getGpa();
+        writeProgramme(row, student.getProgramme());
+        writeLevel(row, student.getLevel());
+        writeStatus(row, student.getStatus());
+        writeDateAdded(row, student.getDateAdded());
+        student.attachTo(this, row);
+    }
+
+    // Copies the row back into the student so it stays usable, then frees the row
+    void detach(Student student) {
+        int row = student.getRow();
+        student.detachFrom(new Student.Detached(
+                studentId[row], fullName[row], getProgramme(row), getLevel(row), gpa[row],
+                email[row], phoneNumber[row], getDateAdded(row), getStatus(row)));
+        studentId[row] = fullName[row] = email[row] = phoneNumber[row] = null;
+        rawDates.remove(row);
+        status[row] = FREE;
+        if (freeCount == freeRows.length) {
+            freeRows = Arrays.copyOf(freeRows, freeCount * 2);
+        }
+        freeRows[freeCount++] = row;
+    }
+
+    // Bulk load: appends the snapshot's students at the given positions as rows highWater(),
+    // highWater() + 1, ..., copying columns directly instead of attaching students one by one
+    void appendAll(StudentSnapshot snapshot, int[] positions) {
+        int first = highWater;
+        if (first + positions.length > gpa.length) {
+            grow(Math.max(first + positions.length, gpa.length * 2));
+        }
+        // Translate the snapshot's dictionary codes into this table's once per distinct value
+        int[] programmeCodes = encodeAll(programmes, snapshot.programmeNames);
+        int[] levelCodes = encodeAll(levels, snapshot.levelNames);
+        int[] statusCodes = encodeAll(statuses, snapshot.statusNames);
+        int[] levelNumbers = new int[snapshot.levelNames.size()];
+        for (int l = 0; l < levelNumbers.length; l++) {
+            levelNumbers[l] = parseLevelNumber(snapshot.levelNames.get(l));
+        }
+
+        for (int j = 0; j < positions.length; j++) {
+            int i = positions[j];
+            int row = first + j;
+            studentId[row] = snapshot.studentId[i];
+            fullName[row] = snapshot.fullName[i];
+            email[row] = snapshot.email[i];
+            phoneNumber[row] = snapshot.phoneNumber[i];
+            gpa[row] = snapshot.gpa[i];
+            programme[row] = programmeCodes[snapshot.programme[i]];
+            level[row] = levelCodes[snapshot.level[i]];
+            levelNumber[row] = levelNumbers[snapshot.level[i]];
+            status[row] = statusCodes[snapshot.status[i]];
+            dateAdded[row] = snapshot.dateAdded[i];
+            if (!snapshot.rawDates.isEmpty()) {
+                String raw = snapshot.rawDates.get(i);
+                if (raw != null) rawDates.put(row, raw);
+            }
+        }
+        highWater = first + positions.length;
+    }
+
+    private static int[] encodeAll(StringDictionary dictionary, List<String> values) {
+        int[] codes = new int[values.size()];
+        for (int c = 0; c < codes.length; c++) {
+            codes[c] = dictionary.encode(values.get(c));
+        }
+        return codes;
+    }
+
+    private int allocate() {
+        if (freeCount > 0) {
+            return freeRows[--freeCount];
+        }
+        if (highWater == gpa.length) {
+            grow(highWater * 2);
+        }
+        return highWater++;
+    }
+
+    private void grow(int capacity) {
+        studentId = Arrays.copyOf(studentId, capacity);
+        fullName = Arrays.copyOf(fullName, capacity);
+        email = Arrays.copyOf(email, capacity);
+        phoneNumber = Arrays.copyOf(phoneNumber, capacity);
+        programme = Arrays.copyOf(programme, capacity);
+        level = Arrays.copyOf(level, capacity);
+        levelNumber = Arrays.copyOf(levelNumber, capacity);
+        status = Arrays.copyOf(status, capacity);
+        gpa = Arrays.copyOf(gpa, capacity);
+        dateAdded = Arrays.copyOf(dateAdded, capacity);
+    }
+
+    // ==================== ROW ACCESS ====================
+
+    String getStudentId(int row) { return studentId[row]; }
+    String getFullName(int row) { return fullName[row]; }
+    String getProgramme(int row) { return programmes.decode(programme[row]); }
+    String getLevel(int row) { return levels.decode(level[row]); }
+    double getGpa(int row) { return gpa[row]; }
+    String getEmail(int row) { return email[row]; }
+    String getPhoneNumber(int row) { return phoneNumber[row]; }
+    String getStatus(int row) { return statuses.decode(status[row]); }
+    long getDateAddedEpoch(int row) { return dateAdded[row]; }
+
+    String getDateAdded(int row) {
+        String raw = rawDates.get(row);
+        return raw != null ? raw : formatDateAdded(dateAdded[row]);
+    }
+
+    void setStudentId(int row, String value) { studentId[row] = value; }
+    void setFullName(int row, String value) { fullName[row] = value; }
+    void setProgramme(int row, String value) { writeProgramme(row, value); }
+    void setLevel(int row, String value) { writeLevel(row, value); }
+    void setGpa(int row, double value) { gpa[row] = value; }
+    void setEmail(int row, String value) { email[row] = value; }
+    void setPhoneNumber(int row, String value) { phoneNumber[row] = value; }
+    void setDateAdded(int row, String value) { writeDateAdded(row, value); }
+    void setStatus(int row, String value) { writeStatus(row, value); }
+
+    private void writeProgramme(int row, String value) {
+        programme[row] = programmes.encode(value);
+    }
+
+    private void writeLevel(int row, String value) {
+        level[row] = levels.encode(value);
+        levelNumber[row] = parseLevelNumber(value);
+    }
+
+    private void writeStatus(int row, String value) {
+        status[row] = statuses.encode(value);
+    }
+
+    private void writeDateAdded(int row, String value) {
+        if (value == null) value = "";
+        long epoch = parseDateAdded(value);
+        dateAdded[row] = epoch;
+        if (epoch == NO_DATE || !isCanonicalDate(value)) {
+            rawDates.put(row, value);
+        } else {
+            rawDates.remove(row);
+        }
+    }
+
+    // ==================== COLUMN ACCESS ====================
+    // Raw arrays for scans. Valid until the next mutation; rows whose status is FREE must be skipped.
+
+    int highWater() { return highWater; }
+    String[] studentIdColumn() { return studentId; }
+    String[] fullNameColumn() { return fullName; }
+    String[] emailColumn() { return email; }
+    String[] phoneNumberColumn() { return phoneNumber; }
+    double[] gpaColumn() { return gpa; }
+    int[] programmeColumn() { return programme; }
+    int[] levelColumn() { return level; }
+    int[] levelNumberColumn() { return levelNumber; }
+    int[] statusColumn() { return status; }
+    long[] dateAddedColumn() { return dateAdded; }
+
+    // Original dateAdded text of the rows whose date doesn't round-trip through the epoch column
+    Map<Integer, String> rawDates() { return Collections.unmodifiableMap(rawDates); }
+
+    List<String> programmeNames() { return programmes.values(); }
+    List<String> levelNames() { return levels.values(); }
+    List<String> statusNames() { return statuses.values(); }
+
+    // Dictionary code of a value, or -1 if no row has ever held it
+    int programmeCode(String value) { return programmes.codeOf(value); }
+    int levelCode(String value) { return levels.codeOf(value); }
+    int statusCode(String value) { return statuses.codeOf(value); }
+
+    // ==================== DATE ENCODING ====================
+
+    // Parses "yyyy-MM-dd HH:mm:ss" (or a bare "yyyy-MM-dd" prefix) into epoch seconds, treating the
+    // local timestamp as UTC. Returns NO_DATE instead of throwing, so dirty data stays cheap.
+    static long parseDateAdded(String text) {
+        if (text == null || text.length() < 10 || text.charAt(4) != '-' || text.charAt(7) != '-') {
+            return NO_DATE;
+        }
+        int year = digits(text, 0, 4), month = digits(text, 5, 2), day = digits(text, 8, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)) {
+            return NO_DATE;
+        }
+        long seconds = epochDay(year, month, day) * 86_400L;
+        if (text.length() >= 19 && text.charAt(10) == ' ' && text.charAt(13) == ':' && text.charAt(16) == ':') {
+            int hour = digits(text, 11, 2), minute = digits(text, 14, 2), second = digits(text, 17, 2);
+            if (hour >= 0 && hour < 24 && minute >= 0 && minute < 60 && second >= 0 && second < 60) {
+                seconds += hour * 3600L + minute * 60L + second;
+            }
+        }
+        return seconds;
+    }
+
+    // True if the text is exactly what formatDateAdded() would produce for its parsed value
+    static boolean isCanonicalDate(String text) {
+        if (text.length() != 19 || text.charAt(10) != ' ' || text.charAt(13) != ':' || text.charAt(16) != ':') {
+            return false;
+        }
+        int hour = digits(text, 11, 2), minute = digits(text, 14, 2), second = digits(text, 17, 2);
+        return hour >= 0 && hour < 24 && minute >= 0 && minute < 60 && second >= 0 && second < 60;
+    }
+
+    static String formatDateAdded(long epochSeconds) {
+        char[] out = new char[19];
+        formatDateAdded(epochSeconds, out);
+        return new String(out);
+    }
+
+    // Writes the 19-character "yyyy-MM-dd HH:mm:ss" form into out, for callers reusing a buffer
+    static void formatDateAdded(long epochSeconds, char[] out) {
+        long day = Math.floorDiv(epochSeconds, 86_400L);
+        int secs = (int) Math.floorMod(epochSeconds, 86_400L);
+        // Civil-from-days (proleptic Gregorian), same calendar as LocalDate
+        long z = day + 719_468;
+        long era = Math.floorDiv(z, 146_097);
+        long doe = z - era * 146_097;
+        long yoe = (doe - doe / 1460 + doe / 36_524 - doe / 146_096) / 365;
+        long doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        long mp = (5 * doy + 2) / 153;
+        int d = (int) (doy - (153 * mp + 2) / 5 + 1);
+        int m = (int) (mp < 10 ? mp + 3 : mp - 9);
+        long y = yoe + era * 400 + (m <= 2 ? 1 : 0);
+
+        pad(out, 0, y, 4);
+        out[4] = '-';
+        pad(out, 5, m, 2);
+        out[7] = '-';
+        pad(out, 8, d, 2);
+        out[10] = ' ';
+        pad(out, 11, secs / 3600, 2);
+        out[13] = ':';
+        pad(out, 14, secs / 60 % 60, 2);
+        out[16] = ':';
+        pad(out, 17, secs % 60, 2);
+    }
+
+    static long epochDay(int year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yoe = y - era * 400;
+        long doy = (153L * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        long doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * 146_097 + doe - 719_468;
+    }
+
+    private static int daysInMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+                return leap ? 29 : 28;
+            case 4: case 6: case 9: case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    private static int digits(String text, int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) return -1;
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static void pad(char[] out, int at, long value, int width) {
+        for (int i = at + width - 1; i >= at; i--) {
+            out[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    // The level as a number ("100" -> 100), or NO_LEVEL unless it is all digits; never throws, so
+    // dirty levels cost no exceptions
+    static int parseLevelNumber(String level) {
+        if (level == null || level.isEmpty() || level.length() > 9) return NO_LEVEL;
+        int value = 0;
+        for (int i = 0; i < level.length(); i++) {
+            int digit = level.charAt(i) - '0';
+            if (digit < 0 || digit > 9) return NO_LEVEL;
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,295 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+// Deterministic generator of realistic students for load and scale testing. Row n is a pure
+// function of (seed, n), so the same seed always yields the same roster however it is batched,
+// and the CSV and the in-memory form of a run describe the same students. Programmes and levels
+// are skewed like a real intake, GPAs follow a bell curve that differs a little by programme,
+// dates spread over several academic years (mostly around the September intake) and older
+// students are likelier to be inactive. A configurable fraction of rows reuse an earlier ID
+// (duplicates) or are malformed; malformed rows only exist in the CSV form, and are left out of
+// snapshots just as an import would reject them. The generator is a cursor: each call continues
+// where the previous one stopped.
+final class SyntheticRoster {
+
+    static final List<String> PROGRAMMES = List.of("Computer Science", "Engineering", "Business", "Medicine", "Arts", "Law");
+    private static final double[] PROGRAMME_SHARE = {0.28, 0.22, 0.20, 0.10, 0.12, 0.08};
+    // Mean GPA offset per programme
+    private static final double[] PROGRAMME_GPA = {0.0, -0.10, 0.05, 0.20, 0.10, 0.0};
+    static final List<String> LEVELS = List.of("100", "200", "300", "400", "500");
+    // Cohorts shrink with attrition; only Medicine has a fifth year
+    private static final double[] LEVEL_SHARE = {0.31, 0.27, 0.23, 0.19};
+    private static final double[] MEDICINE_LEVEL_SHARE = {0.24, 0.22, 0.20, 0.18, 0.16};
+    static final List<String> STATUSES = List.of("Active", "Inactive");
+
+    private static final String[] FIRST_NAMES = {"Kwame", "Ama", "Kofi", "Akosua", "Yaw", "Abena", "Kwesi", "Efua",
+            "Kojo", "Adwoa", "John", "Mary", "David", "Grace", "Samuel", "Esther", "Daniel", "Ruth", "Emmanuel",
+            "Priscilla", "Michael", "Sarah", "Joseph", "Linda", "Isaac", "Mercy", "Peter", "Joyce", "Paul", "Hannah"};
+    private static final String[] LAST_NAMES = {"Mensah", "Owusu", "Boateng", "Asante", "Osei", "Agyeman", "Appiah",
+            "Amoah", "Addo", "Danso", "Ofori", "Darko", "Nkrumah", "Quaye", "Tetteh", "Smith", "Johnson", "Brown",
+            "Wilson", "Taylor", "Adjei", "Bonsu", "Frimpong", "Acheampong", "Sarpong"};
+    private static final String[] PHONE_PREFIXES = {"024", "054", "055", "020", "050", "027", "026"};
+    private static final String EMAIL_DOMAIN = "@st.school.edu.gh";
+
+    // Dates fall in the five academic years before this (fixed, so output doesn't depend on today)
+    private static final long LAST_DAY = StudentTable.epochDay(2025, 8, 31);
+    private static final int YEARS = 5;
+
+    private static final int MALFORMED_KINDS = 3;
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    // Precomputed per first/last name pair, so a row's name costs no allocation
+    private static final String[] FULL_NAMES = new String[FIRST_NAMES.length * LAST_NAMES.length];
+    private static final String[] EMAIL_PREFIXES = new String[FULL_NAMES.length];
+
+    static {
+        for (int f = 0; f < FIRST_NAMES.length; f++) {
+            for (int l = 0; l < LAST_NAMES.length; l++) {
+                FULL_NAMES[f * LAST_NAMES.length + l] = FIRST_NAMES[f] + " " + LAST_NAMES[l];
+                EMAIL_PREFIXES[f * LAST_NAMES.length + l] = (FIRST_NAMES[f] + "." + LAST_NAMES[l]).toLowerCase();
+            }
+        }
+    }
+
+    private final long seed;
+    private final double malformedFraction;
+    private final double duplicateFraction;
+    private long position;
+
+    // Values of the row being generated
+    private long random;
+    private boolean malformed;
+    private int malformedKind;
+    private long idNumber;
+    private int name;
+    private int programme;
+    private int level;
+    private int gpaHundredths;
+    private long dateAdded;
+    private int phonePrefix;
+    private int phoneNumber;
+    private int status;
+
+    SyntheticRoster(long seed, double malformedFraction, double duplicateFraction) {
+        this.seed = seed;
+        this.malformedFraction = malformedFraction;
+        this.duplicateFraction = duplicateFraction;
+    }
+
+    // Clean rows only: no duplicates, nothing malformed
+    SyntheticRoster(long seed) {
+        this(seed, 0, 0);
+    }
+
+    // Rows generated so far
+    long getPosition() { return position; }
+
+    // Continues the sequence from the given row, e.g. to generate IDs after ones already loaded
+    void seek(long row) { position = row; }
+
+    // ==================== IN-MEMORY ====================
+
+    // The next count rows as a snapshot for StudentStore.addAll(StudentSnapshot). Malformed rows
+    // are skipped; duplicate IDs are kept, for the store to reject.
+    StudentSnapshot nextSnapshot(int count) {
+        String[] studentId = new String[count];
+        String[] fullName = new String[count];
+        String[] email = new String[count];
+        String[] phone = new String[count];
+        double[] gpa = new double[count];
+        int[] programmeCode = new int[count];
+        int[] levelCode = new int[count];
+        int[] statusCode = new int[count];
+        long[] date = new long[count];
+        char[] chars = new char[20];
+        StringBuilder text = new StringBuilder(64);
+
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            generate(position++);
+            if (malformed) continue;
+            studentId[size] = new String(chars, 0, formatId(idNumber, chars));
+            fullName[size] = FULL_NAMES[name];
+            text.setLength(0);
+            email[size] = text.append(EMAIL_PREFIXES[name]).append(idNumber).append(EMAIL_DOMAIN).toString();
+            phone[size] = new String(chars, 0, formatPhone(chars));
+            gpa[size] = gpaHundredths / 100.0;
+            programmeCode[size] = programme;
+            levelCode[size] = level;
+            statusCode[size] = status;
+            date[size] = dateAdded;
+            size++;
+        }
+        return new StudentSnapshot(0, size, Arrays.copyOf(studentId, size), Arrays.copyOf(fullName, size),
+                Arrays.copyOf(email, size), Arrays.copyOf(phone, size), Arrays.copyOf(gpa, size),
+                Arrays.copyOf(programmeCode, size), Arrays.copyOf(levelCode, size), Arrays.copyOf(statusCode, size),
+                Arrays.copyOf(date, size), new HashMap<>(), PROGRAMMES, LEVELS, STATUSES);
+    }
+
+    // ==================== CSV ====================
+
+    // Writes a header and the next count rows in the import format. Everything generated is
+    // ASCII, so rows are encoded straight into the buffer without a charset encoder.
+    void writeCsv(WritableByteChannel channel, long count) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+        byte[] line = new byte[256];
+        char[] chars = new char[19];
+        buffer.put(CsvWriter.HEADER.getBytes(StandardCharsets.US_ASCII)).put((byte) '\r').put((byte) '\n');
+        for (long i = 0; i < count; i++) {
+            generate(position++);
+            int length = formatRow(line, chars);
+            if (buffer.remaining() < length) {
+                drain(channel, buffer);
+            }
+            buffer.put(line, 0, length);
+        }
+        drain(channel, buffer);
+    }
+
+    private int formatRow(byte[] out, char[] chars) {
+        int n = 0;
+        int length = formatId(idNumber, chars);
+        for (int c = 0; c < length; c++) out[n++] = (byte) chars[c];
+        out[n++] = ',';
+        if (malformed && malformedKind == 0) {
+            // Text after a closing quote
+            out[n++] = '"';
+            n = put(out, n, FULL_NAMES[name]);
+            out[n++] = '"';
+            out[n++] = 'x';
+        } else {
+            n = put(out, n, FULL_NAMES[name]);
+        }
+        out[n++] = ',';
+        n = put(out, n, PROGRAMMES.get(programme));
+        if (malformed && malformedKind == 1) {
+            // Truncated row
+            out[n++] = '\r';
+            out[n++] = '\n';
+            return n;
+        }
+        out[n++] = ',';
+        n = put(out, n, LEVELS.get(level));
+        out[n++] = ',';
+        if (malformed && malformedKind == 2) {
+            n = put(out, n, "n/a");
+        } else {
+            out[n++] = (byte) ('0' + gpaHundredths / 100);
+            out[n++] = '.';
+            out[n++] = (byte) ('0' + gpaHundredths / 10 % 10);
+            out[n++] = (byte) ('0' + gpaHundredths % 10);
+        }
+        out[n++] = ',';
+        n = put(out, n, EMAIL_PREFIXES[name]);
+        n = putNumber(out, n, idNumber);
+        n = put(out, n, EMAIL_DOMAIN);
+        out[n++] = ',';
+        length = formatPhone(chars);
+        for (int c = 0; c < length; c++) out[n++] = (byte) chars[c];
+        out[n++] = ',';
+        StudentTable.formatDateAdded(dateAdded, chars);
+        for (char c : chars) out[n++] = (byte) c;
+        out[n++] = ',';
+        n = put(out, n, STATUSES.get(status));
+        out[n++] = '\r';
+        out[n++] = '\n';
+        return n;
+    }
+
+    private static int put(byte[] out, int n, String ascii) {
+        for (int c = 0; c < ascii.length(); c++) out[n++] = (byte) ascii.charAt(c);
+        return n;
+    }
+
+    private static int putNumber(byte[] out, int n, long value) {
+        if (value >= 10) n = putNumber(out, n, value / 10);
+        out[n++] = (byte) ('0' + value % 10);
+        return n;
+    }
+
+    private static void drain(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // "S" and the number zero-padded to eight digits (more if needed); returns the length
+    private static int formatId(long number, char[] out) {
+        out[0] = 'S';
+        long value = number + 1;
+        int digits = Math.max(8, (int) Math.log10(value) + 1);
+        for (int c = digits; c >= 1; c--) {
+            out[c] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return digits + 1;
+    }
+
+    // Prefix and seven digits; returns the length
+    private int formatPhone(char[] out) {
+        String prefix = PHONE_PREFIXES[phonePrefix];
+        prefix.getChars(0, 3, out, 0);
+        int value = phoneNumber;
+        for (int c = 9; c >= 3; c--) {
+            out[c] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return 10;
+    }
+
+    // ==================== ROW GENERATION ====================
+
+    private void generate(long row) {
+        random = seed ^ (row * 0x9E3779B97F4A7C15L);
+        malformed = uniform() < malformedFraction;
+        malformedKind = (int) (uniform() * MALFORMED_KINDS);
+        idNumber = row > 0 && uniform() < duplicateFraction ? (long) (uniform() * row) : row;
+        name = (int) (uniform() * FULL_NAMES.length);
+        programme = pick(PROGRAMME_SHARE);
+        level = programme == 3 ? pick(MEDICINE_LEVEL_SHARE) : pick(LEVEL_SHARE);
+
+        double gpa = 3.0 + PROGRAMME_GPA[programme] + 0.55 * normal();
+        gpaHundredths = (int) Math.round(Math.max(0.0, Math.min(4.0, gpa)) * 100);
+
+        // Most students are added around the start of an academic year (September), the rest spread over it
+        int yearsAgo = (int) (uniform() * YEARS);
+        int dayOfYear = uniform() < 0.7 ? (int) (Math.abs(normal()) * 20) : (int) (uniform() * 365);
+        long day = LAST_DAY - 365L * (yearsAgo + 1) + 1 + dayOfYear;
+        long secondOfDay = 8 * 3600 + (long) (uniform() * 9 * 3600);
+        dateAdded = day * 86_400L + secondOfDay;
+
+        phonePrefix = (int) (uniform() * PHONE_PREFIXES.length);
+        phoneNumber = (int) (uniform() * 10_000_000);
+        status = uniform() < 0.04 + 0.06 * yearsAgo ? 1 : 0;
+    }
+
+    private int pick(double[] shares) {
+        double u = uniform();
+        for (int i = 0; i < shares.length - 1; i++) {
+            u -= shares[i];
+            if (u < 0) return i;
+        }
+        return shares.length - 1;
+    }
+
+    // Roughly standard normal: sum of four uniforms (Irwin-Hall), rescaled to unit variance
+    private double normal() {
+        return (uniform() + uniform() + uniform() + uniform() - 2.0) * 1.7320508075688772;
+    }
+
+    // SplitMix64 step, as a double in [0, 1)
+    private double uniform() {
+        long z = (random += 0x9E3779B97F4A7C15L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z = z ^ (z >>> 31);
+        return (z >>> 11) * 0x1.0p-53;
+    }
+}
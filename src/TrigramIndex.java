@@ -0,0 +1,301 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+// Inverted index from every three-character substring of a student's lowercased ID, name
+// and email to the table rows containing it. A substring query of three or more characters
+// intersects the posting lists of its trigrams, leaving only a few candidate rows to verify.
+// Very large batches (such as a restored snapshot) are indexed on a background thread; until
+// that build finishes the index answers nothing and searches fall back to a scan, and a build
+// that fails is started again by the next search. Without an owner thread to hand a finished
+// build back to (headless use), the index is instead marked stale and rebuilt inline by the
+// next search, so bulk loads that are never searched don't pay for it.
+class TrigramIndex implements StudentStore.Listener {
+
+    private static final long[] NO_TRIGRAMS = new long[0];
+    private static final int BACKGROUND_BUILD_THRESHOLD = 50_000;
+    // Headless, a batch this large marks the index stale instead of being indexed row by row
+    private static final int DEFERRED_BUILD_THRESHOLD = 1_000;
+
+    private final StudentTable table;
+    private final Executor ownerThread;
+    private Map<Long, RowBitmap> postings = new HashMap<>();
+    // Trigrams of students mid-update, captured before the edit so only the difference is applied
+    private final Map<Integer, long[]> pendingUpdates = new HashMap<>();
+    // Non-null while a background build runs: rows changed since the build copied the table
+    private BitSet changedDuringBuild;
+    // The postings are out of date and are rebuilt by the next candidates() call: inline when
+    // headless, or in the background after a failed background build
+    private boolean stale;
+
+    // ownerThread runs work on the thread that mutates the store; null if that is the caller
+    TrigramIndex(StudentTable table, Executor ownerThread) {
+        this.table = table;
+        this.ownerThread = ownerThread;
+    }
+
+    // Rows whose ID, name or email may contain the term; null if the term is too short to use
+    // the index, or the index is still being built (the caller must then scan). The result is
+    // a superset and must be verified.
+    public RowBitmap candidates(String term) {
+        if (changedDuringBuild != null) {
+            return null;
+        }
+        if (stale && ownerThread != null) {
+            startBuild();
+            return null;
+        }
+        if (stale) {
+            Build build = new Build(table);
+            build.run();
+            postings = build.postings;
+            stale = false;
+        }
+        long[] trigrams = distinct(trigrams(term.toLowerCase(Locale.ROOT), NO_TRIGRAMS));
+        if (trigrams.length == 0) {
+            return null;
+        }
+        List<RowBitmap> lists = new ArrayList<>(trigrams.length);
+        for (long trigram : trigrams) {
+            RowBitmap rows = postings.get(trigram);
+            if (rows == null) {
+                return new RowBitmap();
+            }
+            lists.add(rows);
+        }
+        // Intersect smallest first so the running result shrinks as fast as possible
+        lists.sort((a, b) -> Long.compare(a.cardinality(), b.cardinality()));
+        RowBitmap result = lists.get(0).copy();
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result = RowBitmap.and(result, lists.get(i));
+        }
+        return result;
+    }
+
+    @Override
+    public void studentsAdded(List<Student> added) {
+        if (changedDuringBuild != null) {
+            markChanged(added);
+            return;
+        }
+        if (stale) return;
+        if (ownerThread == null && added.size() >= DEFERRED_BUILD_THRESHOLD) {
+            stale = true;
+            return;
+        }
+        if (ownerThread != null && added.size() >= BACKGROUND_BUILD_THRESHOLD) {
+            startBuild(); // indexes the whole table, these students included
+            return;
+        }
+        for (Student student : added) {
+            int row = student.getRow();
+            for (long trigram : trigramsOf(student)) {
+                postings.computeIfAbsent(trigram, t -> new RowBitmap()).add(row);
+            }
+        }
+    }
+
+    @Override
+    public void studentsRemoved(List<Student> removed) {
+        if (changedDuringBuild != null) {
+            markChanged(removed);
+            return;
+        }
+        if (stale) return;
+        for (Student student : removed) {
+            removeRow(student.getRow(), trigramsOf(student));
+        }
+    }
+
+    @Override
+    public void studentsUpdating(Collection<Student> students) {
+        if (changedDuringBuild != null) {
+            markChanged(students);
+            return;
+        }
+        if (stale) return;
+        for (Student student : students) {
+            pendingUpdates.put(student.getRow(), trigramsOf(student));
+        }
+    }
+
+    @Override
+    public void studentsUpdated(Collection<Student> students) {
+        if (changedDuringBuild != null || stale) {
+            return; // already marked by studentsUpdating, or to be rebuilt
+        }
+        for (Student student : students) {
+            int row = student.getRow();
+            long[] before = pendingUpdates.remove(row);
+            long[] after = trigramsOf(student);
+            if (before == null || !Arrays.equals(before, after)) {
+                if (before != null) {
+                    removeRow(row, minus(before, after));
+                }
+                for (long trigram : before == null ? after : minus(after, before)) {
+                    postings.computeIfAbsent(trigram, t -> new RowBitmap()).add(row);
+                }
+            }
+        }
+    }
+
+    // ==================== BACKGROUND BUILD ====================
+
+    // Copies the searchable columns and indexes the copy off the FX thread. Changes made in the
+    // meantime are only recorded; finishBuild() reconciles those rows against the copy.
+    private void startBuild() {
+        Build build = new Build(table);
+        changedDuringBuild = new BitSet();
+        stale = false;
+        Thread thread = new Thread(() -> {
+            try {
+                build.run();
+            } catch (RuntimeException | Error e) {
+                // Otherwise changedDuringBuild would stay set and every later search would scan
+                ownerThread.execute(this::abandonBuild);
+                System.err.println("Trigram index build failed: " + e);
+                return;
+            }
+            ownerThread.execute(() -> finishBuild(build));
+        }, "trigram-index-build");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void finishBuild(Build build) {
+        postings = build.postings;
+        int highWater = table.highWater();
+        int[] status = table.statusColumn();
+        for (int row = changedDuringBuild.nextSetBit(0); row >= 0; row = changedDuringBuild.nextSetBit(row + 1)) {
+            long[] before = build.trigramsAt(row);
+            long[] after = row < highWater && status[row] >= 0
+                    ? trigramsOf(table.getStudentId(row), table.getFullName(row), table.getEmail(row))
+                    : NO_TRIGRAMS;
+            removeRow(row, minus(before, after));
+            for (long trigram : minus(after, before)) {
+                postings.computeIfAbsent(trigram, t -> new RowBitmap()).add(row);
+            }
+        }
+        changedDuringBuild = null;
+    }
+
+    // Drops a failed build; the next search starts another one
+    private void abandonBuild() {
+        changedDuringBuild = null;
+        postings = new HashMap<>();
+        pendingUpdates.clear();
+        stale = true;
+    }
+
+    private void markChanged(Collection<Student> students) {
+        for (Student student : students) {
+            changedDuringBuild.set(student.getRow());
+        }
+    }
+
+    // Point-in-time copy of the searchable columns and the postings built from it
+    private static final class Build {
+        final int size;
+        final String[] studentId;
+        final String[] fullName;
+        final String[] email;
+        final int[] status;
+        final Map<Long, RowBitmap> postings = new HashMap<>();
+
+        Build(StudentTable table) {
+            size = table.highWater();
+            studentId = Arrays.copyOf(table.studentIdColumn(), size);
+            fullName = Arrays.copyOf(table.fullNameColumn(), size);
+            email = Arrays.copyOf(table.emailColumn(), size);
+            status = Arrays.copyOf(table.statusColumn(), size);
+        }
+
+        void run() {
+            for (int row = 0; row < size; row++) {
+                for (long trigram : trigramsAt(row)) {
+                    postings.computeIfAbsent(trigram, t -> new RowBitmap()).add(row);
+                }
+            }
+        }
+
+        long[] trigramsAt(int row) {
+            if (row >= size || status[row] < 0) return NO_TRIGRAMS;
+            return trigramsOf(studentId[row], fullName[row], email[row]);
+        }
+    }
+
+    // ==================== POSTINGS ====================
+
+    private void removeRow(int row, long[] trigrams) {
+        for (long trigram : trigrams) {
+            RowBitmap rows = postings.get(trigram);
+            if (rows != null) {
+                rows.remove(row);
+                if (rows.isEmpty()) {
+                    postings.remove(trigram);
+                }
+            }
+        }
+    }
+
+    // Distinct, sorted trigrams of the searchable fields (never spanning two fields)
+    private static long[] trigramsOf(Student student) {
+        return trigramsOf(student.getStudentId(), student.getFullName(), student.getEmail());
+    }
+
+    private static long[] trigramsOf(String studentId, String fullName, String email) {
+        long[] trigrams = trigrams(lower(studentId), NO_TRIGRAMS);
+        trigrams = trigrams(lower(fullName), trigrams);
+        trigrams = trigrams(lower(email), trigrams);
+        return distinct(trigrams);
+    }
+
+    // Appends the trigrams of text to into
+    private static long[] trigrams(String text, long[] into) {
+        if (text.length() < 3) {
+            return into;
+        }
+        int count = text.length() - 2;
+        long[] result = Arrays.copyOf(into, into.length + count);
+        for (int i = 0; i < count; i++) {
+            result[into.length + i] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        }
+        return result;
+    }
+
+    private static long[] distinct(long[] values) {
+        if (values.length < 2) return values;
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int n = 1;
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] != sorted[n - 1]) {
+                sorted[n++] = sorted[i];
+            }
+        }
+        return n == sorted.length ? sorted : Arrays.copyOf(sorted, n);
+    }
+
+    // Elements of a (sorted, distinct) that are not in b (sorted, distinct)
+    private static long[] minus(long[] a, long[] b) {
+        long[] result = new long[a.length];
+        int n = 0, j = 0;
+        for (long value : a) {
+            while (j < b.length && b[j] < value) j++;
+            if (j >= b.length || b[j] != value) {
+                result[n++] = value;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    private static String lower(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+}